@@ -0,0 +1,18 @@
+package com.kk.inject;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation: Assisted.
+ * <p/>
+ * Marks the constructor parameter which is not injected but passed by the caller of the assisted factory method (see
+ * {@link BindingBuilderManual#thenImplementAssisted()}). The assisted parameters are matched to the factory method
+ * parameters in their order.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.PARAMETER})
+public @interface Assisted {
+}
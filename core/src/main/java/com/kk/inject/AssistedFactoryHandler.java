@@ -0,0 +1,49 @@
+package com.kk.inject;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.Map;
+
+/**
+ * Implements the assisted factory interface by dispatching its methods to the related binders.
+ */
+final class AssistedFactoryHandler implements InvocationHandler {
+
+    @NotNull private final Factory                mFactory;
+    @NotNull private final Map<Method, Binder<?>> mBinders;
+
+    /**
+     * Constructs the handler.
+     *
+     * @param factory
+     *         The factory to resolve the instances by. Never {@code null}.
+     * @param binders
+     *         The binders for every factory method. Never {@code null}.
+     */
+    AssistedFactoryHandler(@NotNull final Factory factory, @NotNull final Map<Method, Binder<?>> binders) {
+        mFactory = factory;
+        mBinders = binders;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) {
+        if (method.getDeclaringClass() == Object.class) {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return "Assisted factory " + mBinders.keySet();
+            }
+        }
+        final Binder<?> binder = mBinders.get(method);
+        if (binder == null) {
+            throw new InjectException(ErrorStrings.NO_BINDER, method);
+        }
+        return mFactory.resolve(binder, args != null ? args : Binder.NO_PARAMETERS);
+    }
+}
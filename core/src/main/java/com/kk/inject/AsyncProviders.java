@@ -0,0 +1,171 @@
+package com.kk.inject;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * The asynchronous providers (see {@link BinderProvider}) started and awaited before the resolution locks the factory.
+ * <p/>
+ * Awaiting the future of the provider while holding the factory lock would block all the other threads using the
+ * factory, including the one completing the future. So the dependency graph of the requested binder is searched for
+ * the asynchronous providers first, they are started (with the factory locked) and awaited (with out the lock). The
+ * resolution then takes their completed futures instead of invoking the providers again.
+ * <p/>
+ * The graph is searched by the constructor and provider parameters and the injected members of the instantiated
+ * classes, each binder once. The providers reached other way (or repeatedly) are invoked and awaited by the
+ * resolution itself.
+ */
+final class AsyncProviders {
+
+    @NotNull private static final ThreadLocal<AsyncProviders> sCurrent = new ThreadLocal<>();
+
+    @NotNull private final Map<Binder<?>, Future<?>> mFutures;
+    @Nullable private      AsyncProviders            mPrevious;
+
+    /**
+     * Constructs the empty providers.
+     */
+    private AsyncProviders() {
+        mFutures = new IdentityHashMap<>();
+    }
+
+    /**
+     * Starts the asynchronous providers the binder depends on.
+     * <p/>
+     * Must be called with the factory locked, within the injection.
+     *
+     * @param factory
+     *         The factory resolving the binder. Never {@code null}.
+     * @param binder
+     *         The binder to be resolved. Never {@code null}.
+     * @return The started providers. Never {@code null}.
+     */
+    @NotNull
+    static AsyncProviders start(@NotNull final Factory factory, @NotNull final Binder<?> binder) {
+        final AsyncProviders asyncProviders = new AsyncProviders();
+        final Map<Binder<?>, Boolean> visited = new IdentityHashMap<>();
+        final List<Binder<?>> pending = new ArrayList<>();
+        pending.add(binder);
+        while (!pending.isEmpty()) {
+            final Binder<?> next = pending.remove(pending.size() - 1);
+            if (visited.put(next, Boolean.TRUE) != null) {
+                continue;
+            }
+            if (next instanceof BinderProvider && ((BinderProvider<?>) next).isAsync()) {
+                asyncProviders.mFutures.put(next, ((BinderProvider<?>) next).start());
+                continue;
+            }
+            addBinders(factory, next.getDependencies(), pending);
+            if (next instanceof BinderInstantiate && ((BinderInstantiate<?>) next).peekSingleton() == null) {
+                final InjectionPlan plan = ClassMetadata.of(((BinderInstantiate<?>) next).mClassToInstantiate)
+                                                        .getInjectionPlan();
+                addBinders(factory, plan.getFieldInjectionPoints(), pending);
+                for (final ParametersMetadata parameters : plan.getMethodParameters()) {
+                    addBinders(factory, parameters.getInjectionPoints(), pending);
+                }
+            }
+        }
+        return asyncProviders;
+    }
+
+    /**
+     * Takes the started future of the provider, if the current thread resolves with the providers awaited.
+     *
+     * @param binder
+     *         The provider binder. Never {@code null}.
+     * @return The completed future or {@code null} if not started.
+     */
+    @Nullable
+    static Future<?> take(@NotNull final Binder<?> binder) {
+        final AsyncProviders current = sCurrent.get();
+        return current != null ? current.mFutures.remove(binder) : null;
+    }
+
+    /**
+     * Checks whether the provider was started and not taken yet by the current thread.
+     *
+     * @param binder
+     *         The provider binder. Never {@code null}.
+     * @return If started then {@code true} else {@code false}.
+     */
+    static boolean isStarted(@NotNull final Binder<?> binder) {
+        final AsyncProviders current = sCurrent.get();
+        return current != null && current.mFutures.containsKey(binder);
+    }
+
+    /**
+     * Waits for all the started providers. Must be called with out the factory lock.
+     * <p/>
+     * The failures of the providers are reported once their futures are taken by the resolution. If interrupted, the
+     * waiting stops with the interrupted status kept, so the resolution reports it.
+     */
+    void await() {
+        for (final Future<?> future : mFutures.values()) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException | CancellationException e) {
+                // Reported when taken
+            }
+        }
+    }
+
+    /**
+     * Makes the providers current for this thread, so the resolution takes their futures.
+     */
+    void install() {
+        mPrevious = sCurrent.get();
+        sCurrent.set(this);
+    }
+
+    /**
+     * Restores the providers current before {@link #install()}.
+     */
+    void uninstall() {
+        if (mPrevious != null) {
+            sCurrent.set(mPrevious);
+        } else {
+            sCurrent.remove();
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Internals
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Adds the binders of the injection points to search.
+     * <p/>
+     * The injected futures are not awaited, and the missing bindings are reported by the resolution itself.
+     *
+     * @param factory
+     *         The factory resolving the binders. Never {@code null}.
+     * @param injectionPoints
+     *         The injection points. Can be {@code null}.
+     * @param pending
+     *         The binders to search. Never {@code null}.
+     */
+    private static void addBinders(@NotNull final Factory factory,
+                                   @Nullable final InjectionPoint[] injectionPoints,
+                                   @NotNull final List<Binder<?>> pending) {
+        if (injectionPoints == null) {
+            return;
+        }
+        for (final InjectionPoint injectionPoint : injectionPoints) {
+            if (!injectionPoint.isFuture()) {
+                try {
+                    pending.add(factory.locateParameterBinder(injectionPoint));
+                } catch (InjectException e) {
+                    // Reported by the resolution
+                }
+            }
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package com.kk.inject;
 
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
 /**
  * Binder interface.
  * <p/>
@@ -10,7 +14,11 @@ package com.kk.inject;
  */
 abstract class Binder<T> {
 
+    /** The shared empty parameters list, so the parameterless requests do not allocate. */
+    @NotNull static final Object[] NO_PARAMETERS = new Object[0];
+
     @NotNull protected final Factory mFactory;
+    final                    int     mIndex;
 
     /**
      * Constructs the abstract binder.
@@ -20,6 +28,7 @@ abstract class Binder<T> {
      */
     Binder(@NotNull final Factory factory) {
         mFactory = factory;
+        mIndex = factory.nextBinderIndex();
     }
 
     /**
@@ -35,4 +44,91 @@ abstract class Binder<T> {
      */
     @NotNull
     abstract T get(@NotNull final Object... parameters);
+
+    /**
+     * Ensures the instance for the related binding with out any parameters.
+     * <p/>
+     * It is the dependency resolution path, so it passes the shared empty parameters list instead of allocating the
+     * new one on each call.
+     *
+     * @return The ensured instance. Never {@code null}.
+     * @throws InjectException
+     *         When there is a problem with the instance ensuring. It is a runtime exception as such a problem mostly
+     *         signals the clear programming error (like missing suitable constructor).
+     */
+    @NotNull
+    T get() {
+        return get(NO_PARAMETERS);
+    }
+
+    /**
+     * Retrieves the parameters to resolve before the instance can be completed by {@link #complete(Object[])}.
+     * <p/>
+     * It lets the {@link ResolutionEngine} resolve the dependency graph with out the recursion. By default, the binder
+     * resolves its instance by {@link #get()} directly.
+     *
+     * @return If the instance is resolved from the injected parameters then their injection points else (resolved
+     * by {@link #get()}) {@code null}.
+     */
+    @Nullable
+    InjectionPoint[] getDependencies() {
+        return null;
+    }
+
+    /**
+     * Retrieves the binders already located for the parameters (see {@link #getDependencies()}).
+     *
+     * @return The binders or {@code null} if not located yet.
+     */
+    @Nullable
+    Binder<?>[] getLinkedDependencies() {
+        return null;
+    }
+
+    /**
+     * Completes the instance from the resolved parameters (see {@link #getDependencies()}).
+     * <p/>
+     * By default, the resolved parameters are dropped and the instance is resolved by {@link #get()}, so the binder
+     * reporting its dependencies only needs to override this method to reuse them.
+     *
+     * @param parameters
+     *         The resolved parameters. Never {@code null}.
+     * @return The ensured instance. Never {@code null}.
+     */
+    @NotNull
+    T complete(@NotNull final Object[] parameters) {
+        return get();
+    }
+
+    /**
+     * Copies the binder for the forked factory (see {@link Factory#fork()}).
+     * <p/>
+     * The copy shares the configuration of the binder but not its state (like the singleton instance). The wrapped
+     * binders are copied by {@link Factory#forkBinder(Binder)}, so they stay shared by the same binders in the fork.
+     *
+     * @param factory
+     *         The forked factory. Never {@code null}.
+     * @return The copy. Never {@code null}.
+     */
+    @NotNull
+    abstract Binder<T> fork(@NotNull final Factory factory);
+
+    /**
+     * Ensures the instance for the related binding asynchronously.
+     * <p/>
+     * By default, the whole resolution is performed at the factory executor.
+     *
+     * @return The future of the ensured instance. Never {@code null}.
+     */
+    @NotNull
+    Future<T> getAsync() {
+        final FutureTask<T> task = new FutureTask<>(new Callable<T>() {
+            @Override
+            public T call() {
+                return mFactory.resolve(Binder.this);
+            }
+        });
+        mFactory.getExecutor().execute(task);
+        return task;
+    }
 }
@@ -0,0 +1,221 @@
+package com.kk.inject;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Binding implementation: Assisted factory method.
+ * <p/>
+ * Instantiates the result class of the factory method combining the parameters passed to the factory method (those
+ * marked by the {@link Assisted} annotation in the constructor) with the injected ones. The constructor is resolved
+ * once when the binder is created.
+ */
+class BinderAssisted<T> extends Binder<T> {
+
+    @NotNull private final Constructor<T>     mConstructor;
+    @NotNull private final int[]              mAssistedIndexes;
+    @NotNull private final ParametersMetadata mParameters;
+    private final          boolean            mInjects;
+
+    /**
+     * Constructs the binder for the specified factory method.
+     *
+     * @param factory
+     *         The factory which the binder is related to. Never {@code null}.
+     * @param factoryMethod
+     *         The factory method to implement. Never {@code null}.
+     * @throws InjectException
+     *         When the result class of the method cannot be instantiated or has no constructor matching the method
+     *         parameters.
+     */
+    @SuppressWarnings("unchecked")
+    BinderAssisted(@NotNull final Factory factory, @NotNull final Method factoryMethod) {
+        super(factory);
+        final Class<T> resultClass = (Class<T>) factoryMethod.getReturnType();
+        if (resultClass.isPrimitive() || resultClass.isInterface() ||
+                Modifier.isAbstract(resultClass.getModifiers())) {
+            throw new InjectException(ErrorStrings.ASSISTED_RESULT_NOT_INSTANTIABLE,
+                                      factoryMethod.getName(),
+                                      resultClass.getName());
+        }
+        final Class<?>[] methodParameterTypes = factoryMethod.getParameterTypes();
+        for (final Constructor<?> constructor : resultClass.getDeclaredConstructors()) {
+            final int[] assistedIndexes = matchAssisted(constructor, methodParameterTypes);
+            if (assistedIndexes != null) {
+                mConstructor = (Constructor<T>) constructor;
+                mAssistedIndexes = assistedIndexes;
+                mParameters = ParametersMetadata.of(constructor);
+                mInjects = injects(assistedIndexes);
+                if (!mConstructor.isAccessible()) {
+                    mConstructor.setAccessible(true);
+                }
+                return;
+            }
+        }
+        throw new InjectException(ErrorStrings.NO_ASSISTED_CONSTRUCTOR, resultClass.getName(), factoryMethod.getName());
+    }
+
+    /**
+     * Constructs the copy of the binder for the forked factory.
+     *
+     * @param factory
+     *         The forked factory. Never {@code null}.
+     * @param binder
+     *         The binder to copy. Never {@code null}.
+     */
+    private BinderAssisted(@NotNull final Factory factory, @NotNull final BinderAssisted<T> binder) {
+        super(factory);
+        mConstructor = binder.mConstructor;
+        mAssistedIndexes = binder.mAssistedIndexes;
+        mParameters = binder.mParameters;
+        mInjects = binder.mInjects;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @NotNull
+    @Override
+    Binder<T> fork(@NotNull final Factory factory) {
+        return new BinderAssisted<>(factory, this);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * The parameters are those passed to the factory method.
+     */
+    @NotNull
+    @Override
+    T get(@NotNull final Object... parameters) {
+        // Combine the passed and the injected parameters (watching for the circular dependency)
+        final InjectionPoint[] injectionPoints = mParameters.getInjectionPoints();
+        final Object[] constructorParameters = new Object[injectionPoints.length];
+        final ResolutionPath path = mInjects ? ResolutionPath.current() : null;
+        if (path != null) {
+            path.enter(this);
+        }
+        try {
+            for (int index = 0; index < constructorParameters.length; index++) {
+                final int assistedIndex = mAssistedIndexes[index];
+                if (assistedIndex >= 0) {
+                    constructorParameters[index] = parameters[assistedIndex];
+                } else {
+                    constructorParameters[index] = injectParameter(path, injectionPoints[index]);
+                }
+            }
+        } finally {
+            if (path != null) {
+                path.exit();
+            }
+        }
+        // Invoke the constructor to create the instance
+        final T result;
+        try {
+            result = mConstructor.newInstance(constructorParameters);
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new InjectException(e,
+                                      ErrorStrings.FAILED_TO_INSTANTIATE_CLASS,
+                                      mConstructor.getDeclaringClass().getName());
+        }
+        // Ask factory to (may be later) inject everything to the just instantiated object
+        mFactory.injectObject(result);
+        // Done
+        return result;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Internals
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Resolves the injected constructor parameter.
+     * <p/>
+     * The binder is located through the links of the factory, so the qualifying annotations are not probed again.
+     *
+     * @param path
+     *         The resolution path of the current thread. Never {@code null}.
+     * @param injectionPoint
+     *         The injection point of the parameter. Never {@code null}.
+     * @return The injected parameter.
+     */
+    @Nullable
+    private Object injectParameter(@NotNull final ResolutionPath path, @NotNull final InjectionPoint injectionPoint) {
+        final Binder<?> binder = mFactory.locateParameterBinder(injectionPoint);
+        if (injectionPoint.isFuture()) {
+            return binder.getAsync();
+        }
+        path.check(binder);
+        return binder.get();
+    }
+
+    /**
+     * Checks whether any constructor parameter is injected.
+     *
+     * @param assistedIndexes
+     *         The indexes of the factory method parameters (see {@link #matchAssisted(Constructor, Class[])}). Never
+     *         {@code null}.
+     * @return If any injected then {@code true} else {@code false}.
+     */
+    private static boolean injects(@NotNull final int[] assistedIndexes) {
+        for (final int assistedIndex : assistedIndexes) {
+            if (assistedIndex < 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Matches the assisted parameters of the constructor to the factory method parameters.
+     *
+     * @param constructor
+     *         The constructor to match. Never {@code null}.
+     * @param methodParameterTypes
+     *         The factory method parameter types. Never {@code null}.
+     * @return If matching then for every constructor parameter the index of the factory method parameter (or
+     * {@code -1} if injected) else {@code null}.
+     */
+    @Nullable
+    private static int[] matchAssisted(@NotNull final Constructor<?> constructor,
+                                       @NotNull final Class<?>[] methodParameterTypes) {
+        final Class<?>[] parameterTypes = constructor.getParameterTypes();
+        final Annotation[][] parameterAnnotations = constructor.getParameterAnnotations();
+        final int[] assistedIndexes = new int[parameterTypes.length];
+        int assistedCount = 0;
+        for (int index = 0; index < parameterTypes.length; index++) {
+            if (isAssisted(parameterAnnotations[index])) {
+                if (assistedCount >= methodParameterTypes.length ||
+                        !Utils.checkType(methodParameterTypes[assistedCount], parameterTypes[index])) {
+                    return null;
+                }
+                assistedIndexes[index] = assistedCount++;
+            } else {
+                assistedIndexes[index] = -1;
+            }
+        }
+        if (assistedCount != methodParameterTypes.length) {
+            return null;
+        }
+        return assistedIndexes;
+    }
+
+    /**
+     * Checks whether the annotations contain the {@link Assisted} one.
+     *
+     * @param annotations
+     *         The annotations to check. Never {@code null}.
+     * @return If assisted then {@code true} else {@code false}.
+     */
+    private static boolean isAssisted(@NotNull final Annotation[] annotations) {
+        for (final Annotation annotation : annotations) {
+            if (annotation instanceof Assisted) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,65 @@
+package com.kk.inject;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Binding implementation: Assisted factory.
+ * <p/>
+ * Returns the proxy implementing the assisted factory interfaces. Its methods are dispatched to the related
+ * {@link BinderAssisted} binders.
+ */
+class BinderAssistedFactory<T> extends Binder<T> {
+
+    @NotNull private final Class<?>[]             mInterfaces;
+    @NotNull private final Map<Method, Binder<?>> mBinders;
+    @NotNull private final T                      mProxy;
+
+    /**
+     * Constructs the binder.
+     *
+     * @param factory
+     *         The factory which the binder is related to. Never {@code null}.
+     * @param interfaces
+     *         The assisted factory interfaces the proxy implements. Never {@code null}.
+     * @param binders
+     *         The binders for every factory method. Never {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    BinderAssistedFactory(@NotNull final Factory factory,
+                          @NotNull final Class<?>[] interfaces,
+                          @NotNull final Map<Method, Binder<?>> binders) {
+        super(factory);
+        mInterfaces = interfaces;
+        mBinders = binders;
+        mProxy = (T) Proxy.newProxyInstance(interfaces[0].getClassLoader(),
+                                            interfaces,
+                                            new AssistedFactoryHandler(factory, binders));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @NotNull
+    @Override
+    T get(@NotNull final Object... parameters) {
+        return mProxy;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * The forked factory has its own proxy, so the instances are created by the fork.
+     */
+    @NotNull
+    @Override
+    Binder<T> fork(@NotNull final Factory factory) {
+        final Map<Method, Binder<?>> binders = new HashMap<>();
+        for (final Map.Entry<Method, Binder<?>> entry : mBinders.entrySet()) {
+            binders.put(entry.getKey(), factory.forkBinder(entry.getValue()));
+        }
+        return new BinderAssistedFactory<>(factory, mInterfaces, binders);
+    }
+}
@@ -0,0 +1,178 @@
+package com.kk.inject;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binding implementation: Caches the instances of other binder.
+ * <p/>
+ * The instances are cached per the parameters list they were requested with. When the cached instance becomes stale,
+ * it is still returned to the caller and the refresh is scheduled asynchronously at the factory executor, so the
+ * callers never wait for the stale instance to be rebuilt. The least recently used instances are evicted when the
+ * cache grows over its maximal size.
+ */
+class BinderCached<T> extends Binder<T> {
+
+    @NotNull private final Binder<T>                        mBinder;
+    private final          long                             mExpireAfterMillis;
+    private final          int                              mMaxSize;
+    private final          long                             mExpireAfterNanos;
+    @NotNull private final Map<ParametersKey, CacheEntry<T>> mEntries;
+
+    /**
+     * Constructs the binder.
+     *
+     * @param factory
+     *         The factory which the binder is related to. Never {@code null}.
+     * @param binder
+     *         The binder which instances are cached. Never {@code null}.
+     * @param expireAfterMillis
+     *         The time (in milliseconds) after which the cached instance becomes stale.
+     * @param maxSize
+     *         The maximal number of the cached instances. Must be positive.
+     */
+    BinderCached(@NotNull final Factory factory,
+                 @NotNull final Binder<T> binder,
+                 final long expireAfterMillis,
+                 final int maxSize) {
+        super(factory);
+        mBinder = binder;
+        mExpireAfterMillis = expireAfterMillis;
+        mMaxSize = maxSize;
+        mExpireAfterNanos = TimeUnit.MILLISECONDS.toNanos(expireAfterMillis);
+        mEntries = new LinkedHashMap<ParametersKey, CacheEntry<T>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<ParametersKey, CacheEntry<T>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    T get(@NotNull final Object... parameters) {
+        final ParametersKey key = new ParametersKey(parameters);
+        final CacheEntry<T> entry;
+        synchronized (mEntries) {
+            entry = mEntries.get(key);
+            if (entry != null) {
+                if (!entry.mRefreshing && System.nanoTime() - entry.mLoadedAt >= mExpireAfterNanos) {
+                    entry.mRefreshing = true;
+                    scheduleRefresh(key, entry);
+                }
+                return entry.mInstance;
+            }
+        }
+        final T instance = mBinder.get(parameters);
+        synchronized (mEntries) {
+            mEntries.put(key, new CacheEntry<>(instance));
+        }
+        return instance;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * The forked factory has its own cache.
+     */
+    @NotNull
+    @Override
+    Binder<T> fork(@NotNull final Factory factory) {
+        return new BinderCached<>(factory, factory.forkBinder(mBinder), mExpireAfterMillis, mMaxSize);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Internals
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Schedules the refresh of the stale cache entry at the factory executor.
+     *
+     * @param key
+     *         The key of the entry to refresh. Never {@code null}.
+     * @param staleEntry
+     *         The stale entry to refresh. Never {@code null}.
+     */
+    private void scheduleRefresh(@NotNull final ParametersKey key, @NotNull final CacheEntry<T> staleEntry) {
+        mFactory.getExecutor().execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    final T instance = mFactory.resolve(mBinder, key.mParameters);
+                    synchronized (mEntries) {
+                        if (mEntries.get(key) == staleEntry) {
+                            mEntries.put(key, new CacheEntry<>(instance));
+                        }
+                    }
+                } finally {
+                    // If the refresh failed then the stale instance is kept and the refresh is tried again later
+                    synchronized (mEntries) {
+                        staleEntry.mRefreshing = false;
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * The cached instance with its load time.
+     */
+    private static final class CacheEntry<T> {
+
+        @NotNull private final T       mInstance;
+        private final          long    mLoadedAt;
+        private                boolean mRefreshing;
+
+        /**
+         * Constructs the cache entry just loaded.
+         *
+         * @param instance
+         *         The instance to cache. Never {@code null}.
+         */
+        CacheEntry(@NotNull final T instance) {
+            mInstance = instance;
+            mLoadedAt = System.nanoTime();
+            mRefreshing = false;
+        }
+    }
+
+    /**
+     * The parameters list usable as the map key.
+     */
+    private static final class ParametersKey {
+
+        @NotNull private final Object[] mParameters;
+        private final          int      mHashCode;
+
+        /**
+         * Constructs the key.
+         *
+         * @param parameters
+         *         The parameters the instance is requested with. Never {@code null}.
+         */
+        ParametersKey(@NotNull final Object[] parameters) {
+            mParameters = parameters.clone();
+            mHashCode = Arrays.hashCode(mParameters);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int hashCode() {
+            return mHashCode;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof ParametersKey && Arrays.equals(mParameters, ((ParametersKey) obj).mParameters);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.kk.inject;
 
-import java.lang.annotation.Annotation;
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 
@@ -9,9 +11,13 @@ import java.lang.reflect.InvocationTargetException;
  */
 class BinderInstantiate<T> extends Binder<T> {
 
-    @NotNull private final Class<? extends T> mClassToInstantiate;
-    private final          boolean            mIsSingleton;
-    @NotNull private       T                  mSingleton;
+    @NotNull protected final Class<? extends T> mClassToInstantiate;
+    @NotNull private final   ClassMetadata      mMetadata;
+    private final            boolean            mIsSingleton;
+    @NotNull private final   ReferenceStrength  mReferenceStrength;
+    @Nullable private volatile T                mSingleton;
+    @Nullable private volatile Reference<T>     mSingletonReference;
+    private                  int                mRebuildCount;
 
     /**
      * Constructs the binder.
@@ -26,10 +32,33 @@ class BinderInstantiate<T> extends Binder<T> {
     BinderInstantiate(@NotNull final Factory factory,
                       @NotNull final Class<? extends T> classToInstantiate,
                       final boolean isSingleton) {
+        this(factory, classToInstantiate, isSingleton, ReferenceStrength.STRONG);
+    }
+
+    /**
+     * Constructs the binder.
+     *
+     * @param factory
+     *         The factory which the binder is related to. Never {@code null}.
+     * @param classToInstantiate
+     *         The class to instantiate. Never {@code null}.
+     * @param isSingleton
+     *         The singleton flag. If {@code true} then the class is only instantiated once per factory.
+     * @param referenceStrength
+     *         How strongly the singleton instance is held. Ignored if not singleton. Never {@code null}.
+     */
+    BinderInstantiate(@NotNull final Factory factory,
+                      @NotNull final Class<? extends T> classToInstantiate,
+                      final boolean isSingleton,
+                      @NotNull final ReferenceStrength referenceStrength) {
         super(factory);
         mClassToInstantiate = classToInstantiate;
+        mMetadata = ClassMetadata.of(classToInstantiate);
         mIsSingleton = isSingleton;
+        mReferenceStrength = referenceStrength;
         mSingleton = null;
+        mSingletonReference = null;
+        mRebuildCount = 0;
     }
 
     /**
@@ -37,26 +66,184 @@ class BinderInstantiate<T> extends Binder<T> {
      */
     @Override
     T get(@NotNull final Object... parameters) {
-        // If singleton and already instantiated then just return it
-        if (mIsSingleton && mSingleton != null) {
-            return mSingleton;
+        // Singleton is guarded as it can be requested concurrently by the parallel resolution
+        if (mIsSingleton) {
+            return getOrInstantiateSingleton(parameters);
         }
         // Otherwise instantiate
         final T result = instantiate(parameters);
-        // And update singleton is configured so
+        // Ask factory to (may be later) inject everything to the just instantiated object
+        mFactory.injectObject(result);
+        // Done
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * The forked factory instantiates its own singleton.
+     */
+    @NotNull
+    @Override
+    Binder<T> fork(@NotNull final Factory factory) {
+        return new BinderInstantiate<>(factory, mClassToInstantiate, mIsSingleton, mReferenceStrength);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * The parameters of the injection constructor, unless the singleton already exists.
+     */
+    @Nullable
+    @Override
+    synchronized InjectionPoint[] getDependencies() {
+        if (mIsSingleton && getSingleton() != null) {
+            return null;
+        }
+        final ParametersMetadata constructorParameters = mMetadata.getConstructorParameters();
+        if (constructorParameters == null || constructorParameters.getInjectionPoints().length == 0) {
+            return null;
+        }
+        return constructorParameters.getInjectionPoints();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * If the singleton was created meanwhile then it is returned (and the parameters are dropped).
+     */
+    @NotNull
+    @Override
+    T complete(@NotNull final Object[] parameters) {
         if (mIsSingleton) {
-            mSingleton = result;
+            return completeSingleton(parameters);
         }
+        final T result = instantiateWithResolvedParameters(parameters);
         // Ask factory to (may be later) inject everything to the just instantiated object
         mFactory.injectObject(result);
-        // Done
         return result;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return mClassToInstantiate.getName();
+    }
+
+    /**
+     * Retrieves the singleton instance if it exists, with out locking nor instantiating it.
+     *
+     * @return The singleton instance. If not a singleton, not yet instantiated or already reclaimed then {@code null}.
+     */
+    @Nullable
+    T peekSingleton() {
+        return getSingleton();
+    }
+
+    /**
+     * Retrieves how many times the singleton was instantiated again after being reclaimed by the garbage collector.
+     *
+     * @return The rebuild count. Always zero for the strongly held singletons.
+     */
+    int getRebuildCount() {
+        return mRebuildCount;
+    }
+
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     // Internals
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
+    /**
+     * Ensures the singleton instance.
+     *
+     * @param parameters
+     *         The parameters to optionally pass to the newly created object. Can be empty.
+     * @return The ensured instance. Never {@code null}.
+     */
+    @NotNull
+    private synchronized T getOrInstantiateSingleton(@NotNull final Object... parameters) {
+        // If already instantiated (and not reclaimed) then just return it
+        final T singleton = getSingleton();
+        if (singleton != null) {
+            return singleton;
+        }
+        // Otherwise instantiate and remember
+        final T result = instantiate(parameters);
+        setSingleton(result);
+        // Ask factory to (may be later) inject everything to the just instantiated object
+        mFactory.injectObject(result);
+        // Done
+        return result;
+    }
+
+    /**
+     * Ensures the singleton instance from the resolved parameters of the injection constructor.
+     *
+     * @param parameters
+     *         The resolved parameters. Never {@code null}.
+     * @return The ensured instance. Never {@code null}.
+     */
+    @NotNull
+    private synchronized T completeSingleton(@NotNull final Object[] parameters) {
+        // If instantiated meanwhile (and not reclaimed) then just return it
+        final T singleton = getSingleton();
+        if (singleton != null) {
+            return singleton;
+        }
+        // Otherwise instantiate and remember
+        final T result = instantiateWithResolvedParameters(parameters);
+        setSingleton(result);
+        // Ask factory to (may be later) inject everything to the just instantiated object
+        mFactory.injectObject(result);
+        // Done
+        return result;
+    }
+
+    /**
+     * Retrieves the singleton instance.
+     *
+     * @return The singleton instance. If not yet instantiated or already reclaimed then {@code null}.
+     */
+    @Nullable
+    private T getSingleton() {
+        if (mSingletonReference != null) {
+            return mSingletonReference.get();
+        }
+        return mSingleton;
+    }
+
+    /**
+     * Stores the singleton instance according to the configured reference strength.
+     *
+     * @param singleton
+     *         The singleton instance. Never {@code null}.
+     */
+    private void setSingleton(@NotNull final T singleton) {
+        final InjectionMonitor monitor = InjectionMonitor.current();
+        if (monitor != null) {
+            monitor.singletonCreated(mClassToInstantiate);
+        }
+        switch (mReferenceStrength) {
+            case SOFT:
+                if (mSingletonReference != null) {
+                    mRebuildCount++;
+                }
+                mSingletonReference = new SoftReference<>(singleton);
+                break;
+            case WEAK:
+                if (mSingletonReference != null) {
+                    mRebuildCount++;
+                }
+                mSingletonReference = new WeakReference<>(singleton);
+                break;
+            default:
+                mSingleton = singleton;
+                break;
+        }
+    }
+
     /**
      * Instantiates the class.
      * <p/>
@@ -71,11 +258,10 @@ class BinderInstantiate<T> extends Binder<T> {
      */
     @NotNull
     private T instantiate(@NotNull final Object... parameters) {
-        @SuppressWarnings("unchecked") final Constructor<T>[] constructors = (Constructor<T>[]) mClassToInstantiate.getDeclaredConstructors();
         if (parameters.length > 0) {
-            return instantiateWithParameters(constructors, parameters);
+            return instantiateWithParameters(parameters);
         } else {
-            return instantiateWithInjection(constructors);
+            return instantiateWithInjection();
         }
     }
 
@@ -85,47 +271,57 @@ class BinderInstantiate<T> extends Binder<T> {
      * <p/>
      * The parameters for that constructor are automatically collected using the injection.
      *
-     * @param constructors
-     *         The constructors list to locate the suitable constructor with in.
      * @return The ensured instance. Never {@code null}.
      * @throws InjectException
      *         When there is a problem with the instance ensuring. It is a runtime exception as such a problem mostly
      *         signals the clear programming error (like missing suitable constructor).
      */
     @NotNull
-    private T instantiateWithInjection(@NotNull final Constructor<T>[] constructors) {
-        // Find suitable constructor - the first annotated one
-        Constructor<T> constructor = null;
-        Constructor<T> defaultConstructor = null;
-        for (final Constructor<T> con : constructors) {
-            if (con.isAnnotationPresent(Inject.class)) {
-                constructor = con;
-                break;
-            }
-            final Class<?>[] parameterTypes = con.getParameterTypes();
-            if (parameterTypes == null || parameterTypes.length <= 0) {
-                defaultConstructor = con;
-            }
-        }
-        // If no injected constructor then try to use the default one
-        if (constructor == null) {
-            constructor = defaultConstructor;
-        }
+    @SuppressWarnings("unchecked")
+    private T instantiateWithInjection() {
+        // The suitable constructor and its parameters are found once per class (and shared by all factories)
+        final Constructor<T> constructor = (Constructor<T>) mMetadata.getInjection().getConstructor();
         // Check have constructor
         throwIfNoConstructor(constructor);
-        // Prepare the parameters
-        final Class<?>[] parameterTypes = constructor.getParameterTypes();
-        final Annotation[][] parameterAnnotations = constructor.getParameterAnnotations();
-        final Object[] parameters = mFactory.collectParametersToInject(parameterTypes, parameterAnnotations);
+        // Prepare the parameters (watching for the circular dependency)
+        final ParametersMetadata constructorParameters = mMetadata.getConstructorParameters();
+        final Object[] parameters;
+        if (constructorParameters.getInjectionPoints().length > 0) {
+            final ResolutionPath path = ResolutionPath.current();
+            path.enter(this);
+            try {
+                parameters = mFactory.collectParametersToInject(constructorParameters);
+            } finally {
+                path.exit();
+            }
+        } else {
+            parameters = null;
+        }
         // Invoke the constructor to create the instance
         return invokeConstructorWithParameters(constructor, parameters);
     }
 
+    /**
+     * Instantiates the class using the injection constructor with the already resolved parameters.
+     *
+     * @param parameters
+     *         The resolved parameters. Never {@code null}.
+     * @return The ensured instance. Never {@code null}.
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    private T instantiateWithResolvedParameters(@NotNull final Object[] parameters) {
+        final Constructor<T> constructor = (Constructor<T>) mMetadata.getInjection().getConstructor();
+        throwIfNoConstructor(constructor);
+        return invokeConstructorWithParameters(constructor, parameters);
+    }
+
     /**
      * Instantiates the class using the constructor matching the types of the supplied parameters list.
+     * <p/>
+     * The constructor selected for the parameter classes is cached per class (and shared by all factories), so the
+     * repeated instantiation with the same parameter classes does not search the constructors again.
      *
-     * @param constructors
-     *         The constructors list to locate the suitable constructor with in.
      * @param parameters
      *         The parameters list which the constructor shall be located according to. If {@code null} then the NO
      *         parameters constructor MUST be present.
@@ -135,18 +331,25 @@ class BinderInstantiate<T> extends Binder<T> {
      *         signals the clear programming error (like missing suitable constructor).
      */
     @NotNull
-    private T instantiateWithParameters(@NotNull Constructor<T>[] constructors, @Nullable final Object... parameters) {
-        // Find suitable constructor - by parameter types
-        Constructor<T> constructor = null;
-        for (final Constructor<T> con : constructors) {
-            final Class<?>[] parameterTypes = con.getParameterTypes();
-            if (Utils.checkParameterTypes(parameterTypes, parameters)) {
-                constructor = con;
-                break;
+    @SuppressWarnings("unchecked")
+    private T instantiateWithParameters(@NotNull final Object... parameters) {
+        // Try the constructor already selected for the same parameter classes
+        final SignatureCache<Constructor<?>> parameterConstructors = mMetadata.getParameterConstructors();
+        Constructor<T> constructor = (Constructor<T>) parameterConstructors.find(parameters);
+        if (constructor == null) {
+            // Find suitable constructor - by parameter types
+            for (final Constructor<?> con : mMetadata.getDeclaredConstructors()) {
+                final Class<?>[] parameterTypes = con.getParameterTypes();
+                if (Utils.checkParameterTypes(parameterTypes, parameters)) {
+                    constructor = (Constructor<T>) con;
+                    break;
+                }
             }
+            // Check have constructor
+            throwIfNoConstructor(constructor);
+            // Remember for the next time
+            parameterConstructors.put(parameters, constructor);
         }
-        // Check have constructor
-        throwIfNoConstructor(constructor);
         // Invoke the constructor to create the instance
         return invokeConstructorWithParameters(constructor, parameters);
     }
@@ -184,16 +387,19 @@ class BinderInstantiate<T> extends Binder<T> {
     private T invokeConstructorWithParameters(@NotNull final Constructor<T> constructor,
                                               @Nullable final Object[] parameters) {
         try {
-            final boolean setAccessible = !constructor.isAccessible();
-            if (setAccessible) {
+            // The constructor objects are shared by the concurrent calls, so made accessible once for good
+            if (!constructor.isAccessible()) {
                 constructor.setAccessible(true);
             }
+            final InjectionMonitor monitor = InjectionMonitor.current();
+            if (monitor == null) {
+                return constructor.newInstance(parameters);
+            }
+            final Object context = monitor.constructionStarted(mClassToInstantiate);
             try {
                 return constructor.newInstance(parameters);
             } finally {
-                if (setAccessible) {
-                    constructor.setAccessible(false);
-                }
+                monitor.constructionFinished(context);
             }
         } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
             throw new InjectException(e, ErrorStrings.FAILED_TO_INSTANTIATE_CLASS, mClassToInstantiate.getName());
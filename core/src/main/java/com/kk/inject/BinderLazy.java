@@ -0,0 +1,156 @@
+package com.kk.inject;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Binding implementation: Lazy singleton.
+ * <p/>
+ * Returns the proxy implementing the interfaces of the binding instead of the singleton itself. The real singleton
+ * is only instantiated (by the wrapped binder) when the first method is called on the proxy.
+ */
+class BinderLazy<T> extends Binder<T> {
+
+    @NotNull private final Binder<T>  mBinder;
+    @NotNull private final Class<?>[] mInterfaces;
+    private final          boolean    mKeepInstance;
+    @NotNull private final T          mProxy;
+
+    /**
+     * Constructs the binder.
+     *
+     * @param factory
+     *         The factory which the binder is related to. Never {@code null}.
+     * @param binder
+     *         The binder which instantiates the real singleton. Never {@code null}.
+     * @param interfaces
+     *         The interfaces the proxy implements. Never {@code null}.
+     * @param keepInstance
+     *         If {@code true} then the proxy keeps the real singleton once instantiated else it asks the wrapped
+     *         binder on every call (used when the singleton can be reclaimed by the garbage collector).
+     */
+    @SuppressWarnings("unchecked")
+    BinderLazy(@NotNull final Factory factory,
+               @NotNull final Binder<T> binder,
+               @NotNull final Class<?>[] interfaces,
+               final boolean keepInstance) {
+        super(factory);
+        mBinder = binder;
+        mInterfaces = interfaces;
+        mKeepInstance = keepInstance;
+        mProxy = (T) Proxy.newProxyInstance(interfaces[0].getClassLoader(),
+                                            interfaces,
+                                            new LazyHandler(factory, binder, keepInstance));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * When requested with parameters then the real instance is returned right away (the parameters would be lost
+     * otherwise).
+     */
+    @NotNull
+    @Override
+    T get(@NotNull final Object... parameters) {
+        if (parameters.length > 0) {
+            return mBinder.get(parameters);
+        }
+        return mProxy;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * The forked factory has its own proxy (and so its own real singleton).
+     */
+    @NotNull
+    @Override
+    Binder<T> fork(@NotNull final Factory factory) {
+        return new BinderLazy<>(factory, factory.forkBinder(mBinder), mInterfaces, mKeepInstance);
+    }
+
+    /**
+     * Dispatches the proxy calls to the real singleton, instantiating it on the first call.
+     */
+    private static final class LazyHandler implements InvocationHandler {
+
+        @NotNull private final     Factory   mFactory;
+        @NotNull private final     Binder<?> mBinder;
+        private final              boolean   mKeepInstance;
+        @Nullable private volatile Object    mInstance;
+
+        /**
+         * Constructs the handler.
+         *
+         * @param factory
+         *         The factory to resolve the real singleton by. Never {@code null}.
+         * @param binder
+         *         The binder which instantiates the real singleton. Never {@code null}.
+         * @param keepInstance
+         *         If {@code true} then the real singleton is kept once instantiated.
+         */
+        LazyHandler(@NotNull final Factory factory, @NotNull final Binder<?> binder, final boolean keepInstance) {
+            mFactory = factory;
+            mBinder = binder;
+            mKeepInstance = keepInstance;
+        }
+
+        /**
+         * {@inheritDoc}
+         * <p/>
+         * The {@link Object} methods are answered by the proxy identity, so they never instantiate the real singleton.
+         */
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return proxy.getClass().getName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+                    default:
+                        break;
+                }
+            }
+            // The interface may not be public
+            if (!method.isAccessible()) {
+                method.setAccessible(true);
+            }
+            try {
+                return method.invoke(getInstance(), args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        /**
+         * Retrieves the real singleton, instantiating it if needed.
+         * <p/>
+         * The singleton which can be reclaimed is read through the reference of the binder, so it is only resolved by
+         * the factory again once reclaimed.
+         *
+         * @return The real singleton. Never {@code null}.
+         */
+        @NotNull
+        private Object getInstance() {
+            Object instance = mInstance;
+            if (instance == null) {
+                if (mBinder instanceof BinderInstantiate) {
+                    instance = ((BinderInstantiate<?>) mBinder).peekSingleton();
+                    if (instance != null) {
+                        return instance;
+                    }
+                }
+                instance = mFactory.resolve(mBinder);
+                if (mKeepInstance) {
+                    mInstance = instance;
+                }
+            }
+            return instance;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.kk.inject;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Binding implementation: Instantiates class and recycles the released instances.
+ * <p/>
+ * The released instances are kept in the bounded lock-free pool so they can be released from any thread. When the
+ * pool is empty, the new instance is created (and injected) exactly as by the {@link BinderInstantiate}.
+ * <p/>
+ * Only the instances checked out of this binder (and not released yet) are accepted back, so the same instance is
+ * never pooled twice (and handed out to two callers at once). The checked out instances are tracked by the concurrent
+ * set (see {@link WeakIdentitySet}), so the checkout takes no lock of the whole pool. The price is the weak key
+ * allocated for every checkout.
+ */
+class BinderPooled<T> extends BinderInstantiate<T> {
+
+    @NotNull private static final Object RESERVED = new Object();
+
+    @NotNull private final AtomicReferenceArray<Object> mSlots;
+    @NotNull private final WeakIdentitySet<T>           mCheckedOut;
+    @NotNull private final AtomicLong                   mHits;
+    @NotNull private final AtomicLong                   mMisses;
+
+    /**
+     * Constructs the binder.
+     *
+     * @param factory
+     *         The factory which the binder is related to. Never {@code null}.
+     * @param classToInstantiate
+     *         The class to instantiate. Never {@code null}.
+     * @param maxSize
+     *         The maximal number of the idle instances kept in the pool. Must be positive.
+     */
+    BinderPooled(@NotNull final Factory factory, @NotNull final Class<? extends T> classToInstantiate, final int maxSize) {
+        super(factory, classToInstantiate, false);
+        mSlots = new AtomicReferenceArray<>(maxSize);
+        mCheckedOut = new WeakIdentitySet<>();
+        mHits = new AtomicLong();
+        mMisses = new AtomicLong();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * The instances requested with parameters are never taken from the pool as they could have been constructed
+     * differently.
+     */
+    @Override
+    T get(@NotNull final Object... parameters) {
+        if (parameters.length <= 0) {
+            final T pooled = acquire();
+            if (pooled != null) {
+                mHits.incrementAndGet();
+                mCheckedOut.add(pooled);
+                return pooled;
+            }
+            mMisses.incrementAndGet();
+        }
+        final T result = super.get(parameters);
+        mCheckedOut.add(result);
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * The pooled instances are taken by {@link #get(Object...)}, so never resolved by the parameters.
+     */
+    @Nullable
+    @Override
+    InjectionPoint[] getDependencies() {
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * The forked factory has its own pool.
+     */
+    @NotNull
+    @Override
+    Binder<T> fork(@NotNull final Factory factory) {
+        return new BinderPooled<>(factory, mClassToInstantiate, mSlots.length());
+    }
+
+    /**
+     * Releases the instance back to the pool.
+     * <p/>
+     * If the instance implements the {@link Poolable} interface then it is reset once its slot is taken (the instance
+     * dropped for the full pool is not reset).
+     *
+     * @param instance
+     *         The instance to release. Never {@code null}.
+     * @return If the instance was put to the pool then {@code true}, if the pool is full or the instance is not checked
+     * out of this binder (never obtained from it or already released) then {@code false}.
+     */
+    boolean release(@NotNull final T instance) {
+        if (!mCheckedOut.remove(instance)) {
+            return false;
+        }
+        for (int index = 0; index < mSlots.length(); index++) {
+            // The slot is reserved first, so the instance is not taken before being reset
+            if (mSlots.get(index) == null && mSlots.compareAndSet(index, null, RESERVED)) {
+                boolean reset = false;
+                try {
+                    if (instance instanceof Poolable) {
+                        ((Poolable) instance).reset();
+                    }
+                    reset = true;
+                } finally {
+                    mSlots.set(index, reset ? instance : null);
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Retrieves the snapshot of the pool statistics.
+     *
+     * @return The statistics. Never {@code null}.
+     */
+    @NotNull
+    PoolStatistics getStatistics() {
+        int idle = 0;
+        for (int index = 0; index < mSlots.length(); index++) {
+            final Object slot = mSlots.get(index);
+            if (slot != null && slot != RESERVED) {
+                idle++;
+            }
+        }
+        return new PoolStatistics(mHits.get(), mMisses.get(), idle, mSlots.length());
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Internals
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Takes the idle instance out of the pool.
+     *
+     * @return The idle instance or {@code null} when the pool is empty.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private T acquire() {
+        for (int index = 0; index < mSlots.length(); index++) {
+            final Object instance = mSlots.get(index);
+            if (instance != null && instance != RESERVED && mSlots.compareAndSet(index, instance, null)) {
+                return (T) instance;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,176 @@
+package com.kk.inject;
+
+import java.lang.reflect.Field;
+
+/**
+ * Binding implementation: Primitive value.
+ * <p/>
+ * The value is kept both boxed (for the generic injection, so no boxing happens per request) and unboxed (for the
+ * typed accessors and for the primitive field injection, so no unboxing happens per request).
+ */
+class BinderPrimitive<T> extends Binder<T> {
+
+    @NotNull private final T        mValue;
+    @NotNull private final Class<?> mPrimitiveType;
+    private final          long     mLongValue;
+    private final          double   mDoubleValue;
+
+    /**
+     * Constructs the binding.
+     *
+     * @param factory
+     *         The factory which the binder is related to. Never {@code null}.
+     * @param value
+     *         The boxed primitive value to return. Never {@code null}.
+     */
+    BinderPrimitive(@NotNull final Factory factory, @NotNull final T value) {
+        super(factory);
+        mValue = value;
+        mPrimitiveType = Utils.getPrimitiveEquivalent(value.getClass());
+        if (value instanceof Float || value instanceof Double) {
+            mLongValue = 0;
+            mDoubleValue = ((Number) value).doubleValue();
+        } else if (value instanceof Number) {
+            mLongValue = ((Number) value).longValue();
+            mDoubleValue = 0;
+        } else if (value instanceof Character) {
+            mLongValue = (Character) value;
+            mDoubleValue = 0;
+        } else {
+            mLongValue = (Boolean) value ? 1 : 0;
+            mDoubleValue = 0;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    T get(@NotNull final Object... parameters) {
+        return mValue;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @NotNull
+    @Override
+    Binder<T> fork(@NotNull final Factory factory) {
+        return new BinderPrimitive<>(factory, mValue);
+    }
+
+    /**
+     * Retrieves the primitive type of the value.
+     *
+     * @return The primitive type (like {@code int.class}). Never {@code null}.
+     */
+    @NotNull
+    Class<?> getPrimitiveType() {
+        return mPrimitiveType;
+    }
+
+    /**
+     * Retrieves the value as byte.
+     *
+     * @return The value.
+     */
+    byte getByte() {
+        return (byte) mLongValue;
+    }
+
+    /**
+     * Retrieves the value as short.
+     *
+     * @return The value.
+     */
+    short getShort() {
+        return (short) mLongValue;
+    }
+
+    /**
+     * Retrieves the value as int.
+     *
+     * @return The value.
+     */
+    int getInt() {
+        return (int) mLongValue;
+    }
+
+    /**
+     * Retrieves the value as long.
+     *
+     * @return The value.
+     */
+    long getLong() {
+        return mLongValue;
+    }
+
+    /**
+     * Retrieves the value as float.
+     *
+     * @return The value.
+     */
+    float getFloat() {
+        return (float) mDoubleValue;
+    }
+
+    /**
+     * Retrieves the value as double.
+     *
+     * @return The value.
+     */
+    double getDouble() {
+        return mDoubleValue;
+    }
+
+    /**
+     * Retrieves the value as boolean.
+     *
+     * @return The value.
+     */
+    boolean getBoolean() {
+        return mLongValue != 0;
+    }
+
+    /**
+     * Retrieves the value as char.
+     *
+     * @return The value.
+     */
+    char getChar() {
+        return (char) mLongValue;
+    }
+
+    /**
+     * Injects the value into the field using the typed setter matching the field type.
+     *
+     * @param field
+     *         The field to inject. Never {@code null}.
+     * @param objectToInject
+     *         The object onto which to perform the injection. Never {@code null}.
+     * @throws IllegalAccessException
+     *         When the field is not accessible.
+     */
+    void injectField(@NotNull final Field field, @NotNull final Object objectToInject) throws IllegalAccessException {
+        final Class<?> type = field.getType();
+        if (type != mPrimitiveType) {
+            field.set(objectToInject, mValue);
+        } else if (type == int.class) {
+            field.setInt(objectToInject, getInt());
+        } else if (type == long.class) {
+            field.setLong(objectToInject, getLong());
+        } else if (type == boolean.class) {
+            field.setBoolean(objectToInject, getBoolean());
+        } else if (type == double.class) {
+            field.setDouble(objectToInject, getDouble());
+        } else if (type == float.class) {
+            field.setFloat(objectToInject, getFloat());
+        } else if (type == char.class) {
+            field.setChar(objectToInject, getChar());
+        } else if (type == short.class) {
+            field.setShort(objectToInject, getShort());
+        } else {
+            field.setByte(objectToInject, getByte());
+        }
+    }
+}
@@ -1,16 +1,27 @@
 package com.kk.inject;
 
-import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 /**
  * Binding implementation: Module provider.
+ * <p/>
+ * The provider method can also return the {@link Future} of the instance (declared exactly as {@code Future<T>}, the
+ * future subclasses are provided as they are). Such an asynchronous provider is awaited when the instance is requested
+ * synchronously: It is started and awaited before the factory is locked (see {@link AsyncProviders}).
  */
 class BinderProvider<T> extends Binder<T> {
 
-    @NotNull private final Object mObject;
-    @NotNull private final Method mMethod;
+    @NotNull private final     Object                 mObject;
+    @NotNull private final     Method                 mMethod;
+    private final              boolean                mIsAsync;
+    @NotNull private final     SignatureCache<Method> mCheckedSignatures;
+    @NotNull private final     ParametersMetadata     mParameters;
+    @Nullable private volatile LinkedBinders          mLinkedBinders;
 
     /**
      * Constructs the binding.
@@ -26,6 +37,18 @@ class BinderProvider<T> extends Binder<T> {
         super(factory);
         mObject = object;
         mMethod = method;
+        // The method objects are shared by all factories (and invoked by the executor threads too), so made accessible
+        // once for good
+        if (!method.isAccessible()) {
+            method.setAccessible(true);
+        }
+        mIsAsync = method.getReturnType() == Future.class;
+        mCheckedSignatures = new SignatureCache<>();
+        mParameters = ClassMetadata.of(method.getDeclaringClass()).getMethodParameters(method);
+        mLinkedBinders = null;
+        if (mIsAsync) {
+            factory.addAsyncProvider();
+        }
     }
 
     /**
@@ -41,12 +64,124 @@ class BinderProvider<T> extends Binder<T> {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * The parameters of the provider method, unless resolved by the parallel resolution (or the asynchronous provider
+     * already started).
+     */
+    @Nullable
+    @Override
+    InjectionPoint[] getDependencies() {
+        final InjectionPoint[] injectionPoints = mParameters.getInjectionPoints();
+        if (injectionPoints.length == 0 || mFactory.isParallelResolution() ||
+                mIsAsync && AsyncProviders.isStarted(this)) {
+            return null;
+        }
+        return injectionPoints;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * The binders of the parameters are located once and then reused until the bindings of the factory change.
+     */
+    @NotNull
+    @Override
+    Binder<?>[] getLinkedDependencies() {
+        LinkedBinders linkedBinders = mLinkedBinders;
+        if (linkedBinders == null || !linkedBinders.isValid(mFactory)) {
+            linkedBinders = LinkedBinders.link(mFactory, mParameters.getInjectionPoints());
+            mLinkedBinders = linkedBinders;
+        }
+        return linkedBinders.getBinders();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @NotNull
+    @Override
+    T complete(@NotNull final Object[] parameters) {
+        return invokeProvider(parameters);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return mObject.getClass().getName() + "." + mMethod.getName() + "()";
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * The module object is shared with the forked factory, only the parameters are resolved by the fork.
+     */
+    @NotNull
+    @Override
+    Binder<T> fork(@NotNull final Factory factory) {
+        return new BinderProvider<>(factory, mObject, mMethod);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * The parameters of the provider method are injected immediately, only the provider method itself is invoked at
+     * the factory executor. So the independent slow providers run concurrently.
+     */
+    @NotNull
+    @Override
+    Future<T> getAsync() {
+        final Object[] parameters = collectParameters();
+        final FutureTask<T> task = new FutureTask<>(new Callable<T>() {
+            @Override
+            public T call() {
+                return invokeProvider(parameters);
+            }
+        });
+        mFactory.getExecutor().execute(task);
+        return task;
+    }
+
+    /**
+     * Checks whether the provider method returns the future of the instance.
+     *
+     * @return If asynchronous then {@code true} else {@code false}.
+     */
+    boolean isAsync() {
+        return mIsAsync;
+    }
+
+    /**
+     * Starts the asynchronous provider: Injects the parameters and invokes the provider method.
+     * <p/>
+     * See {@link AsyncProviders}.
+     *
+     * @return The future returned by the provider method. Never {@code null}.
+     * @throws InjectException
+     *         When the provider method failed or returned {@code null}.
+     */
+    @NotNull
+    Future<?> start() {
+        final Future<?> future = (Future<?>) invokeMethod(collectParameters());
+        if (future == null) {
+            throw new InjectException(ErrorStrings.FAILED_TO_CALL_PROVIDER,
+                                      mMethod.getName(),
+                                      mObject.getClass().getName());
+        }
+        return future;
+    }
+
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     // Internals
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
     /**
      * Instantiates the class using the module provider method with the parameters given ba the caller.
+     * <p/>
+     * The parameter classes already checked are cached, so the repeated calls do not check the types again.
      *
      * @param parameters
      *         The parameters list which are checked against the method and then passed to it.
@@ -57,12 +192,14 @@ class BinderProvider<T> extends Binder<T> {
      */
     @NotNull
     private T instantiateWithParameters(@NotNull final Object... parameters) {
-        // Check parameter types
-        final Class<?>[] parameterTypes = mMethod.getParameterTypes();
-        if (!Utils.checkParameterTypes(parameterTypes, parameters)) {
-            throw new InjectException(ErrorStrings.PROVIDER_PARAMETERS_MISMATCH,
-                                      mMethod.getName(),
-                                      mObject.getClass().getName());
+        // Check parameter types (unless already checked for the same parameter classes)
+        if (mCheckedSignatures.find(parameters) == null) {
+            if (!Utils.checkParameterTypes(mParameters.getParameterTypes(), parameters)) {
+                throw new InjectException(ErrorStrings.PROVIDER_PARAMETERS_MISMATCH,
+                                          mMethod.getName(),
+                                          mObject.getClass().getName());
+            }
+            mCheckedSignatures.put(parameters, mMethod);
         }
         // Invoke the provider
         return invokeProvider(parameters);
@@ -77,17 +214,52 @@ class BinderProvider<T> extends Binder<T> {
      *         signals the clear programming error (like missing suitable constructor).
      */
     @NotNull
+    @SuppressWarnings("unchecked")
     private T instantiateWithInjection() {
+        // The asynchronous provider can be started already
+        if (mIsAsync) {
+            final Future<?> started = AsyncProviders.take(this);
+            if (started != null) {
+                return awaitProvider((Future<T>) started);
+            }
+        }
         // Prepare the parameters
-        final Class<?>[] parameterTypes = mMethod.getParameterTypes();
-        final Annotation[][] parameterAnnotations = mMethod.getParameterAnnotations();
-        final Object[] parameters = mFactory.collectParametersToInject(parameterTypes, parameterAnnotations);
+        final Object[] parameters = collectParameters();
         // Invoke the provider
         return invokeProvider(parameters);
     }
 
+    /**
+     * Collects the parameters for the module provider method by the injection.
+     * <p/>
+     * The binders of the parameters are located once and then reused until the bindings of the factory change.
+     *
+     * @return The injected parameters. If the method has no parameters then {@code null}.
+     */
+    @Nullable
+    private Object[] collectParameters() {
+        final InjectionPoint[] injectionPoints = mParameters.getInjectionPoints();
+        if (injectionPoints.length <= 0) {
+            return null;
+        }
+        // Watch for the circular dependency
+        final ResolutionPath path = ResolutionPath.current();
+        path.enter(this);
+        try {
+            // The parallel resolution decides per parameter how to resolve it
+            if (mFactory.isParallelResolution()) {
+                return mFactory.collectParametersToInject(mParameters);
+            }
+            return ResolutionEngine.collect(mFactory, injectionPoints, getLinkedDependencies());
+        } finally {
+            path.exit();
+        }
+    }
+
     /**
      * Invokes the specified module provider method passing the specified parameters list to it.
+     * <p/>
+     * If the provider is asynchronous then waits for its result.
      *
      * @param parameters
      *         The list of parameters to pass to the module provider method. If {@code null} then NO parameters method
@@ -99,17 +271,34 @@ class BinderProvider<T> extends Binder<T> {
      */
     @NotNull
     @SuppressWarnings("unchecked")
-    private T invokeProvider(@NotNull final Object... parameters) {
+    private T invokeProvider(@Nullable final Object... parameters) {
+        final Object result = invokeMethod(parameters);
+        if (mIsAsync) {
+            return awaitProvider((Future<T>) result);
+        }
+        return (T) result;
+    }
+
+    /**
+     * Invokes the module provider method passing the specified parameters list to it.
+     *
+     * @param parameters
+     *         The list of parameters to pass to the module provider method. If {@code null} then NO parameters method
+     *         is expected.
+     * @return The result of the method.
+     * @throws InjectException
+     *         When the method failed.
+     */
+    @Nullable
+    private Object invokeMethod(@Nullable final Object... parameters) {
         try {
-            final boolean setAccessible = !mMethod.isAccessible();
-            if (setAccessible) {
-                mMethod.setAccessible(true);
-            }
+            final InjectionMonitor monitor = InjectionMonitor.current();
+            final Object context = monitor != null ? monitor.constructionStarted(mMethod.getReturnType()) : null;
             try {
-                return (T) mMethod.invoke(mObject, parameters);
+                return mMethod.invoke(mObject, parameters);
             } finally {
-                if (setAccessible) {
-                    mMethod.setAccessible(false);
+                if (monitor != null) {
+                    monitor.constructionFinished(context);
                 }
             }
         } catch (IllegalAccessException | InvocationTargetException e) {
@@ -119,4 +308,34 @@ class BinderProvider<T> extends Binder<T> {
                                       mObject.getClass().getName());
         }
     }
+
+    /**
+     * Waits for the result of the asynchronous module provider method.
+     * <p/>
+     * The provider started before the factory was locked (see {@link AsyncProviders}) is already done. Otherwise it
+     * is awaited with the factory possibly locked, so the future must not depend on the factory then.
+     *
+     * @param future
+     *         The future returned by the provider method. Never {@code null}.
+     * @return The ensured instance. Never {@code null}.
+     * @throws InjectException
+     *         When the provider failed or the waiting was interrupted.
+     */
+    @NotNull
+    private T awaitProvider(@NotNull final Future<T> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw new InjectException(e.getCause(),
+                                      ErrorStrings.FAILED_TO_CALL_PROVIDER,
+                                      mMethod.getName(),
+                                      mObject.getClass().getName());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InjectException(e,
+                                      ErrorStrings.FAILED_TO_CALL_PROVIDER,
+                                      mMethod.getName(),
+                                      mObject.getClass().getName());
+        }
+    }
 }
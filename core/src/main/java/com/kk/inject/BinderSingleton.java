@@ -1,5 +1,9 @@
 package com.kk.inject;
 
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
 /**
  * Binding implementation: Singleton.
  */
@@ -25,4 +29,37 @@ class BinderSingleton<T> extends Binder<T> {
     T get(@NotNull final Object... parameters) {
         return mInstanceToReturn;
     }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * The binding of the factory itself returns the forked factory.
+     */
+    @NotNull
+    @Override
+    @SuppressWarnings("unchecked")
+    Binder<T> fork(@NotNull final Factory factory) {
+        if (mInstanceToReturn == mFactory) {
+            return new BinderSingleton<>(factory, (T) factory);
+        }
+        return new BinderSingleton<>(factory, mInstanceToReturn);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * The instance is already available, so the returned future is already done.
+     */
+    @NotNull
+    @Override
+    Future<T> getAsync() {
+        final FutureTask<T> task = new FutureTask<>(new Callable<T>() {
+            @Override
+            public T call() {
+                return mInstanceToReturn;
+            }
+        });
+        task.run();
+        return task;
+    }
 }
@@ -2,8 +2,11 @@ package com.kk.inject;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Builds the binding for the module.
@@ -17,6 +20,11 @@ public final class BindingBuilderManual<T> {
     @Nullable private String                      mName;
     @Nullable private Class<? extends Annotation> mAnnotation;
     private           boolean                     mForceSingleton;
+    @NotNull private  ReferenceStrength           mReferenceStrength;
+    private           int                         mPoolSize;
+    private           long                        mCacheExpireAfter;
+    private           int                         mCacheMaxSize;
+    private           boolean                     mLazy;
 
     /**
      * Builds the binding for the specified class.
@@ -33,6 +41,11 @@ public final class BindingBuilderManual<T> {
         mName = null;
         mAnnotation = null;
         mForceSingleton = false;
+        mReferenceStrength = ReferenceStrength.STRONG;
+        mPoolSize = 0;
+        mCacheExpireAfter = 0;
+        mCacheMaxSize = 0;
+        mLazy = false;
     }
 
     /**
@@ -64,6 +77,80 @@ public final class BindingBuilderManual<T> {
         return this;
     }
 
+    /**
+     * Marks the binding being created as singleton held with the specified reference strength.
+     * <p/>
+     * The softly or weakly held singleton can be reclaimed by the garbage collector when nobody else uses it. It is
+     * then transparently instantiated again on the next request. It only applies to {@link #thenInstantiate(Class)}.
+     *
+     * @param referenceStrength
+     *         How strongly the singleton instance is held. Never {@code null}.
+     * @return The builder for chaining calls. Never {@code null}.
+     */
+    @NotNull
+    public BindingBuilderManual<T> singleton(@NotNull final ReferenceStrength referenceStrength) {
+        mForceSingleton = true;
+        mReferenceStrength = referenceStrength;
+        return this;
+    }
+
+    /**
+     * Marks the binding being created as pooled.
+     * <p/>
+     * The instances are recycled: Those released by {@link Factory#release(Class, Object)} are handed out again
+     * instead of instantiating the new ones. It only applies to {@link #thenInstantiate(Class)}.
+     *
+     * @param maxSize
+     *         The maximal number of the idle instances kept in the pool. Must be positive.
+     * @return The builder for chaining calls. Never {@code null}.
+     */
+    @NotNull
+    public BindingBuilderManual<T> pooled(final int maxSize) {
+        if (maxSize <= 0) {
+            throw new InjectException(ErrorStrings.INVALID_POOL_SIZE, maxSize);
+        }
+        mPoolSize = maxSize;
+        return this;
+    }
+
+    /**
+     * Marks the binding being created as cached.
+     * <p/>
+     * The instances are cached per the parameters list they are requested with. The stale instances are refreshed
+     * asynchronously (see {@link Factory#setExecutor(java.util.concurrent.Executor)}) while the callers still get the
+     * stale ones. It applies to {@link #thenInstantiate(Class)} and {@link #thenProvide(Object, String)}.
+     *
+     * @param expireAfterMillis
+     *         The time (in milliseconds) after which the cached instance becomes stale and gets refreshed.
+     * @param maxSize
+     *         The maximal number of the cached instances. Must be positive.
+     * @return The builder for chaining calls. Never {@code null}.
+     */
+    @NotNull
+    public BindingBuilderManual<T> cached(final long expireAfterMillis, final int maxSize) {
+        if (maxSize <= 0) {
+            throw new InjectException(ErrorStrings.INVALID_CACHE_SIZE, maxSize);
+        }
+        mCacheExpireAfter = expireAfterMillis;
+        mCacheMaxSize = maxSize;
+        return this;
+    }
+
+    /**
+     * Marks the binding being created as lazy.
+     * <p/>
+     * The lightweight proxy is injected instead of the singleton. The real singleton is only instantiated when the
+     * first method is called on the proxy. So the services never used do not slow down the start. It only applies to
+     * the singletons created by {@link #thenInstantiate(Class)} and requested by interfaces.
+     *
+     * @return The builder for chaining calls. Never {@code null}.
+     */
+    @NotNull
+    public BindingBuilderManual<T> lazy() {
+        mLazy = true;
+        return this;
+    }
+
     /**
      * Adds the name condition to the binding being built.
      * <p/>
@@ -100,14 +187,22 @@ public final class BindingBuilderManual<T> {
      */
     public void thenInstantiate(@NotNull final Class<? extends T> classToInstantiate) {
         final boolean singleton = isSingleton(classToInstantiate);
-        final Binder binder = new BinderInstantiate<>(mFactory, classToInstantiate, singleton);
-        final BindingId bindingId1 = new BindingId(mForClass, mName, mAnnotation);
-        mFactory.addBinding(bindingId1, binder);
-        if (mForClasses != null) {
-            for (final Class<? extends T> forClass : mForClasses) {
-                final BindingId bindingId2 = new BindingId(forClass, mName, mAnnotation);
-                mFactory.addBinding(bindingId2, binder);
+        final Binder binder;
+        if (mPoolSize > 0) {
+            if (singleton) {
+                throw new InjectException(ErrorStrings.POOLED_SINGLETON, classToInstantiate.getName());
             }
+            binder = new BinderPooled<>(mFactory, classToInstantiate, mPoolSize);
+        } else {
+            binder = new BinderInstantiate<>(mFactory, classToInstantiate, singleton, mReferenceStrength);
+        }
+        if (mLazy) {
+            if (!singleton) {
+                throw new InjectException(ErrorStrings.LAZY_NOT_SINGLETON, classToInstantiate.getName());
+            }
+            addBindings(wrapCached(wrapLazy(binder)));
+        } else {
+            addBindings(wrapCached(binder));
         }
     }
 
@@ -118,15 +213,93 @@ public final class BindingBuilderManual<T> {
      *         The object to return. Never {@code null}.
      */
     public void thenReturn(@NotNull final T objectToReturn) {
-        final Binder<T> binder = new BinderSingleton<>(mFactory, objectToReturn);
-        final BindingId bindingId1 = new BindingId(mForClass, mName, mAnnotation);
-        mFactory.addBinding(bindingId1, binder);
-        if (mForClasses != null) {
-            for (final Class<? extends T> forClass : mForClasses) {
-                final BindingId bindingId2 = new BindingId(forClass, mName, mAnnotation);
-                mFactory.addBinding(bindingId2, binder);
-            }
+        final Binder<T> binder;
+        if (Utils.getPrimitiveEquivalent(mForClass) != null && Utils.checkType(objectToReturn.getClass(), mForClass)) {
+            binder = new BinderPrimitive<>(mFactory, objectToReturn);
+        } else {
+            binder = new BinderSingleton<>(mFactory, objectToReturn);
         }
+        addBindings(binder);
+    }
+
+    /**
+     * Creates the binder which just returns the specified byte value when binding requested.
+     *
+     * @param value
+     *         The value to return.
+     */
+    public void thenReturnByte(final byte value) {
+        thenReturnPrimitive(value);
+    }
+
+    /**
+     * Creates the binder which just returns the specified short value when binding requested.
+     *
+     * @param value
+     *         The value to return.
+     */
+    public void thenReturnShort(final short value) {
+        thenReturnPrimitive(value);
+    }
+
+    /**
+     * Creates the binder which just returns the specified int value when binding requested.
+     *
+     * @param value
+     *         The value to return.
+     */
+    public void thenReturnInt(final int value) {
+        thenReturnPrimitive(value);
+    }
+
+    /**
+     * Creates the binder which just returns the specified long value when binding requested.
+     *
+     * @param value
+     *         The value to return.
+     */
+    public void thenReturnLong(final long value) {
+        thenReturnPrimitive(value);
+    }
+
+    /**
+     * Creates the binder which just returns the specified float value when binding requested.
+     *
+     * @param value
+     *         The value to return.
+     */
+    public void thenReturnFloat(final float value) {
+        thenReturnPrimitive(value);
+    }
+
+    /**
+     * Creates the binder which just returns the specified double value when binding requested.
+     *
+     * @param value
+     *         The value to return.
+     */
+    public void thenReturnDouble(final double value) {
+        thenReturnPrimitive(value);
+    }
+
+    /**
+     * Creates the binder which just returns the specified boolean value when binding requested.
+     *
+     * @param value
+     *         The value to return.
+     */
+    public void thenReturnBoolean(final boolean value) {
+        thenReturnPrimitive(value);
+    }
+
+    /**
+     * Creates the binder which just returns the specified char value when binding requested.
+     *
+     * @param value
+     *         The value to return.
+     */
+    public void thenReturnChar(final char value) {
+        thenReturnPrimitive(value);
     }
 
     /**
@@ -147,6 +320,72 @@ public final class BindingBuilderManual<T> {
                                       provider.getClass().getName());
         }
         final Binder<T> binder = new BinderProvider<>(mFactory, provider, method);
+        addBindings(wrapCached(binder));
+    }
+
+    /**
+     * Creates the binder which uses the specified provider when binding requested.
+     *
+     * @param provider
+     *         The provider to be used to retrieve the instance. The provider MUST implement the method named "get".
+     *         Never {@code null}.
+     */
+    public void thenProvide(@NotNull final Module provider) {
+        thenProvide(provider, "get");
+    }
+
+    /**
+     * Creates the binder which returns the implementation of the assisted factory interface when binding requested.
+     * <p/>
+     * Every method of the interface instantiates its result class using the constructor which parameters marked by
+     * the {@link Assisted} annotation match the method parameters (in their order). The remaining constructor
+     * parameters are injected. The constructors are resolved right now, so the mismatch is reported immediately.
+     *
+     * @throws InjectException
+     *         When the class the binding is defined for is not an interface or any of its methods cannot be implemented.
+     */
+    public void thenImplementAssisted() {
+        final List<Class<?>> interfaces = getAllForClasses();
+        final Map<Method, Binder<?>> binders = new HashMap<>();
+        for (final Class<?> factoryInterface : interfaces) {
+            if (!factoryInterface.isInterface()) {
+                throw new InjectException(ErrorStrings.ASSISTED_FACTORY_NOT_INTERFACE, factoryInterface.getName());
+            }
+            for (final Method method : factoryInterface.getMethods()) {
+                if (Modifier.isAbstract(method.getModifiers())) {
+                    binders.put(method, new BinderAssisted<>(mFactory, method));
+                }
+            }
+        }
+        addBindings(new BinderAssistedFactory<T>(mFactory,
+                                                 interfaces.toArray(new Class<?>[interfaces.size()]),
+                                                 binders));
+    }
+
+    /**
+     * Creates the binder which returns the primitive value when binding requested.
+     *
+     * @param value
+     *         The boxed primitive value. It is only boxed once when defining the binding. Never {@code null}.
+     * @throws InjectException
+     *         When the value type does not match the class the binding is defined for.
+     */
+    private void thenReturnPrimitive(@NotNull final Object value) {
+        if (!Utils.checkType(value.getClass(), mForClass)) {
+            throw new InjectException(ErrorStrings.PRIMITIVE_TYPE_MISMATCH,
+                                      value.getClass().getName(),
+                                      mForClass.getName());
+        }
+        addBindings(new BinderPrimitive<>(mFactory, value));
+    }
+
+    /**
+     * Registers the binder for the main class and all additional classes.
+     *
+     * @param binder
+     *         The binder to register. Never {@code null}.
+     */
+    private void addBindings(@NotNull final Binder binder) {
         final BindingId bindingId1 = new BindingId(mForClass, mName, mAnnotation);
         mFactory.addBinding(bindingId1, binder);
         if (mForClasses != null) {
@@ -158,14 +397,58 @@ public final class BindingBuilderManual<T> {
     }
 
     /**
-     * Creates the binder which uses the specified provider when binding requested.
+     * Retrieves the main class and all additional classes the binding is defined for.
      *
-     * @param provider
-     *         The provider to be used to retrieve the instance. The provider MUST implement the method named "get".
-     *         Never {@code null}.
+     * @return The classes. Never {@code null}.
      */
-    public void thenProvide(@NotNull final Module provider) {
-        thenProvide(provider, "get");
+    @NotNull
+    private List<Class<?>> getAllForClasses() {
+        final List<Class<?>> forClasses = new ArrayList<>();
+        forClasses.add(mForClass);
+        if (mForClasses != null) {
+            forClasses.addAll(mForClasses);
+        }
+        return forClasses;
+    }
+
+    /**
+     * Wraps the binder by the caching one if the binding was marked as cached.
+     *
+     * @param binder
+     *         The binder to wrap. Never {@code null}.
+     * @return The caching binder or the original one if not cached. Never {@code null}.
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    private Binder wrapCached(@NotNull final Binder binder) {
+        if (mCacheMaxSize > 0) {
+            return new BinderCached<>(mFactory, binder, mCacheExpireAfter, mCacheMaxSize);
+        }
+        return binder;
+    }
+
+    /**
+     * Wraps the binder by the lazy one.
+     *
+     * @param binder
+     *         The binder to wrap. Never {@code null}.
+     * @return The lazy binder. Never {@code null}.
+     * @throws InjectException
+     *         When any class the binding is defined for is not an interface.
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    private Binder wrapLazy(@NotNull final Binder binder) {
+        final List<Class<?>> interfaces = getAllForClasses();
+        for (final Class<?> lazyInterface : interfaces) {
+            if (!lazyInterface.isInterface()) {
+                throw new InjectException(ErrorStrings.LAZY_NOT_INTERFACE, lazyInterface.getName());
+            }
+        }
+        return new BinderLazy<>(mFactory,
+                                binder,
+                                interfaces.toArray(new Class<?>[interfaces.size()]),
+                                mReferenceStrength == ReferenceStrength.STRONG);
     }
 
     /**
@@ -2,6 +2,7 @@ package com.kk.inject;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.util.concurrent.Future;
 
 /**
  * Binding builder: Module provider.
@@ -28,12 +29,9 @@ final class BindingBuilderModuleProviders {
      * Builds the bindings.
      */
     void build() {
-        // Walk through all methods and filter only those annotated as providers
-        final Method[] methods = mObject.getClass().getDeclaredMethods();
-        for (final Method method : methods) {
-            if (method.isAnnotationPresent(Provides.class)) {
-                buildBinder(method);
-            }
+        // Walk through all methods annotated as providers
+        for (final Method method : ClassMetadata.of(mObject.getClass()).getProviderMethods()) {
+            buildBinder(method);
         }
     }
 
@@ -41,6 +39,29 @@ final class BindingBuilderModuleProviders {
     // Internals
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
+    /**
+     * Creates the binder for the provider method.
+     * <p/>
+     * If the method is annotated as {@link Cached} then the binder is wrapped by the caching one.
+     *
+     * @param method
+     *         The method for which to create the binder. Never {@code null}.
+     * @return The binder. Never {@code null}.
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    private Binder createBinder(@NotNull final Method method) {
+        final Binder binder = new BinderProvider(mFactory, mObject, method);
+        final Cached cached = method.getAnnotation(Cached.class);
+        if (cached == null) {
+            return binder;
+        }
+        if (cached.maxSize() <= 0) {
+            throw new InjectException(ErrorStrings.INVALID_CACHE_SIZE, cached.maxSize());
+        }
+        return new BinderCached(mFactory, binder, cached.expireAfter(), cached.maxSize());
+    }
+
     /**
      * Creates one or more bindings for the provider method.
      *
@@ -48,15 +69,22 @@ final class BindingBuilderModuleProviders {
      *         The method for which to create the binding(s). Never {@code null}.
      */
     private void buildBinder(@NotNull final Method method) {
-        final Class<?> forClass = method.getReturnType();
+        Class<?> forClass = method.getReturnType();
         // Check provider does not return void
         if (forClass == null || forClass.equals(Void.TYPE)) {
             throw new InjectException(ErrorStrings.PROVIDER_MUST_NOT_RETURN_VOID,
                                       method.getName(),
                                       mObject.getClass().getName());
         }
+        // Asynchronous provider (declared to return exactly the future) provides the result of its future
+        if (forClass == Future.class) {
+            forClass = Utils.getFutureResultType(method.getGenericReturnType());
+            if (forClass == null) {
+                throw new InjectException(ErrorStrings.UNKNOWN_FUTURE_TYPE, method.toGenericString());
+            }
+        }
         // Create the binder object to be assigned to the factory
-        final Binder binder = new BinderProvider(mFactory, mObject, method);
+        final Binder binder = createBinder(method);
         // Retrieve the annotations for further processing
         final Annotation[] annotations = method.getAnnotations();
         // If have some annotations then create multiple bindings otherwise just one
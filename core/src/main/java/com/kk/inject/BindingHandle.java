@@ -0,0 +1,76 @@
+package com.kk.inject;
+
+/**
+ * Handle of the single binding of the factory, for the callers resolving the same binding repeatedly.
+ * <p/>
+ * The binder is located once and reused, so the repeated resolution does not build the binding key nor look it up in
+ * the bindings. Whenever the bindings of the factory change (or the factory is reset), the binder is located again on
+ * the next use. The handle is thread safe, the same as the factory.
+ *
+ * @param <T>
+ *         The class type to ensure the type safety by the compiler.
+ */
+public final class BindingHandle<T> {
+
+    @NotNull final Factory   mFactory;
+    @NotNull final BindingId mBindingId;
+    // Guarded by the factory
+    @Nullable Binder<T> mBinder;
+    int mBindingsVersion;
+
+    /**
+     * Constructs the handle.
+     *
+     * @param factory
+     *         The factory to resolve by. Never {@code null}.
+     * @param bindingId
+     *         The binding ID. Never {@code null}.
+     * @param binder
+     *         The currently located binder. Never {@code null}.
+     * @param bindingsVersion
+     *         The version of the bindings the binder was located in.
+     */
+    BindingHandle(@NotNull final Factory factory,
+                  @NotNull final BindingId bindingId,
+                  @NotNull final Binder<T> binder,
+                  final int bindingsVersion) {
+        mFactory = factory;
+        mBindingId = bindingId;
+        mBinder = binder;
+        mBindingsVersion = bindingsVersion;
+    }
+
+    /**
+     * Ensures the instance of the binding.
+     *
+     * @return The ensured instance. Never {@code null}.
+     * @throws InjectException
+     *         When there is a problem with the instance ensuring (like the binding was removed by the factory reset).
+     */
+    @NotNull
+    public T get() {
+        return mFactory.resolveHandle(this, Binder.NO_PARAMETERS);
+    }
+
+    /**
+     * Ensures the instance of the binding.
+     *
+     * @param parameters
+     *         The optional parameters to be passed to the newly created instance. Can be missing.
+     * @return The ensured instance. Never {@code null}.
+     * @throws InjectException
+     *         When there is a problem with the instance ensuring (like the binding was removed by the factory reset).
+     */
+    @NotNull
+    public T get(@NotNull final Object... parameters) {
+        return mFactory.resolveHandle(this, parameters);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "BindingHandle{" + mBindingId + "}";
+    }
+}
@@ -5,7 +5,7 @@ import java.lang.annotation.Annotation;
 /**
  * Container uniquely identifying the binding.
  * <p/>
- * It is used as a key to the map container. The value is one of the {@link Binder} implementations.
+ * It identifies the binding in the {@link BindingTable}. The value is one of the {@link Binder} implementations.
  */
 final class BindingId {
 
@@ -33,16 +33,33 @@ final class BindingId {
     }
 
     /**
-     * Retrieves the matching primitive type for the class of this binding ID.
+     * Retrieves the class which this binding realizes.
      *
-     * @return If there is any matching primitive equivalent then the new binding ID else {@code null}.
+     * @return The class. Never {@code null}.
      */
-    BindingId getPrimitiveEquivalent() {
-        final Class<?> match = Utils.getPrimitiveEquivalent(mClass);
-        if (match != null) {
-            return new BindingId(match, mName, mAnnotation);
-        }
-        return null;
+    @NotNull
+    Class<?> getBindingClass() {
+        return mClass;
+    }
+
+    /**
+     * Retrieves the name which this binding realizes.
+     *
+     * @return The name. Can be {@code null}.
+     */
+    @Nullable
+    String getName() {
+        return mName;
+    }
+
+    /**
+     * Retrieves the annotation which this binding realizes.
+     *
+     * @return The annotation. Can be {@code null}.
+     */
+    @Nullable
+    Class<? extends Annotation> getAnnotation() {
+        return mAnnotation;
     }
 
     /**
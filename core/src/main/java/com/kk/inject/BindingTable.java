@@ -0,0 +1,264 @@
+package com.kk.inject;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * The table of the bindings of the factory.
+ * <p/>
+ * It is the open addressing hash table keeping the binding IDs unpacked in the parallel arrays, so it costs no entry
+ * nor key objects per binding. The primitive classes are keyed by their boxed equivalents, so the binding for both
+ * the primitive and its boxed class is kept just once.
+ */
+final class BindingTable {
+
+    private static final int MIN_CAPACITY = 8;
+
+    @NotNull private Class<?>[]                    mClasses;
+    @NotNull private String[]                      mNames;
+    @NotNull private Class<? extends Annotation>[] mAnnotations;
+    @NotNull private Binder<?>[]                   mBinders;
+    private          int                           mSize;
+
+    /**
+     * Constructs the empty table.
+     */
+    BindingTable() {
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * Constructs the copy of the table.
+     *
+     * @param table
+     *         The table to copy. Never {@code null}.
+     */
+    BindingTable(@NotNull final BindingTable table) {
+        mClasses = table.mClasses.clone();
+        mNames = table.mNames.clone();
+        mAnnotations = table.mAnnotations.clone();
+        mBinders = table.mBinders.clone();
+        mSize = table.mSize;
+    }
+
+    /**
+     * Retrieves the binder.
+     *
+     * @param clazz
+     *         The class of the binding. Never {@code null}.
+     * @param name
+     *         The name of the binding. Can be {@code null}.
+     * @param annotation
+     *         The annotation of the binding. Can be {@code null}.
+     * @return If found then the binder else {@code null}.
+     */
+    @Nullable
+    Binder<?> get(@NotNull final Class<?> clazz,
+                  @Nullable final String name,
+                  @Nullable final Class<? extends Annotation> annotation) {
+        final Class<?> key = toKey(clazz);
+        final int mask = mClasses.length - 1;
+        int index = hash(key, name, annotation) & mask;
+        while (mClasses[index] != null) {
+            if (matches(index, key, name, annotation)) {
+                return mBinders[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves the binder.
+     *
+     * @param bindingId
+     *         The binding ID. Never {@code null}.
+     * @return If found then the binder else {@code null}.
+     */
+    @Nullable
+    Binder<?> get(@NotNull final BindingId bindingId) {
+        return get(bindingId.getBindingClass(), bindingId.getName(), bindingId.getAnnotation());
+    }
+
+    /**
+     * Puts the binder. If such a binding already exists then replaces it.
+     *
+     * @param bindingId
+     *         The binding ID. Never {@code null}.
+     * @param binder
+     *         The binder. Never {@code null}.
+     */
+    void put(@NotNull final BindingId bindingId, @NotNull final Binder<?> binder) {
+        final Class<?> key = toKey(bindingId.getBindingClass());
+        final String name = bindingId.getName();
+        final Class<? extends Annotation> annotation = bindingId.getAnnotation();
+        final int mask = mClasses.length - 1;
+        int index = hash(key, name, annotation) & mask;
+        while (mClasses[index] != null) {
+            if (matches(index, key, name, annotation)) {
+                mBinders[index] = binder;
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+        mClasses[index] = key;
+        mNames[index] = name;
+        mAnnotations[index] = annotation;
+        mBinders[index] = binder;
+        mSize++;
+        // Keep the table at most three quarters full, so the probe sequences stay short
+        if (mSize * 4 > mClasses.length * 3) {
+            rehash(mClasses.length * 2);
+        }
+    }
+
+    /**
+     * Removes all the bindings.
+     */
+    void clear() {
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * Retrieves the number of the bindings.
+     *
+     * @return The number of the bindings.
+     */
+    int size() {
+        return mSize;
+    }
+
+    /**
+     * Retrieves the capacity of the table (the number of the slots).
+     *
+     * @return The capacity.
+     */
+    int capacity() {
+        return mClasses.length;
+    }
+
+    /**
+     * Retrieves the binder at the slot.
+     *
+     * @param index
+     *         The slot index, from zero to {@link #capacity()} (exclusive).
+     * @return If the slot is used then the binder else {@code null}.
+     */
+    @Nullable
+    Binder<?> getBinderAt(final int index) {
+        return mBinders[index];
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Internals
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Allocates the empty arrays.
+     *
+     * @param capacity
+     *         The capacity. Must be the power of two.
+     */
+    @SuppressWarnings("unchecked")
+    private void allocate(final int capacity) {
+        mClasses = new Class<?>[capacity];
+        mNames = new String[capacity];
+        mAnnotations = (Class<? extends Annotation>[]) new Class<?>[capacity];
+        mBinders = new Binder<?>[capacity];
+        mSize = 0;
+    }
+
+    /**
+     * Moves all the bindings to the new arrays.
+     *
+     * @param capacity
+     *         The new capacity. Must be the power of two.
+     */
+    private void rehash(final int capacity) {
+        final Class<?>[] classes = mClasses;
+        final String[] names = mNames;
+        final Class<? extends Annotation>[] annotations = mAnnotations;
+        final Binder<?>[] binders = mBinders;
+        allocate(capacity);
+        final int mask = capacity - 1;
+        for (int from = 0; from < classes.length; from++) {
+            if (classes[from] != null) {
+                int index = hash(classes[from], names[from], annotations[from]) & mask;
+                while (mClasses[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                mClasses[index] = classes[from];
+                mNames[index] = names[from];
+                mAnnotations[index] = annotations[from];
+                mBinders[index] = binders[from];
+                mSize++;
+            }
+        }
+    }
+
+    /**
+     * Checks whether the slot holds the binding.
+     *
+     * @param index
+     *         The used slot index.
+     * @param key
+     *         The key class of the binding. Never {@code null}.
+     * @param name
+     *         The name of the binding. Can be {@code null}.
+     * @param annotation
+     *         The annotation of the binding. Can be {@code null}.
+     * @return If matches then {@code true} else {@code false}.
+     */
+    private boolean matches(final int index,
+                            @NotNull final Class<?> key,
+                            @Nullable final String name,
+                            @Nullable final Class<? extends Annotation> annotation) {
+        if (mClasses[index] != key || mAnnotations[index] != annotation) {
+            return false;
+        }
+        final String slotName = mNames[index];
+        return slotName == null ? name == null : slotName.equals(name);
+    }
+
+    /**
+     * Retrieves the class the binding is keyed by: the boxed equivalent for the primitive class else the class itself.
+     *
+     * @param clazz
+     *         The class of the binding. Never {@code null}.
+     * @return The key class. Never {@code null}.
+     */
+    @NotNull
+    private static Class<?> toKey(@NotNull final Class<?> clazz) {
+        if (clazz.isPrimitive()) {
+            final Class<?> boxed = ClassMetadata.of(clazz).getPrimitiveEquivalent();
+            if (boxed != null) {
+                return boxed;
+            }
+        }
+        return clazz;
+    }
+
+    /**
+     * Computes the hash of the binding.
+     *
+     * @param key
+     *         The key class of the binding. Never {@code null}.
+     * @param name
+     *         The name of the binding. Can be {@code null}.
+     * @param annotation
+     *         The annotation of the binding. Can be {@code null}.
+     * @return The hash.
+     */
+    private static int hash(@NotNull final Class<?> key,
+                            @Nullable final String name,
+                            @Nullable final Class<? extends Annotation> annotation) {
+        int hash = key.hashCode();
+        if (name != null) {
+            hash = hash * 31 + name.hashCode();
+        }
+        if (annotation != null) {
+            hash = hash * 31 + annotation.hashCode();
+        }
+        // Spread the higher bits to the lower ones as only the lower ones select the slot
+        return hash ^ (hash >>> 16);
+    }
+}
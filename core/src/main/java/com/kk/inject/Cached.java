@@ -0,0 +1,28 @@
+package com.kk.inject;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation: Cached.
+ * <p/>
+ * Marks the provider method which results are cached for the specified time. The results are cached separately for
+ * every distinct list of the parameters the instance is requested with.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD})
+public @interface Cached {
+
+    /**
+     * The time (in milliseconds) after which the cached instance becomes stale and gets refreshed.
+     */
+    long expireAfter();
+
+    /**
+     * The maximal number of the cached instances (for distinct parameter lists). The least recently used ones are
+     * evicted.
+     */
+    int maxSize() default 16;
+}
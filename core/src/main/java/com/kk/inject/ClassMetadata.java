@@ -0,0 +1,543 @@
+package com.kk.inject;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Metadata of the class cached for the whole process.
+ * <p/>
+ * The metadata is computed once per class and then shared by all factories. The registry is backed by the
+ * {@link ClassValue} where available (as it is the fastest lookup) and by the weak map otherwise (like on Android).
+ * Either way, the registry does not keep the classes loaded.
+ */
+final class ClassMetadata {
+
+    @NotNull private static final     Registry                sRegistry   = createRegistry();
+    @NotNull private static final     List<InjectionMetadata> sInjections = new ArrayList<>();
+    @Nullable private static volatile MetadataStore           sStore;
+    private static volatile           boolean                 sRecordInjections;
+
+    @NotNull private final     WeakReference<Class<?>> mClass;
+    @Nullable private final    Class<?>                mPrimitiveEquivalent;
+    private final              boolean                 mQualifier;
+    private final              boolean                 mWeakMembers;
+    @Nullable private volatile Members                 mMembers;
+    @Nullable private volatile WeakReference<Members>  mMembersReference;
+
+    /**
+     * Computes the metadata of the class.
+     *
+     * @param clazz
+     *         The class to compute the metadata of. Never {@code null}.
+     * @param weakMembers
+     *         If {@code true} then the reflective members are only held weakly (so the registry does not keep the class
+     *         loaded) else strongly.
+     */
+    private ClassMetadata(@NotNull final Class<?> clazz, final boolean weakMembers) {
+        mClass = new WeakReference<Class<?>>(clazz);
+        mPrimitiveEquivalent = computePrimitiveEquivalent(clazz);
+        mQualifier = computeQualifier(clazz);
+        mWeakMembers = weakMembers;
+    }
+
+    /**
+     * Retrieves the metadata of the class.
+     *
+     * @param clazz
+     *         The class to retrieve the metadata of. Never {@code null}.
+     * @return The metadata. Never {@code null}.
+     */
+    @NotNull
+    static ClassMetadata of(@NotNull final Class<?> clazz) {
+        return sRegistry.get(clazz);
+    }
+
+    /**
+     * Retrieves the matching primitive type for the wrapper class or the matching wrapper class for the primitive
+     * type.
+     *
+     * @return If there is any then the equivalent type else {@code null}.
+     */
+    @Nullable
+    Class<?> getPrimitiveEquivalent() {
+        return mPrimitiveEquivalent;
+    }
+
+    /**
+     * Checks whether the class is the annotation further specifying the binding (as opposed to the annotations with
+     * special meaning for the injection, like {@link Named} or {@link Inject}).
+     *
+     * @return If the qualifying annotation then {@code true} else {@code false}.
+     */
+    boolean isQualifier() {
+        return mQualifier;
+    }
+
+    /**
+     * Retrieves the injection metadata of the class.
+     * <p/>
+     * It is computed on the first request: Restored from the metadata cache (if set and matching) or found by scanning
+     * the class members.
+     *
+     * @return The injection metadata. Never {@code null}.
+     */
+    @NotNull
+    InjectionMetadata getInjection() {
+        final Members members = getMembers();
+        InjectionMetadata injection = members.mInjection;
+        if (injection == null) {
+            final MetadataStore store = sStore;
+            if (store != null) {
+                injection = store.resolve(getType());
+            }
+            if (injection == null) {
+                injection = scanInjection();
+            }
+            synchronized (sInjections) {
+                if (members.mInjection == null) {
+                    members.mInjection = injection;
+                    if (sRecordInjections) {
+                        sInjections.add(injection);
+                    }
+                } else {
+                    injection = members.mInjection;
+                }
+            }
+        }
+        return injection;
+    }
+
+    /**
+     * Retrieves the injection plan of the class: The members to inject flattened over the whole class hierarchy.
+     * <p/>
+     * It is computed on the first request (reusing the plan of the superclass).
+     *
+     * @return The injection plan. Never {@code null}.
+     */
+    @NotNull
+    InjectionPlan getInjectionPlan() {
+        final Members members = getMembers();
+        InjectionPlan plan = members.mInjectionPlan;
+        if (plan == null) {
+            final Class<?> clazz = getType();
+            final Class<?> superclass = clazz.getSuperclass();
+            final InjectionPlan superPlan;
+            if (superclass != null && !isPlatformClass(superclass)) {
+                superPlan = of(superclass).getInjectionPlan();
+            } else {
+                superPlan = null;
+            }
+            plan = InjectionPlan.build(clazz, superPlan, getInjection());
+            members.mInjectionPlan = plan;
+        }
+        return plan;
+    }
+
+    /**
+     * Retrieves the provider methods of the module class.
+     * <p/>
+     * They are computed on the first request: Taken from the injection metadata if already computed, otherwise located
+     * by the compile time module index (see {@link ModuleIndex}) if the class is indexed, otherwise found by scanning
+     * the class members.
+     *
+     * @return The provider methods. Never {@code null}. Must not be modified.
+     */
+    @NotNull
+    Method[] getProviderMethods() {
+        final Members members = getMembers();
+        Method[] methods = members.mProviderMethods;
+        if (methods == null) {
+            final InjectionMetadata injection = members.mInjection;
+            if (injection != null) {
+                methods = injection.getProviderMethods();
+            } else {
+                methods = ModuleIndex.getProviderMethods(getType());
+                if (methods == null) {
+                    methods = getInjection().getProviderMethods();
+                }
+            }
+            members.mProviderMethods = methods;
+        }
+        return methods;
+    }
+
+    /**
+     * Retrieves the declared constructors of the class.
+     *
+     * @return The constructors. Never {@code null}. Must not be modified.
+     */
+    @NotNull
+    Constructor<?>[] getDeclaredConstructors() {
+        final Members members = getMembers();
+        Constructor<?>[] constructors = members.mConstructors;
+        if (constructors == null) {
+            constructors = getType().getDeclaredConstructors();
+            members.mConstructors = constructors;
+        }
+        return constructors;
+    }
+
+    /**
+     * Retrieves the cache of the constructors selected for the parameter classes (see
+     * {@link Factory#get(Class, Object...)}).
+     *
+     * @return The cache. Never {@code null}.
+     */
+    @NotNull
+    SignatureCache<Constructor<?>> getParameterConstructors() {
+        final Members members = getMembers();
+        SignatureCache<Constructor<?>> parameterConstructors = members.mParameterConstructors;
+        if (parameterConstructors == null) {
+            synchronized (members) {
+                parameterConstructors = members.mParameterConstructors;
+                if (parameterConstructors == null) {
+                    parameterConstructors = new SignatureCache<>();
+                    members.mParameterConstructors = parameterConstructors;
+                }
+            }
+        }
+        return parameterConstructors;
+    }
+
+    /**
+     * Retrieves the parameters metadata of the constructor used to instantiate the class by the injection.
+     *
+     * @return If there is such a constructor (see {@link InjectionMetadata#getConstructor()}) then the parameters
+     * metadata else {@code null}.
+     */
+    @Nullable
+    ParametersMetadata getConstructorParameters() {
+        final Members members = getMembers();
+        ParametersMetadata constructorParameters = members.mConstructorParameters;
+        if (constructorParameters == null) {
+            final Constructor<?> constructor = getInjection().getConstructor();
+            if (constructor == null) {
+                return null;
+            }
+            constructorParameters = ParametersMetadata.of(constructor);
+            members.mConstructorParameters = constructorParameters;
+        }
+        return constructorParameters;
+    }
+
+    /**
+     * Retrieves the parameters metadata of the method declared by the class.
+     *
+     * @param method
+     *         The method. Never {@code null}.
+     * @return The parameters metadata. Never {@code null}.
+     */
+    @NotNull
+    ParametersMetadata getMethodParameters(@NotNull final Method method) {
+        final Members members = getMembers();
+        Map<Method, ParametersMetadata> methodParameters = members.mMethodParameters;
+        if (methodParameters == null) {
+            synchronized (members) {
+                methodParameters = members.mMethodParameters;
+                if (methodParameters == null) {
+                    methodParameters = new ConcurrentHashMap<>();
+                    members.mMethodParameters = methodParameters;
+                }
+            }
+        }
+        ParametersMetadata parameters = methodParameters.get(method);
+        if (parameters == null) {
+            parameters = ParametersMetadata.of(method);
+            methodParameters.put(method, parameters);
+        }
+        return parameters;
+    }
+
+    /**
+     * Sets the metadata cache to restore the injection metadata from.
+     * <p/>
+     * Only the injection metadata computed later are affected. From now on, the computed injection metadata are also
+     * recorded (to be saved to the metadata cache). Otherwise they are not, so the classes can be unloaded.
+     *
+     * @param store
+     *         The metadata cache. If {@code null} then the metadata are always found by scanning.
+     */
+    static void setStore(@Nullable final MetadataStore store) {
+        sStore = store;
+        sRecordInjections = true;
+    }
+
+    /**
+     * Retrieves all the injection metadata computed so far (to be saved to the metadata cache).
+     *
+     * @return The injection metadata. Never {@code null}.
+     */
+    @NotNull
+    static List<InjectionMetadata> getInjections() {
+        synchronized (sInjections) {
+            return new ArrayList<>(sInjections);
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Internals
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Retrieves the class of the metadata.
+     * <p/>
+     * The class is held weakly, but it cannot be collected while used: The metadata are only retrieved for the class
+     * at hand (see {@link #of(Class)}) or by the binder holding the class.
+     *
+     * @return The class. Never {@code null}.
+     */
+    @NotNull
+    private Class<?> getType() {
+        final Class<?> clazz = mClass.get();
+        if (clazz == null) {
+            throw new IllegalStateException("The class was unloaded");
+        }
+        return clazz;
+    }
+
+    /**
+     * Retrieves the cached reflective members of the class, creating them anew if not yet created (or if reclaimed by
+     * the garbage collector when held weakly).
+     *
+     * @return The members. Never {@code null}.
+     */
+    @NotNull
+    private Members getMembers() {
+        if (!mWeakMembers) {
+            Members members = mMembers;
+            if (members == null) {
+                synchronized (this) {
+                    members = mMembers;
+                    if (members == null) {
+                        members = new Members();
+                        mMembers = members;
+                    }
+                }
+            }
+            return members;
+        }
+        WeakReference<Members> reference = mMembersReference;
+        Members members = reference == null ? null : reference.get();
+        if (members == null) {
+            synchronized (this) {
+                reference = mMembersReference;
+                members = reference == null ? null : reference.get();
+                if (members == null) {
+                    members = new Members();
+                    mMembersReference = new WeakReference<>(members);
+                }
+            }
+        }
+        return members;
+    }
+
+    /**
+     * Scans the injection metadata of the class by the reflection, reporting it to the monitor.
+     *
+     * @return The injection metadata. Never {@code null}.
+     */
+    @NotNull
+    private InjectionMetadata scanInjection() {
+        final Class<?> clazz = getType();
+        final InjectionMonitor monitor = InjectionMonitor.current();
+        if (monitor == null) {
+            return InjectionMetadata.scan(clazz);
+        }
+        final Object context = monitor.metadataScanStarted(clazz);
+        try {
+            return InjectionMetadata.scan(clazz);
+        } finally {
+            monitor.metadataScanFinished(context);
+        }
+    }
+
+    /**
+     * Computes the primitive equivalent of the class.
+     *
+     * @param clazz
+     *         The class to compute the equivalent for. Never {@code null}.
+     * @return If there is any then the equivalent type else {@code null}.
+     */
+    @Nullable
+    private static Class<?> computePrimitiveEquivalent(@NotNull final Class<?> clazz) {
+        if (clazz.isPrimitive()) {
+            if (clazz == byte.class) {
+                return Byte.class;
+            }
+            if (clazz == short.class) {
+                return Short.class;
+            }
+            if (clazz == int.class) {
+                return Integer.class;
+            }
+            if (clazz == long.class) {
+                return Long.class;
+            }
+            if (clazz == float.class) {
+                return Float.class;
+            }
+            if (clazz == double.class) {
+                return Double.class;
+            }
+            if (clazz == boolean.class) {
+                return Boolean.class;
+            }
+            if (clazz == char.class) {
+                return Character.class;
+            }
+        } else {
+            if (clazz == Byte.class) {
+                return byte.class;
+            }
+            if (clazz == Short.class) {
+                return short.class;
+            }
+            if (clazz == Integer.class) {
+                return int.class;
+            }
+            if (clazz == Long.class) {
+                return long.class;
+            }
+            if (clazz == Float.class) {
+                return float.class;
+            }
+            if (clazz == Double.class) {
+                return double.class;
+            }
+            if (clazz == Boolean.class) {
+                return boolean.class;
+            }
+            if (clazz == Character.class) {
+                return char.class;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Computes whether the class is the qualifying annotation.
+     *
+     * @param clazz
+     *         The class to check. Never {@code null}.
+     * @return If the qualifying annotation then {@code true} else {@code false}.
+     */
+    private static boolean computeQualifier(@NotNull final Class<?> clazz) {
+        return clazz.isAnnotation() && clazz != Named.class && clazz != Inject.class && clazz != Singleton.class &&
+                clazz != NotNull.class && clazz != Nullable.class && clazz != Cached.class && clazz != Assisted.class;
+    }
+
+    /**
+     * Checks whether the class belongs to the platform (so it cannot have anything to inject).
+     *
+     * @param clazz
+     *         The class to check. Never {@code null}.
+     * @return If the platform class then {@code true} else {@code false}.
+     */
+    private static boolean isPlatformClass(@NotNull final Class<?> clazz) {
+        final String name = clazz.getName();
+        return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("android.");
+    }
+
+    /**
+     * Creates the registry suitable for the current runtime.
+     *
+     * @return The registry. Never {@code null}.
+     */
+    @NotNull
+    private static Registry createRegistry() {
+        try {
+            Class.forName("java.lang.ClassValue");
+            return new ClassValueRegistry();
+        } catch (ClassNotFoundException | LinkageError e) {
+            return new WeakMapRegistry();
+        }
+    }
+
+    /**
+     * The reflective members of the class (and the metadata built from them) computed on the first request.
+     * <p/>
+     * They all reference the class strongly, so they are held weakly when the class must not be kept loaded by the
+     * registry.
+     */
+    private static final class Members {
+
+        @Nullable volatile InjectionMetadata               mInjection;
+        @Nullable volatile InjectionPlan                   mInjectionPlan;
+        @Nullable volatile Method[]                        mProviderMethods;
+        @Nullable volatile Constructor<?>[]                mConstructors;
+        @Nullable volatile SignatureCache<Constructor<?>>  mParameterConstructors;
+        @Nullable volatile ParametersMetadata              mConstructorParameters;
+        @Nullable volatile Map<Method, ParametersMetadata> mMethodParameters;
+    }
+
+    /**
+     * The registry of the class metadata.
+     */
+    abstract static class Registry {
+
+        /**
+         * Retrieves (and computes if needed) the metadata of the class.
+         *
+         * @param clazz
+         *         The class to retrieve the metadata of. Never {@code null}.
+         * @return The metadata. Never {@code null}.
+         */
+        @NotNull
+        abstract ClassMetadata get(@NotNull final Class<?> clazz);
+    }
+
+    /**
+     * The registry backed by the {@link ClassValue}.
+     * <p/>
+     * The metadata are held by the class itself, so they can hold the class strongly.
+     */
+    static final class ClassValueRegistry extends Registry {
+
+        @NotNull private final ClassValue<ClassMetadata> mMetadata = new ClassValue<ClassMetadata>() {
+            @Override
+            protected ClassMetadata computeValue(final Class<?> type) {
+                return new ClassMetadata(type, false);
+            }
+        };
+
+        /**
+         * {@inheritDoc}
+         */
+        @NotNull
+        @Override
+        ClassMetadata get(@NotNull final Class<?> clazz) {
+            return mMetadata.get(clazz);
+        }
+    }
+
+    /**
+     * The registry backed by the weak map for the runtimes without the {@link ClassValue}.
+     * <p/>
+     * The map values must not hold the classes strongly (otherwise the entries never expire), so the metadata hold the
+     * class and its reflective members weakly. The reflective members are then scanned again when reclaimed.
+     */
+    static final class WeakMapRegistry extends Registry {
+
+        @NotNull private final Map<Class<?>, ClassMetadata> mMetadata = new WeakHashMap<>();
+
+        /**
+         * {@inheritDoc}
+         */
+        @NotNull
+        @Override
+        synchronized ClassMetadata get(@NotNull final Class<?> clazz) {
+            ClassMetadata metadata = mMetadata.get(clazz);
+            if (metadata == null) {
+                metadata = new ClassMetadata(clazz, true);
+                mMetadata.put(clazz, metadata);
+            }
+            return metadata;
+        }
+    }
+}
@@ -22,4 +22,16 @@ final class ErrorStrings {
     static final String PROVIDER_MUST_NOT_RETURN_VOID         = "Provider %s of module %s returns void";
     static final String PROVIDER_PARAMETERS_MISMATCH          = "Provider %s of module %s has different parameters than supplied";
     static final String FAILED_TO_CALL_PROVIDER               = "Failed to call the provider method %s on module %s";
+    static final String UNKNOWN_FUTURE_TYPE                   = "Cannot determine the result type of future %s";
+    static final String PRIMITIVE_TYPE_MISMATCH               = "Cannot bind value of %s to %s";
+    static final String INVALID_POOL_SIZE                     = "Invalid pool size %d";
+    static final String INVALID_CACHE_SIZE                    = "Invalid cache size %d";
+    static final String POOLED_SINGLETON                      = "Class %s cannot be both pooled and singleton";
+    static final String ASSISTED_FACTORY_NOT_INTERFACE        = "Assisted factory %s is not an interface";
+    static final String ASSISTED_RESULT_NOT_INSTANTIABLE      = "Assisted factory method %s returns not instantiable %s";
+    static final String LAZY_NOT_INTERFACE                    = "Lazy binding for %s must be requested by interface";
+    static final String LAZY_NOT_SINGLETON                    = "Lazy binding of class %s must be singleton";
+    static final String FAILED_TO_SAVE_METADATA_CACHE         = "Failed to save metadata cache to %s";
+    static final String NO_ASSISTED_CONSTRUCTOR               = "No constructor of class %s matches assisted factory method %s";
+    static final String CIRCULAR_DEPENDENCY                   = "Circular dependency %s";
 }
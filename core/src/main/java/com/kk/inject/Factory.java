@@ -1,27 +1,43 @@
 package com.kk.inject;
 
+import java.io.File;
+import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 /**
  * Factory for the dependency injection.
  */
 public class Factory {
 
-    @Nullable private static Factory                       sFactory;
-    @Nullable private static List<Class<? extends Module>> sModuleClasses;
+    @Nullable private static volatile Factory                       sFactory;
+    @Nullable private static          List<Class<? extends Module>> sModuleClasses;
+    @Nullable private static          ExecutorService               sDefaultExecutor;
 
-    @NotNull private final Map<BindingId, Binder> mBindings;
-    @NotNull private final List<Object>           mObjectsToInject;
-    @NotNull private final List<Object>           mInjectedObjects;
-    private                int                    mInjectionNestCounter;
+    @NotNull private           BindingTable        mBindings;
+    private                    boolean             mBindingsShared;
+    @NotNull private final     Map<Binder, Binder> mForkedBinders;
+    @NotNull private final     List<Object>        mObjectsToInject;
+    @NotNull private final     List<Object>        mInjectedObjects;
+    private                    int                 mInjectionNestCounter;
+    @Nullable private volatile Executor            mExecutor;
+    @Nullable private volatile ParallelResolver    mParallelResolver;
+    private volatile           int                 mBindingsVersion;
+    @Nullable private volatile InjectionLinks      mInjectionLinks;
+    private                    int                 mBinderCount;
+    private volatile           boolean             mHasAsyncProviders;
 
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -57,6 +73,60 @@ public class Factory {
         sModuleClasses.add(moduleClass);
     }
 
+    /**
+     * Loads the metadata cache saved by {@link #saveMetadataCache(File, String)}.
+     * <p/>
+     * The cache remembers which members of the classes are injected (and which module methods are providers), so
+     * they are not searched for again. Load it as early as possible - before creating the factory.
+     * <p/>
+     * The remembered members are looked up by their signatures, so the classes missing any of them are scanned again.
+     * However, the annotations or the members added are not detected, hence the cache is also keyed by the version
+     * (like the application version).
+     *
+     * @param file
+     *         The file to load the cache from. Never {@code null}.
+     * @param version
+     *         The version the cache must have been saved with. Never {@code null}.
+     * @return If loaded then {@code true} else (missing file, different version, corrupted file) {@code false}.
+     */
+    public static synchronized boolean loadMetadataCache(@NotNull final File file, @NotNull final String version) {
+        final MetadataStore store = MetadataStore.load(file, version);
+        ClassMetadata.setStore(store);
+        return store != null;
+    }
+
+    /**
+     * Saves the metadata of all the classes injected so far to the cache.
+     * <p/>
+     * Save it once the application started (so the metadata of the classes used for the start are collected). Only
+     * the classes injected since the cache was loaded (see {@link #loadMetadataCache(File, String)}) are saved, as the
+     * metadata are not retained otherwise.
+     *
+     * @param file
+     *         The file to save the cache to. Never {@code null}.
+     * @param version
+     *         The version to save the cache with. Never {@code null}.
+     * @throws InjectException
+     *         When failed to write the file.
+     */
+    public static synchronized void saveMetadataCache(@NotNull final File file, @NotNull final String version) {
+        try {
+            MetadataStore.save(file, version, ClassMetadata.getInjections());
+        } catch (IOException e) {
+            throw new InjectException(e, ErrorStrings.FAILED_TO_SAVE_METADATA_CACHE, file.getPath());
+        }
+    }
+
+    /**
+     * Installs the monitor of the injection work of all the factories (like for the profiling).
+     *
+     * @param monitor
+     *         The monitor. If {@code null} then the monitoring is stopped.
+     */
+    public static void setInjectionMonitor(@Nullable final InjectionMonitor monitor) {
+        InjectionMonitor.install(monitor);
+    }
+
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -71,20 +141,27 @@ public class Factory {
 
     /**
      * Retrieves the singleton factory instance.
+     * <p/>
+     * Once created, the singleton factory is retrieved with out locking, so the static methods below only lock the
+     * singleton factory itself (the same as its instance methods do), not the factory class.
      *
      * @return The singleton factory.
      */
-    public static synchronized Factory getSingleton() {
+    public static Factory getSingleton() {
         return getFactorySingleton();
     }
 
     /**
      * Resets the singleton instance of the factory.
+     * <p/>
+     * The next access creates the new singleton factory.
      */
     public static synchronized void resetSingletonFactory() {
-        if (sFactory != null) {
-            sFactory.reset();
+        final Factory factory = sFactory;
+        if (factory != null) {
+            // Unpublish first, so the concurrent callers do not get the factory being reset
             sFactory = null;
+            factory.reset();
         }
     }
 
@@ -94,7 +171,7 @@ public class Factory {
      * @param module
      *         The class of the module to register. Never {@code null}.
      */
-    public static synchronized void registerModule(@NotNull final Module module) {
+    public static void registerModule(@NotNull final Module module) {
         getFactorySingleton().register(module);
     }
 
@@ -113,10 +190,30 @@ public class Factory {
      *         signals the clear programming error (like missing suitable constructor).
      */
     @NotNull
-    public static synchronized <T> T getInstance(@NotNull final Class<T> clazz, @NotNull final Object... parameters) {
+    public static <T> T getInstance(@NotNull final Class<T> clazz, @NotNull final Object... parameters) {
         return getFactorySingleton().get(clazz, parameters);
     }
 
+    /**
+     * Ensures the instance of the specified class using the registered modules.
+     * <p/>
+     * It is the same as {@link #getInstance(Class, Object...)} with out parameters, just it does not allocate the
+     * parameters list.
+     *
+     * @param clazz
+     *         The class to instantiate. Never {@code null}.
+     * @param <T>
+     *         The class type to ensure the type safety by the compiler.
+     * @return The ensured instance. Never {@code null}.
+     * @throws InjectException
+     *         When there is a problem with the instance ensuring. It is a runtime exception as such a problem mostly
+     *         signals the clear programming error (like missing suitable constructor).
+     */
+    @NotNull
+    public static <T> T getInstance(@NotNull final Class<T> clazz) {
+        return getFactorySingleton().get(clazz);
+    }
+
     /**
      * Performs the injection on the object created other way than {@link #getInstance(Class, Object...)}.
      *
@@ -130,10 +227,25 @@ public class Factory {
      *         signals the clear programming error (like missing suitable constructor).
      */
     @NotNull
-    public static synchronized <T> T injectInstance(@NotNull final T objectToInject) {
+    public static <T> T injectInstance(@NotNull final T objectToInject) {
         return getFactorySingleton().inject(objectToInject);
     }
 
+    /**
+     * Releases the instance obtained by {@link #getInstance(Class, Object...)} back to its pool.
+     *
+     * @param clazz
+     *         The class which the instance was requested for. Never {@code null}.
+     * @param instance
+     *         The instance to release. Never {@code null}.
+     * @param <T>
+     *         The class type to ensure the type safety by the compiler.
+     * @return If the instance was put back to the pool then {@code true} else {@code false}.
+     */
+    public static <T> boolean releaseInstance(@NotNull final Class<T> clazz, @NotNull final T instance) {
+        return getFactorySingleton().release(clazz, instance);
+    }
+
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -159,17 +271,11 @@ public class Factory {
                 Module module;
                 try {
                     final Constructor<? extends Module> constructor = moduleClass.getConstructor();
-                    final boolean setAccessible = !constructor.isAccessible();
-                    if (setAccessible) {
+                    // The constructor object is a fresh copy, so it is just made accessible with out restoring it
+                    if (!constructor.isAccessible()) {
                         constructor.setAccessible(true);
                     }
-                    try {
-                        module = constructor.newInstance();
-                    } finally {
-                        if (setAccessible) {
-                            constructor.setAccessible(false);
-                        }
-                    }
+                    module = constructor.newInstance();
                 } catch (NoSuchMethodException e) {
                     throw new InjectException(e, ErrorStrings.COULD_NOT_CONSTRUCT_MODULE_OBJECT);
                 } catch (InvocationTargetException e) {
@@ -190,11 +296,43 @@ public class Factory {
      */
     public synchronized void reset() {
         throwWhenInjecting();
-        mBindings.clear();
+        mBindingsVersion++;
+        if (mBindingsShared) {
+            mBindings = new BindingTable();
+            mBindingsShared = false;
+        } else {
+            mBindings.clear();
+        }
+        synchronized (mForkedBinders) {
+            mForkedBinders.clear();
+        }
         mObjectsToInject.clear();
         mInjectedObjects.clear();
     }
 
+    /**
+     * Forks the factory.
+     * <p/>
+     * The forked factory has the same bindings as this one, but it creates its own instances (like the singletons).
+     * It is cheap to create: the bindings are not copied until either of the factories changes them (then only that
+     * factory copies them) and the binders are only copied when used by the fork. The bindings defined after the fork
+     * are specific to the factory they were defined for.
+     * <p/>
+     * It is meant for the many near identical factories (like per tenant): set up the template factory once and fork
+     * it per tenant (overriding the specific bindings if needed).
+     * <p/>
+     * <dl><dt><b>Attention:</b></dt><dd>The module objects are shared by the forks, so their provider methods are
+     * invoked by all of them.</dd></dl>
+     *
+     * @return The forked factory. Never {@code null}.
+     */
+    @NotNull
+    public synchronized Factory fork() {
+        throwWhenInjecting();
+        mBindingsShared = true;
+        return new Factory(this);
+    }
+
     /**
      * Creates the builder to define the single binding out of any module.
      *
@@ -235,25 +373,260 @@ public class Factory {
      *         signals the clear programming error (like missing suitable constructor).
      */
     @NotNull
-    public synchronized <T> T get(@NotNull final Class<T> clazz, @NotNull final Object... parameters) {
+    public <T> T get(@NotNull final Class<T> clazz, @NotNull final Object... parameters) {
         final BindingId bindingId = new BindingId(clazz, null, null);
+        final Binder<T> binder;
+        final boolean nested;
+        // The factory is locked just to locate the binder, the resolution locks it again (see resolve())
+        synchronized (this) {
+            binder = locateBinder(bindingId, true);
+            nested = mInjectionNestCounter > 0;
+        }
+        final InjectionMonitor monitor = InjectionMonitor.current();
+        if (monitor != null && !nested) {
+            return resolveMonitored(monitor, bindingId, binder, parameters);
+        }
+        return resolve(binder, parameters);
+    }
+
+    /**
+     * Ensures the instance of the specified class using the registered modules.
+     * <p/>
+     * It is the same as {@link #get(Class, Object...)} with out parameters, just it does not allocate the parameters
+     * list. Nor the binding ID, and the bound instances (see {@link BindingBuilderManual#thenReturn(Object)}) are
+     * returned directly, so retrieving them allocates nothing.
+     *
+     * @param clazz
+     *         The class to instantiate. Never {@code null}.
+     * @param <T>
+     *         The class type to ensure the type safety by the compiler.
+     * @return The ensured instance. Never {@code null}.
+     * @throws InjectException
+     *         When there is a problem with the instance ensuring. It is a runtime exception as such a problem mostly
+     *         signals the clear programming error (like missing suitable constructor).
+     */
+    @NotNull
+    public <T> T get(@NotNull final Class<T> clazz) {
+        final Binder<T> binder;
+        final boolean nested;
+        synchronized (this) {
+            binder = locateBinder(clazz, null);
+            nested = mInjectionNestCounter > 0;
+        }
+        final InjectionMonitor monitor = InjectionMonitor.current();
+        if (monitor != null && !nested) {
+            return resolveMonitored(monitor, new BindingId(clazz, null, null), binder, Binder.NO_PARAMETERS);
+        }
+        if (binder instanceof BinderSingleton) {
+            // The bound instance needs no injections
+            return binder.get(Binder.NO_PARAMETERS);
+        }
+        return resolve(binder, Binder.NO_PARAMETERS);
+    }
+
+    /**
+     * Creates the handle of the binding of the specified class, for the callers resolving it repeatedly.
+     * <p/>
+     * The handle resolves the same instances as {@link #get(Class, Object...)}, just with out looking up the binding
+     * again unless the bindings of the factory changed meanwhile.
+     *
+     * @param clazz
+     *         The class of the binding. Never {@code null}.
+     * @param <T>
+     *         The class type to ensure the type safety by the compiler.
+     * @return The handle. Never {@code null}.
+     * @throws InjectException
+     *         When there is no binding for the class.
+     */
+    @NotNull
+    public <T> BindingHandle<T> handle(@NotNull final Class<T> clazz) {
+        return handle(clazz, null, null);
+    }
+
+    /**
+     * Creates the handle of the named or qualified binding of the specified class, for the callers resolving it
+     * repeatedly.
+     *
+     * @param clazz
+     *         The class of the binding. Never {@code null}.
+     * @param name
+     *         The name of the binding - see the {@link Named} annotation. Can be {@code null}.
+     * @param qualifier
+     *         The qualifier annotation of the binding - see {@link BindingBuilderManual#ifAnnotatedWith(Class)}. Can be
+     *         {@code null}.
+     * @param <T>
+     *         The class type to ensure the type safety by the compiler.
+     * @return The handle. Never {@code null}.
+     * @throws InjectException
+     *         When there is no such binding.
+     */
+    @NotNull
+    public synchronized <T> BindingHandle<T> handle(@NotNull final Class<T> clazz,
+                                                    @Nullable final String name,
+                                                    @Nullable final Class<? extends Annotation> qualifier) {
+        final BindingId bindingId = new BindingId(clazz, name, qualifier);
         final Binder<T> binder = locateBinder(bindingId, true);
-        if (mInjectionNestCounter <= 0) {
-            mInjectedObjects.clear();
-            mObjectsToInject.clear();
+        return new BindingHandle<>(this, bindingId, binder, mBindingsVersion);
+    }
+
+    /**
+     * Retrieves the byte value bound to the specified name.
+     * <p/>
+     * The values bound by {@link BindingBuilderManual#thenReturnByte(byte)} (or by
+     * {@link BindingBuilderManual#thenReturn(Object)}) are retrieved without any boxing.
+     *
+     * @param name
+     *         The name the value is bound to - see the {@link Named} annotation. Can be {@code null}.
+     * @return The value.
+     * @throws InjectException
+     *         When there is no binding for the value.
+     */
+    public byte getByte(@Nullable final String name) {
+        final Object value = resolvePrimitive(byte.class, name);
+        if (value instanceof BinderPrimitive) {
+            return ((BinderPrimitive<?>) value).getByte();
         }
-        mInjectionNestCounter++;
-        try {
-            T result = binder.get(parameters);
-            injectAll();
-            return result;
-        } finally {
-            mInjectionNestCounter--;
-            if (mInjectionNestCounter <= 0) {
-                mInjectedObjects.clear();
-                mObjectsToInject.clear();
-            }
+        return ((Number) value).byteValue();
+    }
+
+    /**
+     * Retrieves the short value bound to the specified name.
+     * <p/>
+     * The values bound by {@link BindingBuilderManual#thenReturnShort(short)} (or by
+     * {@link BindingBuilderManual#thenReturn(Object)}) are retrieved without any boxing.
+     *
+     * @param name
+     *         The name the value is bound to - see the {@link Named} annotation. Can be {@code null}.
+     * @return The value.
+     * @throws InjectException
+     *         When there is no binding for the value.
+     */
+    public short getShort(@Nullable final String name) {
+        final Object value = resolvePrimitive(short.class, name);
+        if (value instanceof BinderPrimitive) {
+            return ((BinderPrimitive<?>) value).getShort();
+        }
+        return ((Number) value).shortValue();
+    }
+
+    /**
+     * Retrieves the int value bound to the specified name.
+     * <p/>
+     * The values bound by {@link BindingBuilderManual#thenReturnInt(int)} (or by
+     * {@link BindingBuilderManual#thenReturn(Object)}) are retrieved without any boxing.
+     *
+     * @param name
+     *         The name the value is bound to - see the {@link Named} annotation. Can be {@code null}.
+     * @return The value.
+     * @throws InjectException
+     *         When there is no binding for the value.
+     */
+    public int getInt(@Nullable final String name) {
+        final Object value = resolvePrimitive(int.class, name);
+        if (value instanceof BinderPrimitive) {
+            return ((BinderPrimitive<?>) value).getInt();
+        }
+        return ((Number) value).intValue();
+    }
+
+    /**
+     * Retrieves the long value bound to the specified name.
+     * <p/>
+     * The values bound by {@link BindingBuilderManual#thenReturnLong(long)} (or by
+     * {@link BindingBuilderManual#thenReturn(Object)}) are retrieved without any boxing.
+     *
+     * @param name
+     *         The name the value is bound to - see the {@link Named} annotation. Can be {@code null}.
+     * @return The value.
+     * @throws InjectException
+     *         When there is no binding for the value.
+     */
+    public long getLong(@Nullable final String name) {
+        final Object value = resolvePrimitive(long.class, name);
+        if (value instanceof BinderPrimitive) {
+            return ((BinderPrimitive<?>) value).getLong();
+        }
+        return ((Number) value).longValue();
+    }
+
+    /**
+     * Retrieves the float value bound to the specified name.
+     * <p/>
+     * The values bound by {@link BindingBuilderManual#thenReturnFloat(float)} (or by
+     * {@link BindingBuilderManual#thenReturn(Object)}) are retrieved without any boxing.
+     *
+     * @param name
+     *         The name the value is bound to - see the {@link Named} annotation. Can be {@code null}.
+     * @return The value.
+     * @throws InjectException
+     *         When there is no binding for the value.
+     */
+    public float getFloat(@Nullable final String name) {
+        final Object value = resolvePrimitive(float.class, name);
+        if (value instanceof BinderPrimitive) {
+            return ((BinderPrimitive<?>) value).getFloat();
+        }
+        return ((Number) value).floatValue();
+    }
+
+    /**
+     * Retrieves the double value bound to the specified name.
+     * <p/>
+     * The values bound by {@link BindingBuilderManual#thenReturnDouble(double)} (or by
+     * {@link BindingBuilderManual#thenReturn(Object)}) are retrieved without any boxing.
+     *
+     * @param name
+     *         The name the value is bound to - see the {@link Named} annotation. Can be {@code null}.
+     * @return The value.
+     * @throws InjectException
+     *         When there is no binding for the value.
+     */
+    public double getDouble(@Nullable final String name) {
+        final Object value = resolvePrimitive(double.class, name);
+        if (value instanceof BinderPrimitive) {
+            return ((BinderPrimitive<?>) value).getDouble();
+        }
+        return ((Number) value).doubleValue();
+    }
+
+    /**
+     * Retrieves the boolean value bound to the specified name.
+     * <p/>
+     * The values bound by {@link BindingBuilderManual#thenReturnBoolean(boolean)} (or by
+     * {@link BindingBuilderManual#thenReturn(Object)}) are retrieved without any boxing.
+     *
+     * @param name
+     *         The name the value is bound to - see the {@link Named} annotation. Can be {@code null}.
+     * @return The value.
+     * @throws InjectException
+     *         When there is no binding for the value.
+     */
+    public boolean getBoolean(@Nullable final String name) {
+        final Object value = resolvePrimitive(boolean.class, name);
+        if (value instanceof BinderPrimitive) {
+            return ((BinderPrimitive<?>) value).getBoolean();
+        }
+        return (Boolean) value;
+    }
+
+    /**
+     * Retrieves the char value bound to the specified name.
+     * <p/>
+     * The values bound by {@link BindingBuilderManual#thenReturnChar(char)} (or by
+     * {@link BindingBuilderManual#thenReturn(Object)}) are retrieved without any boxing.
+     *
+     * @param name
+     *         The name the value is bound to - see the {@link Named} annotation. Can be {@code null}.
+     * @return The value.
+     * @throws InjectException
+     *         When there is no binding for the value.
+     */
+    public char getChar(@Nullable final String name) {
+        final Object value = resolvePrimitive(char.class, name);
+        if (value instanceof BinderPrimitive) {
+            return ((BinderPrimitive<?>) value).getChar();
         }
+        return (Character) value;
     }
 
     /**
@@ -270,22 +643,196 @@ public class Factory {
      */
     @NotNull
     public synchronized <T> T inject(@NotNull final T objectToInject) {
-        if (mInjectionNestCounter <= 0) {
-            mInjectedObjects.clear();
-            mObjectsToInject.clear();
-        }
-        mInjectionNestCounter++;
+        beginInjection();
         try {
             mObjectsToInject.add(objectToInject);
             injectAll();
             return objectToInject;
         } finally {
-            mInjectionNestCounter--;
-            if (mInjectionNestCounter <= 0) {
-                mInjectedObjects.clear();
-                mObjectsToInject.clear();
-            }
+            endInjection();
+        }
+    }
+
+    /**
+     * Ensures the instance of the specified class asynchronously.
+     * <p/>
+     * The instances served by the module provider methods are provided at the factory executor (see
+     * {@link #setExecutor(Executor)}), so the independent slow providers run concurrently. If the provider method
+     * itself returns the {@link Future} then that future is awaited. Other instances are ensured as by
+     * {@link #get(Class, Object...)} at the factory executor.
+     *
+     * @param clazz
+     *         The class to instantiate. Never {@code null}.
+     * @param <T>
+     *         The class type to ensure the type safety by the compiler.
+     * @return The future of the ensured instance. Never {@code null}.
+     * @throws InjectException
+     *         When there is no binding for the class.
+     */
+    @NotNull
+    public synchronized <T> Future<T> getAsync(@NotNull final Class<T> clazz) {
+        final BindingId bindingId = new BindingId(clazz, null, null);
+        final Binder<T> binder = locateBinder(bindingId, true);
+        beginInjection();
+        try {
+            final Future<T> result = binder.getAsync();
+            injectAll();
+            return result;
+        } finally {
+            endInjection();
+        }
+    }
+
+    /**
+     * Sets the executor used for the asynchronous work of the factory (like refreshing the stale cached instances).
+     *
+     * @param executor
+     *         The executor to use. If {@code null} then the default one (shared by all factories) is used.
+     */
+    public synchronized void setExecutor(@Nullable final Executor executor) {
+        mExecutor = executor;
+    }
+
+    /**
+     * Enables or disables the parallel resolution.
+     * <p/>
+     * When enabled, the independent constructor/method parameters which need to be instantiated are resolved
+     * concurrently at the fork-join pool. It pays off when the parameters are slow to construct.
+     * <p/>
+     * <dl><dt><b>Attention:</b></dt><dd>The constructors and providers reached by the parallel resolution run at the
+     * worker threads, so they must not call the factory themselves!</dd></dl>
+     *
+     * @param enabled
+     *         Pass {@code true} to enable the parallel resolution or {@code false} to disable it.
+     */
+    public synchronized void setParallelResolution(final boolean enabled) {
+        throwWhenInjecting();
+        if (enabled && mParallelResolver == null) {
+            mParallelResolver = new ParallelResolver(this);
+        } else if (!enabled) {
+            mParallelResolver = null;
+        }
+    }
+
+    /**
+     * Releases the instance obtained by {@link #get(Class, Object...)} back to its pool.
+     * <p/>
+     * Only the bindings marked as {@link BindingBuilderManual#pooled(int) pooled} recycle the instances. For all other
+     * bindings (or when the pool is already full) the instance is just left to the garbage collector. The instance
+     * not obtained from the pooled binding (or already released) is ignored.
+     *
+     * @param clazz
+     *         The class which the instance was requested for. Never {@code null}.
+     * @param instance
+     *         The instance to release. Never {@code null}.
+     * @param <T>
+     *         The class type to ensure the type safety by the compiler.
+     * @return If the instance was put back to the pool then {@code true} else {@code false}.
+     * @throws InjectException
+     *         When there is no binding for the class.
+     */
+    public <T> boolean release(@NotNull final Class<T> clazz, @NotNull final T instance) {
+        return release(clazz, null, null, instance);
+    }
+
+    /**
+     * Releases the instance obtained from the named or qualified binding back to its pool.
+     * <p/>
+     * See {@link #release(Class, Object)}.
+     *
+     * @param clazz
+     *         The class which the instance was requested for. Never {@code null}.
+     * @param name
+     *         The name of the binding - see the {@link Named} annotation. Can be {@code null}.
+     * @param qualifier
+     *         The qualifier annotation of the binding - see {@link BindingBuilderManual#ifAnnotatedWith(Class)}. Can be
+     *         {@code null}.
+     * @param instance
+     *         The instance to release. Never {@code null}.
+     * @param <T>
+     *         The class type to ensure the type safety by the compiler.
+     * @return If the instance was put back to the pool then {@code true} else {@code false}.
+     * @throws InjectException
+     *         When there is no such binding.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <T> boolean release(@NotNull final Class<T> clazz,
+                                            @Nullable final String name,
+                                            @Nullable final Class<? extends Annotation> qualifier,
+                                            @NotNull final T instance) {
+        final Binder<T> binder = locateBinder(new BindingId(clazz, name, qualifier), true);
+        return binder instanceof BinderPooled && ((BinderPooled<T>) binder).release(instance);
+    }
+
+    /**
+     * Retrieves the statistics of the pooled binding.
+     *
+     * @param clazz
+     *         The class which the binding is defined for. Never {@code null}.
+     * @return The statistics snapshot or {@code null} if the binding is not pooled.
+     * @throws InjectException
+     *         When there is no binding for the class.
+     */
+    @Nullable
+    public PoolStatistics getPoolStatistics(@NotNull final Class<?> clazz) {
+        return getPoolStatistics(clazz, null, null);
+    }
+
+    /**
+     * Retrieves the statistics of the named or qualified pooled binding.
+     *
+     * @param clazz
+     *         The class which the binding is defined for. Never {@code null}.
+     * @param name
+     *         The name of the binding - see the {@link Named} annotation. Can be {@code null}.
+     * @param qualifier
+     *         The qualifier annotation of the binding - see {@link BindingBuilderManual#ifAnnotatedWith(Class)}. Can be
+     *         {@code null}.
+     * @return The statistics snapshot or {@code null} if the binding is not pooled.
+     * @throws InjectException
+     *         When there is no such binding.
+     */
+    @Nullable
+    public synchronized PoolStatistics getPoolStatistics(@NotNull final Class<?> clazz,
+                                                         @Nullable final String name,
+                                                         @Nullable final Class<? extends Annotation> qualifier) {
+        final Binder<?> binder = locateBinder(new BindingId(clazz, name, qualifier), true);
+        if (binder instanceof BinderPooled) {
+            return ((BinderPooled<?>) binder).getStatistics();
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves how many times the softly or weakly held singleton was instantiated again after being reclaimed by the
+     * garbage collector.
+     *
+     * @param clazz
+     *         The class which the binding is defined for. Never {@code null}.
+     * @return The rebuild count. Always zero for other than softly or weakly held singletons.
+     * @throws InjectException
+     *         When there is no binding for the class.
+     */
+    public synchronized int getRebuildCount(@NotNull final Class<?> clazz) {
+        final Binder<?> binder = locateBinder(new BindingId(clazz, null, null), true);
+        if (binder instanceof BinderInstantiate) {
+            return ((BinderInstantiate<?>) binder).getRebuildCount();
         }
+        return 0;
+    }
+
+    /**
+     * Estimates the memory footprint of the bindings of the factory (the binding table and the binders, not the
+     * instances held by them).
+     * <p/>
+     * The forked factory reports the bindings shared with its template (its copies of the binders are of the same
+     * size).
+     *
+     * @return The report snapshot. Never {@code null}.
+     */
+    @NotNull
+    public synchronized MemoryReport memoryReport() {
+        return MemoryReport.of(mBindings);
     }
 
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -306,11 +853,40 @@ public class Factory {
      * @return The factory singleton. Never {@code null}.
      */
     @NotNull
-    private static synchronized Factory getFactorySingleton() {
-        if (sFactory == null) {
-            sFactory = createFactory();
+    private static Factory getFactorySingleton() {
+        // Once created, read with out the class lock
+        final Factory factory = sFactory;
+        if (factory != null) {
+            return factory;
+        }
+        synchronized (Factory.class) {
+            if (sFactory == null) {
+                sFactory = createFactory();
+            }
+            return sFactory;
+        }
+    }
+
+    /**
+     * Ensures the default executor shared by all factories.
+     * <p/>
+     * It runs the tasks at the daemon threads, so it never prevents the application from exiting.
+     *
+     * @return The default executor. Never {@code null}.
+     */
+    @NotNull
+    private static synchronized Executor getDefaultExecutor() {
+        if (sDefaultExecutor == null) {
+            sDefaultExecutor = Executors.newCachedThreadPool(new ThreadFactory() {
+                @Override
+                public Thread newThread(@NotNull final Runnable runnable) {
+                    final Thread thread = new Thread(runnable, "KkInject");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
         }
-        return sFactory;
+        return sDefaultExecutor;
     }
 
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -325,6 +901,124 @@ public class Factory {
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
+    /**
+     * Ensures the instance using the specified binder and then performs all pending injections.
+     *
+     * @param binder
+     *         The binder to ensure the instance by. Never {@code null}.
+     * @param <T>
+     *         The class type to ensure the type safety by the compiler.
+     * @return The ensured instance. Never {@code null}.
+     * @throws InjectException
+     *         When there is a problem with the instance ensuring. It is a runtime exception as such a problem mostly
+     *         signals the clear programming error (like missing suitable constructor).
+     */
+    @NotNull
+    <T> T resolve(@NotNull final Binder<T> binder) {
+        return resolve(binder, Binder.NO_PARAMETERS);
+    }
+
+    /**
+     * Ensures the instance using the specified binder and then performs all pending injections.
+     *
+     * @param binder
+     *         The binder to ensure the instance by. Never {@code null}.
+     * @param parameters
+     *         The optional parameters to be passed to the newly created instance. Can be missing.
+     * @param <T>
+     *         The class type to ensure the type safety by the compiler.
+     * @return The ensured instance. Never {@code null}.
+     * @throws InjectException
+     *         When there is a problem with the instance ensuring. It is a runtime exception as such a problem mostly
+     *         signals the clear programming error (like missing suitable constructor).
+     */
+    @NotNull
+    <T> T resolve(@NotNull final Binder<T> binder, @NotNull final Object... parameters) {
+        // The asynchronous providers are awaited before locking the factory, unless it is already locked by the caller
+        if (!mHasAsyncProviders || parameters.length > 0 || Thread.holdsLock(this)) {
+            return resolveLocked(binder, parameters);
+        }
+        final AsyncProviders asyncProviders;
+        synchronized (this) {
+            beginInjection();
+            try {
+                asyncProviders = AsyncProviders.start(this, binder);
+                injectAll();
+            } finally {
+                endInjection();
+            }
+        }
+        asyncProviders.await();
+        asyncProviders.install();
+        try {
+            return resolveLocked(binder, parameters);
+        } finally {
+            asyncProviders.uninstall();
+        }
+    }
+
+    /**
+     * Ensures the instance using the binder of the handle and then performs all pending injections.
+     * <p/>
+     * The binder is located again only when the bindings changed since it was located last.
+     *
+     * @param handle
+     *         The handle. Never {@code null}.
+     * @param parameters
+     *         The optional parameters to be passed to the newly created instance. Can be missing.
+     * @param <T>
+     *         The class type to ensure the type safety by the compiler.
+     * @return The ensured instance. Never {@code null}.
+     * @throws InjectException
+     *         When there is a problem with the instance ensuring.
+     */
+    @NotNull
+    <T> T resolveHandle(@NotNull final BindingHandle<T> handle, @NotNull final Object... parameters) {
+        Binder<T> binder;
+        final boolean nested;
+        synchronized (this) {
+            binder = handle.mBinder;
+            if (binder == null || handle.mBindingsVersion != mBindingsVersion) {
+                handle.mBinder = null;
+                binder = locateBinder(handle.mBindingId, true);
+                handle.mBinder = binder;
+                handle.mBindingsVersion = mBindingsVersion;
+            }
+            nested = mInjectionNestCounter > 0;
+        }
+        final InjectionMonitor monitor = InjectionMonitor.current();
+        if (monitor != null && !nested) {
+            return resolveMonitored(monitor, handle.mBindingId, binder, parameters);
+        }
+        if (binder instanceof BinderSingleton) {
+            // The bound instance needs no injections
+            return binder.get(parameters);
+        }
+        return resolve(binder, parameters);
+    }
+
+    /**
+     * Retrieves the executor for the asynchronous work of the factory.
+     *
+     * @return The executor. Never {@code null}.
+     */
+    @NotNull
+    Executor getExecutor() {
+        final Executor executor = mExecutor;
+        if (executor != null) {
+            return executor;
+        }
+        return getDefaultExecutor();
+    }
+
+    /**
+     * Records the asynchronous provider was bound, so the resolution awaits such providers before locking the factory
+     * (see {@link AsyncProviders}).
+     */
+    void addAsyncProvider() {
+        mHasAsyncProviders = true;
+    }
+
     /**
      * Adds binding. If such a binding already exists then silently replaces it.
      *
@@ -334,75 +1028,131 @@ public class Factory {
      *         The binding implementation. Never {@code null}.
      */
     void addBinding(@NotNull final BindingId bindingId, @NotNull final Binder binding) {
+        mBindingsVersion++;
+        if (mBindingsShared) {
+            mBindings = new BindingTable(mBindings);
+            mBindingsShared = false;
+        }
         mBindings.put(bindingId, binding);
-        final BindingId primitiveEquivalentBindingId = bindingId.getPrimitiveEquivalent();
-        if (primitiveEquivalentBindingId != null) {
-            mBindings.put(primitiveEquivalentBindingId, binding);
+    }
+
+    /**
+     * Retrieves the copy of the binder owned by other factory (the one this factory was forked from).
+     * <p/>
+     * Every binder is only copied once, so the binder shared by multiple bindings is shared by them in this factory
+     * too.
+     *
+     * @param binder
+     *         The binder. Never {@code null}.
+     * @param <T>
+     *         The class type to ensure the type safety by the compiler.
+     * @return If the binder belongs to this factory then the same binder else its copy. Never {@code null}.
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    <T> Binder<T> forkBinder(@NotNull final Binder<T> binder) {
+        if (binder.mFactory == this) {
+            return binder;
+        }
+        // Can be called by the parallel resolution workers, so guarded by its own lock
+        synchronized (mForkedBinders) {
+            Binder<T> forked = mForkedBinders.get(binder);
+            if (forked == null) {
+                forked = binder.fork(this);
+                mForkedBinders.put(binder, forked);
+            }
+            return forked;
         }
     }
 
     /**
-     * Collects the array of parameters for constructor/method invocation by injection from types and annotations.
+     * Collects the array of parameters for constructor/method invocation by injection from the parameters metadata.
      *
-     * @param parameterTypes
-     *         The required parameters types. If {@code null} then no parameters.
-     * @param parametersAnnotations
-     *         The optional annotations detailing the injection process. Can be {@code null}.
-     * @return The array of injected parameters. If no parameters ({@code parameterTypes} is null or zero length) then
-     * {@code null}.
+     * @param parameters
+     *         The parameters metadata. Never {@code null}.
+     * @return The array of injected parameters. If no parameters then {@code null}.
      */
     @Nullable
-    Object[] collectParametersToInject(@Nullable final Class<?>[] parameterTypes,
-                                       @Nullable final Annotation[][] parametersAnnotations) {
-        if (parameterTypes != null && parameterTypes.length > 0) {
-            final Object[] result = new Object[parameterTypes.length];
-            for (int index = 0; index < parameterTypes.length; index++) {
-                final Class<?> parameterType = parameterTypes[index];
-                final Annotation[] parameterAnnotations;
-                if (parametersAnnotations == null) {
-                    parameterAnnotations = null;
-                } else {
-                    parameterAnnotations = parametersAnnotations[index];
-                }
-                result[index] = collectParameterToInject(parameterType, parameterAnnotations);
-            }
-            return result;
+    Object[] collectParametersToInject(@NotNull final ParametersMetadata parameters) {
+        final InjectionPoint[] injectionPoints = parameters.getInjectionPoints();
+        if (injectionPoints.length == 0) {
+            return null;
         }
-        return null;
+        if (mParallelResolver != null && injectionPoints.length > 1) {
+            return mParallelResolver.collectParametersToInject(injectionPoints);
+        }
+        return ResolutionEngine.collect(this, injectionPoints, null);
     }
 
     /**
-     * Collects the parameter for constructor/method/field injection from types and annotations.
+     * Locates the binder for the injection point.
+     * <p/>
+     * The binder is linked to the injection point (by the factory, so the factories used alternately keep their
+     * links), so the qualifying annotations are only probed again once the bindings change.
      *
-     * @param parameterType
-     *         The required parameter type. Never {@code null}.
-     * @param parameterAnnotations
-     *         The optional annotations detailing the injection process. Can be {@code null}.
-     * @return The injected parameters. Never {@code null}.
+     * @param injectionPoint
+     *         The injection point. Never {@code null}.
+     * @return The located binder. Never {@code null}.
+     * @throws InjectException
+     *         When no binding found.
      */
     @NotNull
-    Object collectParameterToInject(@NotNull final Class<?> parameterType,
-                                    @Nullable final Annotation[] parameterAnnotations) {
-        // Shall consider annotations?
-        String name = null;
-        if (parameterAnnotations != null && parameterAnnotations.length > 0) {
-            // Extract name from the annotation (if any)
-            name = Utils.extractNameFromAnnotations(parameterAnnotations);
-            // Go through all other annotations and try to locate the binding for it
-            for (final Annotation annotation : parameterAnnotations) {
-                if (Utils.useAnnotationForBinding(annotation)) {
-                    final BindingId bindingId = new BindingId(parameterType, name, annotation.annotationType());
-                    final Binder binder = locateBinder(bindingId, false);
-                    if (binder != null) {
-                        return binder.get();
-                    }
-                }
+    Binder<?> locateParameterBinder(@NotNull final InjectionPoint injectionPoint) {
+        // The version is taken first, so the bindings changed meanwhile are detected the next time
+        final int bindingsVersion = mBindingsVersion;
+        InjectionLinks links = mInjectionLinks;
+        if (links != null && links.isValid(bindingsVersion)) {
+            final Binder<?> linked = links.get(injectionPoint);
+            if (linked != null) {
+                return linked;
             }
+        } else {
+            links = new InjectionLinks(bindingsVersion);
+            mInjectionLinks = links;
+        }
+        final BindingId[] bindingIds = injectionPoint.getBindingIds();
+        final int last = bindingIds.length - 1;
+        Binder<?> binder = null;
+        for (int index = 0; index < last && binder == null; index++) {
+            binder = locateBinder(bindingIds[index], false);
         }
-        // Try binding without any annotations
-        final BindingId bindingId = new BindingId(parameterType, name, null);
-        final Binder binder = locateBinder(bindingId, true);
-        return binder.get();
+        if (binder == null) {
+            binder = locateBinder(bindingIds[last], true);
+        }
+        links.put(injectionPoint, binder);
+        return binder;
+    }
+
+    /**
+     * Assigns the index to the new binder of this factory.
+     * <p/>
+     * The index only speeds up the detection of the circular dependencies (see {@link ResolutionPath}), the binders
+     * with the same index just cost the scan of the resolution path. So it is not guarded against the binders being
+     * created concurrently (like copied for the fork by the parallel resolution).
+     *
+     * @return The index.
+     */
+    int nextBinderIndex() {
+        return mBinderCount++;
+    }
+
+    /**
+     * Retrieves the version of the bindings. It changes whenever any binding is added or the factory is reset, so
+     * the binders located before can be reused until the version changes.
+     *
+     * @return The version.
+     */
+    int getBindingsVersion() {
+        return mBindingsVersion;
+    }
+
+    /**
+     * Checks whether the parallel resolution is enabled.
+     *
+     * @return If enabled then {@code true} else {@code false}.
+     */
+    boolean isParallelResolution() {
+        return mParallelResolver != null;
     }
 
     /**
@@ -412,13 +1162,18 @@ public class Factory {
      *         The object to be injected. Never {@code null}.
      */
     void injectObject(@NotNull Object objectToInject) {
-        for (final Object object : mObjectsToInject) {
-            if (objectToInject == object) {
+        final ParallelResolver parallelResolver = mParallelResolver;
+        if (parallelResolver != null && parallelResolver.recordObjectToInject(objectToInject)) {
+            return;
+        }
+        // Indexed, so no iterators are allocated
+        for (int index = 0; index < mObjectsToInject.size(); index++) {
+            if (objectToInject == mObjectsToInject.get(index)) {
                 return;
             }
         }
-        for (final Object object : mInjectedObjects) {
-            if (objectToInject == object) {
+        for (int index = 0; index < mInjectedObjects.size(); index++) {
+            if (objectToInject == mInjectedObjects.get(index)) {
                 return;
             }
         }
@@ -441,15 +1196,39 @@ public class Factory {
      * Prevents direct instantiation.
      */
     private Factory() {
-        mBindings = new HashMap<>();
+        mBindings = new BindingTable();
+        mBindingsShared = false;
+        mForkedBinders = new IdentityHashMap<>(4);
         mObjectsToInject = new ArrayList<>();
         mInjectedObjects = new ArrayList<>();
         mInjectionNestCounter = 0;
         new BindingBuilderManual<>(this, Factory.class).thenReturn(this);
     }
 
+    /**
+     * Forks the factory.
+     *
+     * @param template
+     *         The factory to fork. Its bindings are shared (see {@link #fork()}). Never {@code null}.
+     */
+    private Factory(@NotNull final Factory template) {
+        mBindings = template.mBindings;
+        mBindingsShared = true;
+        mForkedBinders = new IdentityHashMap<>(4);
+        mObjectsToInject = new ArrayList<>();
+        mInjectedObjects = new ArrayList<>();
+        mInjectionNestCounter = 0;
+        mExecutor = template.mExecutor;
+        mHasAsyncProviders = template.mHasAsyncProviders;
+        if (template.mParallelResolver != null) {
+            mParallelResolver = new ParallelResolver(this);
+        }
+    }
+
     /**
      * Locates the binder for the specified binding ID.
+     * <p/>
+     * The binders shared with the factory this factory was forked from are copied on the first use.
      *
      * @param bindingId
      *         The binding ID to locate. Never {@code null}.
@@ -462,11 +1241,139 @@ public class Factory {
     @Nullable
     @SuppressWarnings("unchecked")
     private <T> Binder<T> locateBinder(@NotNull final BindingId bindingId, final boolean throwException) {
-        final Binder<T> result = mBindings.get(bindingId);
-        if (result == null && throwException) {
-            throw new InjectException(ErrorStrings.NO_BINDER, bindingId.toString());
+        final Binder<T> result = (Binder<T>) mBindings.get(bindingId);
+        if (result == null) {
+            if (throwException) {
+                throw new InjectException(ErrorStrings.NO_BINDER, bindingId.toString());
+            }
+            return null;
+        }
+        return forkBinder(result);
+    }
+
+    /**
+     * Locates the binder for the class and the name with out the qualifier annotation.
+     * <p/>
+     * It is the same as {@link #locateBinder(BindingId, boolean)}, just it allocates the binding ID only to report
+     * the missing binder.
+     *
+     * @param clazz
+     *         The class of the binding. Never {@code null}.
+     * @param name
+     *         The name of the binding. Can be {@code null}.
+     * @param <T>
+     *         The class type to ensure the type safety by the compiler.
+     * @return The binder. Never {@code null}.
+     * @throws InjectException
+     *         When no binder is found.
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    private <T> Binder<T> locateBinder(@NotNull final Class<T> clazz, @Nullable final String name) {
+        final Binder<T> result = (Binder<T>) mBindings.get(clazz, name, null);
+        if (result == null) {
+            throw new InjectException(ErrorStrings.NO_BINDER, new BindingId(clazz, name, null).toString());
+        }
+        return forkBinder(result);
+    }
+
+    /**
+     * Locates the binder of the primitive value and ensures the value unless the binder returns it with out boxing.
+     *
+     * @param clazz
+     *         The primitive class of the value. Never {@code null}.
+     * @param name
+     *         The name the value is bound to. Can be {@code null}.
+     * @return The primitive binder to retrieve the value from or the boxed value. Never {@code null}.
+     * @throws InjectException
+     *         When there is no binding for the value.
+     */
+    @NotNull
+    private Object resolvePrimitive(@NotNull final Class<?> clazz, @Nullable final String name) {
+        final Binder<?> binder;
+        synchronized (this) {
+            binder = locateBinder(clazz, name);
+        }
+        return binder instanceof BinderPrimitive ? binder : resolve(binder);
+    }
+
+    /**
+     * Ensures the instance using the specified binder and then performs all pending injections, with the factory
+     * locked.
+     *
+     * @param binder
+     *         The binder to ensure the instance by. Never {@code null}.
+     * @param parameters
+     *         The optional parameters to be passed to the newly created instance. Can be missing.
+     * @param <T>
+     *         The class type to ensure the type safety by the compiler.
+     * @return The ensured instance. Never {@code null}.
+     */
+    @NotNull
+    private synchronized <T> T resolveLocked(@NotNull final Binder<T> binder, @NotNull final Object... parameters) {
+        beginInjection();
+        try {
+            T result = binder.get(parameters);
+            injectAll();
+            return result;
+        } finally {
+            endInjection();
+        }
+    }
+
+    /**
+     * Ensures the instance requested by the application using the specified binder, reporting it to the monitor.
+     *
+     * @param monitor
+     *         The monitor. Never {@code null}.
+     * @param bindingId
+     *         The requested binding. Never {@code null}.
+     * @param binder
+     *         The binder to ensure the instance by. Never {@code null}.
+     * @param parameters
+     *         The optional parameters to be passed to the newly created instance. Can be missing.
+     * @param <T>
+     *         The class type to ensure the type safety by the compiler.
+     * @return The ensured instance. Never {@code null}.
+     */
+    @NotNull
+    private <T> T resolveMonitored(@NotNull final InjectionMonitor monitor,
+                                   @NotNull final BindingId bindingId,
+                                   @NotNull final Binder<T> binder,
+                                   @NotNull final Object... parameters) {
+        final Object context = monitor.resolutionStarted(bindingId.getBindingClass(),
+                                                         bindingId.getName(),
+                                                         bindingId.getAnnotation());
+        boolean succeeded = false;
+        try {
+            final T result = resolve(binder, parameters);
+            succeeded = true;
+            return result;
+        } finally {
+            monitor.resolutionFinished(context, succeeded);
+        }
+    }
+
+    /**
+     * Starts the (possibly nested) injection.
+     */
+    private void beginInjection() {
+        if (mInjectionNestCounter <= 0) {
+            mInjectedObjects.clear();
+            mObjectsToInject.clear();
+        }
+        mInjectionNestCounter++;
+    }
+
+    /**
+     * Finishes the (possibly nested) injection.
+     */
+    private void endInjection() {
+        mInjectionNestCounter--;
+        if (mInjectionNestCounter <= 0) {
+            mInjectedObjects.clear();
+            mObjectsToInject.clear();
         }
-        return result;
     }
 
     /**
@@ -487,10 +1394,12 @@ public class Factory {
      *         The object onto which to perform the injection.
      */
     private void injectOne(@NotNull Object objectToInject) {
+        // The members of the whole class hierarchy
+        final InjectionPlan plan = ClassMetadata.of(objectToInject.getClass()).getInjectionPlan();
         // Inject fields
-        injectOneFields(objectToInject, objectToInject.getClass().getDeclaredFields());
+        injectOneFields(objectToInject, plan.getFields(), plan.getFieldInjectionPoints());
         // Inject setter methods
-        injectOneMethods(objectToInject, objectToInject.getClass().getDeclaredMethods());
+        injectOneMethods(objectToInject, plan.getMethods(), plan.getMethodParameters());
     }
 
     /**
@@ -499,13 +1408,15 @@ public class Factory {
      * @param objectToInject
      *         The object onto which to perform the injection.
      * @param fields
-     *         The fields to consider for injecting.
+     *         The fields to inject.
+     * @param injectionPoints
+     *         The injection points of the fields (in the same order).
      */
-    private void injectOneFields(@NotNull Object objectToInject, final Field[] fields) {
-        for (final Field field : fields) {
-            if (field.isAnnotationPresent(Inject.class)) {
-                injectOneField(objectToInject, field);
-            }
+    private void injectOneFields(@NotNull Object objectToInject,
+                                 final Field[] fields,
+                                 final InjectionPoint[] injectionPoints) {
+        for (int index = 0; index < fields.length; index++) {
+            injectOneField(objectToInject, fields[index], injectionPoints[index]);
         }
     }
 
@@ -516,25 +1427,38 @@ public class Factory {
      *         The object onto which to perform the injection.
      * @param field
      *         The field to inject.
+     * @param injectionPoint
+     *         The injection point of the field.
      */
-    private void injectOneField(@NotNull Object objectToInject, final Field field) {
-        final Class<?> type = field.getType();
-        final Annotation[] annotations = field.getDeclaredAnnotations();
-        final Object value = collectParameterToInject(type, annotations);
-        final boolean setAccessible = !field.isAccessible();
-        if (setAccessible) {
+    private void injectOneField(@NotNull Object objectToInject,
+                                final Field field,
+                                final InjectionPoint injectionPoint) {
+        // The primitive values are set directly by the typed setters
+        final BinderPrimitive<?> primitiveBinder;
+        final Object value;
+        final Binder<?> binder = locateParameterBinder(injectionPoint);
+        if (injectionPoint.isFuture()) {
+            primitiveBinder = null;
+            value = binder.getAsync();
+        } else if (binder instanceof BinderPrimitive && field.getType().isPrimitive()) {
+            primitiveBinder = (BinderPrimitive<?>) binder;
+            value = null;
+        } else {
+            primitiveBinder = null;
+            value = binder.get();
+        }
+        // The field objects are shared by all factories, so made accessible once for good
+        if (!field.isAccessible()) {
             field.setAccessible(true);
         }
         try {
-            try {
+            if (primitiveBinder != null) {
+                primitiveBinder.injectField(field, objectToInject);
+            } else {
                 field.set(objectToInject, value);
-            } catch (IllegalAccessException e) {
-                throw new InjectException(ErrorStrings.FAILED_TO_INJECT_FIELD, field.getName(), type.getName());
-            }
-        } finally {
-            if (setAccessible) {
-                field.setAccessible(false);
             }
+        } catch (IllegalAccessException e) {
+            throw new InjectException(ErrorStrings.FAILED_TO_INJECT_FIELD, field.getName(), field.getType().getName());
         }
     }
 
@@ -544,13 +1468,15 @@ public class Factory {
      * @param objectToInject
      *         The object onto which to perform the injection.
      * @param methods
-     *         The methods to consider for injecting.
+     *         The methods to inject.
+     * @param methodParameters
+     *         The parameters metadata of the methods (in the same order).
      */
-    private void injectOneMethods(@NotNull Object objectToInject, final Method[] methods) {
-        for (final Method method : methods) {
-            if (method.isAnnotationPresent(Inject.class)) {
-                injectOneMethod(objectToInject, method);
-            }
+    private void injectOneMethods(@NotNull Object objectToInject,
+                                  final Method[] methods,
+                                  final ParametersMetadata[] methodParameters) {
+        for (int index = 0; index < methods.length; index++) {
+            injectOneMethod(objectToInject, methods[index], methodParameters[index]);
         }
     }
 
@@ -561,23 +1487,19 @@ public class Factory {
      *         The object onto which to perform the injection.
      * @param method
      *         The method to inject.
+     * @param parameters
+     *         The parameters metadata of the method.
      */
-    private void injectOneMethod(@NotNull Object objectToInject, final Method method) {
-        final Class<?>[] parameterTypes = method.getParameterTypes();
-        final Annotation[][] parameterAnnotations = method.getParameterAnnotations();
-        final Object[] params = collectParametersToInject(parameterTypes, parameterAnnotations);
+    private void injectOneMethod(@NotNull Object objectToInject,
+                                 final Method method,
+                                 final ParametersMetadata parameters) {
+        final Object[] params = collectParametersToInject(parameters);
+        // The method objects are shared by all factories, so made accessible once for good
+        if (!method.isAccessible()) {
+            method.setAccessible(true);
+        }
         try {
-            final boolean setAccessible = !method.isAccessible();
-            if (setAccessible) {
-                method.setAccessible(true);
-            }
-            try {
-                method.invoke(objectToInject, params);
-            } finally {
-                if (setAccessible) {
-                    method.setAccessible(false);
-                }
-            }
+            method.invoke(objectToInject, params);
         } catch (IllegalAccessException | InvocationTargetException e) {
             throw new InjectException(e,
                                       ErrorStrings.FAILED_TO_INJECT_METHOD,
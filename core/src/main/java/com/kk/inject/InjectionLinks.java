@@ -0,0 +1,78 @@
+package com.kk.inject;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The binders of one factory linked to the injection points, valid until the bindings of the factory change.
+ * <p/>
+ * The links are kept in the concurrent map keyed by the injection point identity, so each factory (and each fork)
+ * only pays for the injection points it actually resolves. The map is bounded: Once full, it is simply cleared, so
+ * the injection points dropped meanwhile (like with the class metadata released by the garbage collector) are never
+ * piling up.
+ */
+final class InjectionLinks {
+
+    static final int MAX_SIZE = 1024;
+
+    private final          int                                        mBindingsVersion;
+    @NotNull private final ConcurrentHashMap<InjectionPoint, Binder<?>> mBinders;
+
+    /**
+     * Constructs the empty links.
+     *
+     * @param bindingsVersion
+     *         The version of the factory bindings the binders are located with.
+     */
+    InjectionLinks(final int bindingsVersion) {
+        mBindingsVersion = bindingsVersion;
+        mBinders = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Checks whether the links are still valid for the bindings.
+     *
+     * @param bindingsVersion
+     *         The current version of the factory bindings.
+     * @return If valid then {@code true} else {@code false}.
+     */
+    boolean isValid(final int bindingsVersion) {
+        return mBindingsVersion == bindingsVersion;
+    }
+
+    /**
+     * Retrieves the binder linked to the injection point.
+     *
+     * @param injectionPoint
+     *         The injection point. Never {@code null}.
+     * @return If linked then the binder else {@code null}.
+     */
+    @Nullable
+    Binder<?> get(@NotNull final InjectionPoint injectionPoint) {
+        return mBinders.get(injectionPoint);
+    }
+
+    /**
+     * Links the binder located for the injection point.
+     *
+     * @param injectionPoint
+     *         The injection point. Never {@code null}.
+     * @param binder
+     *         The located binder. Never {@code null}.
+     */
+    void put(@NotNull final InjectionPoint injectionPoint, @NotNull final Binder<?> binder) {
+        // Not guarded against the concurrent linking: The bound can only be exceeded by the racing threads
+        if (mBinders.size() >= MAX_SIZE) {
+            mBinders.clear();
+        }
+        mBinders.put(injectionPoint, binder);
+    }
+
+    /**
+     * Retrieves the number of the links.
+     *
+     * @return The number of the links.
+     */
+    int size() {
+        return mBinders.size();
+    }
+}
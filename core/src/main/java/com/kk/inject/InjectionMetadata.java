@@ -0,0 +1,147 @@
+package com.kk.inject;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The injection metadata of the class: The members relevant for the injection.
+ * <p/>
+ * It is either found by scanning the class members or restored from the metadata cache (see {@link MetadataStore}).
+ */
+final class InjectionMetadata {
+
+    @NotNull private final  Class<?>       mClass;
+    @Nullable private final Constructor<?> mConstructor;
+    @NotNull private final  Field[]        mFields;
+    @NotNull private final  Method[]       mMethods;
+    @NotNull private final  Method[]       mProviderMethods;
+
+    /**
+     * Constructs the metadata.
+     *
+     * @param clazz
+     *         The class the metadata is of. Never {@code null}.
+     * @param constructor
+     *         The constructor to instantiate the class by the injection. Can be {@code null}.
+     * @param fields
+     *         The fields to inject. Never {@code null}.
+     * @param methods
+     *         The methods to inject. Never {@code null}.
+     * @param providerMethods
+     *         The provider methods. Never {@code null}.
+     */
+    InjectionMetadata(@NotNull final Class<?> clazz,
+                      @Nullable final Constructor<?> constructor,
+                      @NotNull final Field[] fields,
+                      @NotNull final Method[] methods,
+                      @NotNull final Method[] providerMethods) {
+        mClass = clazz;
+        mConstructor = constructor;
+        mFields = fields;
+        mMethods = methods;
+        mProviderMethods = providerMethods;
+    }
+
+    /**
+     * Finds the injection metadata by scanning the class members.
+     *
+     * @param clazz
+     *         The class to scan. Never {@code null}.
+     * @return The metadata. Never {@code null}.
+     */
+    @NotNull
+    static InjectionMetadata scan(@NotNull final Class<?> clazz) {
+        // The first annotated constructor or else the default one
+        Constructor<?> constructor = null;
+        Constructor<?> defaultConstructor = null;
+        for (final Constructor<?> con : clazz.getDeclaredConstructors()) {
+            if (con.isAnnotationPresent(Inject.class)) {
+                constructor = con;
+                break;
+            }
+            if (con.getParameterTypes().length <= 0) {
+                defaultConstructor = con;
+            }
+        }
+        if (constructor == null) {
+            constructor = defaultConstructor;
+        }
+        // The annotated fields
+        final List<Field> fields = new ArrayList<>();
+        for (final Field field : clazz.getDeclaredFields()) {
+            if (field.isAnnotationPresent(Inject.class)) {
+                fields.add(field);
+            }
+        }
+        // The annotated methods
+        final List<Method> methods = new ArrayList<>();
+        final List<Method> providerMethods = new ArrayList<>();
+        for (final Method method : clazz.getDeclaredMethods()) {
+            if (method.isAnnotationPresent(Inject.class)) {
+                methods.add(method);
+            }
+            if (method.isAnnotationPresent(Provides.class)) {
+                providerMethods.add(method);
+            }
+        }
+        return new InjectionMetadata(clazz,
+                                     constructor,
+                                     fields.toArray(new Field[fields.size()]),
+                                     methods.toArray(new Method[methods.size()]),
+                                     providerMethods.toArray(new Method[providerMethods.size()]));
+    }
+
+    /**
+     * Retrieves the class the metadata is of.
+     *
+     * @return The class. Never {@code null}.
+     */
+    @NotNull
+    Class<?> getType() {
+        return mClass;
+    }
+
+    /**
+     * Retrieves the constructor to instantiate the class by the injection: The first one annotated by the
+     * {@link Inject} or the default one.
+     *
+     * @return If any then the constructor else {@code null}.
+     */
+    @Nullable
+    Constructor<?> getConstructor() {
+        return mConstructor;
+    }
+
+    /**
+     * Retrieves the fields annotated by the {@link Inject}.
+     *
+     * @return The fields. Never {@code null}.
+     */
+    @NotNull
+    Field[] getFields() {
+        return mFields;
+    }
+
+    /**
+     * Retrieves the methods annotated by the {@link Inject}.
+     *
+     * @return The methods. Never {@code null}.
+     */
+    @NotNull
+    Method[] getMethods() {
+        return mMethods;
+    }
+
+    /**
+     * Retrieves the methods annotated by the {@link Provides}.
+     *
+     * @return The methods. Never {@code null}.
+     */
+    @NotNull
+    Method[] getProviderMethods() {
+        return mProviderMethods;
+    }
+}
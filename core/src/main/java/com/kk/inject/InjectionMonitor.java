@@ -0,0 +1,120 @@
+package com.kk.inject;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * Monitor of the injection work, for the profiling (like the Java Flight Recorder events).
+ * <p/>
+ * The monitor is installed by {@link Factory#setInjectionMonitor(InjectionMonitor)} for all the factories. When no
+ * monitor is installed, the factories only check that there is none, so they pay nothing else.
+ * <p/>
+ * The started methods return the context (like the event being timed) which is then passed to the matching finished
+ * method. The methods are called by any thread resolving the instances, so they must be thread safe, and they must not
+ * use the factories.
+ */
+public abstract class InjectionMonitor {
+
+    @Nullable private static volatile InjectionMonitor sCurrent;
+
+    /**
+     * Retrieves the installed monitor.
+     *
+     * @return The monitor. If none installed then {@code null}.
+     */
+    @Nullable
+    static InjectionMonitor current() {
+        return sCurrent;
+    }
+
+    /**
+     * Installs the monitor.
+     *
+     * @param monitor
+     *         The monitor. If {@code null} then the monitoring is stopped.
+     */
+    static void install(@Nullable final InjectionMonitor monitor) {
+        sCurrent = monitor;
+    }
+
+    /**
+     * Called when the factory starts resolving the instance requested by the application (not the instances needed
+     * to resolve it).
+     *
+     * @param clazz
+     *         The requested class. Never {@code null}.
+     * @param name
+     *         The requested name. Can be {@code null}.
+     * @param annotation
+     *         The requested qualifier annotation. Can be {@code null}.
+     * @return The context passed to {@link #resolutionFinished(Object, boolean)}. Can be {@code null}.
+     */
+    @Nullable
+    public Object resolutionStarted(@NotNull final Class<?> clazz,
+                                    @Nullable final String name,
+                                    @Nullable final Class<? extends Annotation> annotation) {
+        return null;
+    }
+
+    /**
+     * Called when the factory finished resolving the instance requested by the application.
+     *
+     * @param context
+     *         The context returned by {@link #resolutionStarted(Class, String, Class)}. Can be {@code null}.
+     * @param succeeded
+     *         If resolved then {@code true} else (failed by the exception) {@code false}.
+     */
+    public void resolutionFinished(@Nullable final Object context, final boolean succeeded) {
+    }
+
+    /**
+     * Called when the binder starts constructing the instance (by its constructor or by the module provider method).
+     *
+     * @param clazz
+     *         The class being constructed (or the provided class). Never {@code null}.
+     * @return The context passed to {@link #constructionFinished(Object)}. Can be {@code null}.
+     */
+    @Nullable
+    public Object constructionStarted(@NotNull final Class<?> clazz) {
+        return null;
+    }
+
+    /**
+     * Called when the binder finished constructing the instance (also when failed).
+     *
+     * @param context
+     *         The context returned by {@link #constructionStarted(Class)}. Can be {@code null}.
+     */
+    public void constructionFinished(@Nullable final Object context) {
+    }
+
+    /**
+     * Called when the singleton instance was created (also when re-created after reclaimed).
+     *
+     * @param clazz
+     *         The class of the singleton. Never {@code null}.
+     */
+    public void singletonCreated(@NotNull final Class<?> clazz) {
+    }
+
+    /**
+     * Called when the injection metadata of the class were neither known nor cached (see
+     * {@link Factory#loadMetadataCache(java.io.File, String)}), so the class is being scanned by the reflection.
+     *
+     * @param clazz
+     *         The class being scanned. Never {@code null}.
+     * @return The context passed to {@link #metadataScanFinished(Object)}. Can be {@code null}.
+     */
+    @Nullable
+    public Object metadataScanStarted(@NotNull final Class<?> clazz) {
+        return null;
+    }
+
+    /**
+     * Called when the class was scanned (also when failed).
+     *
+     * @param context
+     *         The context returned by {@link #metadataScanStarted(Class)}. Can be {@code null}.
+     */
+    public void metadataScanFinished(@Nullable final Object context) {
+    }
+}
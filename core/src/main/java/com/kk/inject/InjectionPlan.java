@@ -0,0 +1,180 @@
+package com.kk.inject;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The injection plan of the concrete class: The fields and methods to inject flattened over the whole class hierarchy.
+ * <p/>
+ * The members of the base classes go first (so the base class is injected before its subclass). The methods
+ * overridden in the subclass are only injected if annotated there (and then just once).
+ */
+final class InjectionPlan {
+
+    @NotNull private final Field[]              mFields;
+    @NotNull private final InjectionPoint[]     mFieldInjectionPoints;
+    @NotNull private final Method[]             mMethods;
+    @NotNull private final ParametersMetadata[] mMethodParameters;
+
+    /**
+     * Constructs the plan.
+     *
+     * @param fields
+     *         The fields to inject. Never {@code null}.
+     * @param fieldInjectionPoints
+     *         The injection points of the fields. Never {@code null}.
+     * @param methods
+     *         The methods to inject. Never {@code null}.
+     * @param methodParameters
+     *         The parameters metadata of the methods. Never {@code null}.
+     */
+    private InjectionPlan(@NotNull final Field[] fields,
+                          @NotNull final InjectionPoint[] fieldInjectionPoints,
+                          @NotNull final Method[] methods,
+                          @NotNull final ParametersMetadata[] methodParameters) {
+        mFields = fields;
+        mFieldInjectionPoints = fieldInjectionPoints;
+        mMethods = methods;
+        mMethodParameters = methodParameters;
+    }
+
+    /**
+     * Builds the plan of the class on top of the plan of its superclass.
+     *
+     * @param clazz
+     *         The class to build the plan for. Never {@code null}.
+     * @param superPlan
+     *         The plan of the superclass. If {@code null} then no superclass to inject.
+     * @param injection
+     *         The injection metadata of the class itself. Never {@code null}.
+     * @return The plan. Never {@code null}.
+     */
+    @NotNull
+    static InjectionPlan build(@NotNull final Class<?> clazz,
+                               @Nullable final InjectionPlan superPlan,
+                               @NotNull final InjectionMetadata injection) {
+        final List<Field> fields = new ArrayList<>();
+        final List<InjectionPoint> fieldInjectionPoints = new ArrayList<>();
+        final List<Method> methods = new ArrayList<>();
+        final List<ParametersMetadata> methodParameters = new ArrayList<>();
+        if (superPlan != null) {
+            // Fields are never overridden
+            fields.addAll(Arrays.asList(superPlan.mFields));
+            fieldInjectionPoints.addAll(Arrays.asList(superPlan.mFieldInjectionPoints));
+            // The overridden methods are dropped
+            for (int index = 0; index < superPlan.mMethods.length; index++) {
+                final Method method = superPlan.mMethods[index];
+                if (!isOverridden(clazz, method)) {
+                    methods.add(method);
+                    methodParameters.add(superPlan.mMethodParameters[index]);
+                }
+            }
+        }
+        for (final Field field : injection.getFields()) {
+            fields.add(field);
+            fieldInjectionPoints.add(new InjectionPoint(field.getType(),
+                                                        field.getGenericType(),
+                                                        field.getDeclaredAnnotations()));
+        }
+        for (final Method method : injection.getMethods()) {
+            methods.add(method);
+            methodParameters.add(ParametersMetadata.of(method));
+        }
+        return new InjectionPlan(fields.toArray(new Field[fields.size()]),
+                                 fieldInjectionPoints.toArray(new InjectionPoint[fieldInjectionPoints.size()]),
+                                 methods.toArray(new Method[methods.size()]),
+                                 methodParameters.toArray(new ParametersMetadata[methodParameters.size()]));
+    }
+
+    /**
+     * Retrieves the fields to inject.
+     *
+     * @return The fields. Never {@code null}.
+     */
+    @NotNull
+    Field[] getFields() {
+        return mFields;
+    }
+
+    /**
+     * Retrieves the injection points of the fields to inject.
+     *
+     * @return The injection points (in the same order as the fields). Never {@code null}.
+     */
+    @NotNull
+    InjectionPoint[] getFieldInjectionPoints() {
+        return mFieldInjectionPoints;
+    }
+
+    /**
+     * Retrieves the methods to inject.
+     *
+     * @return The methods. Never {@code null}.
+     */
+    @NotNull
+    Method[] getMethods() {
+        return mMethods;
+    }
+
+    /**
+     * Retrieves the parameters metadata of the methods to inject.
+     *
+     * @return The parameters metadata (in the same order as the methods). Never {@code null}.
+     */
+    @NotNull
+    ParametersMetadata[] getMethodParameters() {
+        return mMethodParameters;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Internals
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Checks whether the method of the base class is overridden by the class.
+     *
+     * @param clazz
+     *         The class to check. Never {@code null}.
+     * @param method
+     *         The method of the base class. Never {@code null}.
+     * @return If overridden then {@code true} else {@code false}.
+     */
+    private static boolean isOverridden(@NotNull final Class<?> clazz, @NotNull final Method method) {
+        final int modifiers = method.getModifiers();
+        if (Modifier.isPrivate(modifiers) || Modifier.isStatic(modifiers)) {
+            return false;
+        }
+        final Method overriding;
+        try {
+            overriding = clazz.getDeclaredMethod(method.getName(), method.getParameterTypes());
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+        if (Modifier.isStatic(overriding.getModifiers())) {
+            return false;
+        }
+        // The package private method is only overridden with in the same package
+        if (!Modifier.isPublic(modifiers) && !Modifier.isProtected(modifiers)) {
+            return getPackageName(clazz).equals(getPackageName(method.getDeclaringClass()));
+        }
+        return true;
+    }
+
+    /**
+     * Retrieves the package name of the class.
+     *
+     * @param clazz
+     *         The class. Never {@code null}.
+     * @return The package name. Never {@code null}.
+     */
+    @NotNull
+    private static String getPackageName(@NotNull final Class<?> clazz) {
+        final String name = clazz.getName();
+        final int dot = name.lastIndexOf('.');
+        return dot >= 0 ? name.substring(0, dot) : "";
+    }
+}
@@ -0,0 +1,123 @@
+package com.kk.inject;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+/**
+ * The injection point: One parameter (or field) to inject.
+ * <p/>
+ * The binding IDs to locate the binder by are derived from the type and annotations only once, so locating the binder
+ * is just the sequence of the map lookups. The located binder is then linked to the injection point by the factory
+ * (see {@link InjectionLinks}), so the lookups (the qualifying annotations missing their bindings mostly) are only
+ * repeated once the bindings change.
+ */
+final class InjectionPoint {
+
+    @NotNull private static final InjectionPoint[] NO_INJECTION_POINTS = new InjectionPoint[0];
+
+    @NotNull private final  Type        mGenericType;
+    private final           boolean     mFuture;
+    @Nullable private final BindingId[] mBindingIds;
+
+    /**
+     * Constructs the injection point.
+     *
+     * @param type
+     *         The type to inject. Never {@code null}.
+     * @param genericType
+     *         The generic type to inject, used to inject the futures. Can be {@code null}.
+     * @param annotations
+     *         The annotations detailing the injection. Can be {@code null}.
+     */
+    InjectionPoint(@NotNull final Class<?> type,
+                   @Nullable final Type genericType,
+                   @Nullable final Annotation[] annotations) {
+        mGenericType = genericType != null ? genericType : type;
+        mFuture = type == Future.class;
+        final Class<?> lookupType = mFuture ? Utils.getFutureResultType(genericType) : type;
+        mBindingIds = lookupType != null ? createBindingIds(lookupType, annotations) : null;
+    }
+
+    /**
+     * Creates the injection points for the parameters.
+     *
+     * @param parameterTypes
+     *         The parameter types. Never {@code null}.
+     * @param genericParameterTypes
+     *         The generic parameter types. Never {@code null}.
+     * @param parametersAnnotations
+     *         The parameter annotations. Never {@code null}.
+     * @return The injection points. Never {@code null}.
+     */
+    @NotNull
+    static InjectionPoint[] forParameters(@NotNull final Class<?>[] parameterTypes,
+                                          @NotNull final Type[] genericParameterTypes,
+                                          @NotNull final Annotation[][] parametersAnnotations) {
+        if (parameterTypes.length <= 0) {
+            return NO_INJECTION_POINTS;
+        }
+        final boolean haveGenericTypes = genericParameterTypes.length == parameterTypes.length;
+        final InjectionPoint[] injectionPoints = new InjectionPoint[parameterTypes.length];
+        for (int index = 0; index < injectionPoints.length; index++) {
+            injectionPoints[index] = new InjectionPoint(parameterTypes[index],
+                                                        haveGenericTypes ? genericParameterTypes[index] : null,
+                                                        parametersAnnotations[index]);
+        }
+        return injectionPoints;
+    }
+
+    /**
+     * Checks whether the future of the instance shall be injected.
+     *
+     * @return If future then {@code true} else {@code false}.
+     */
+    boolean isFuture() {
+        return mFuture;
+    }
+
+    /**
+     * Retrieves the binding IDs to try (in the order) to locate the binder.
+     *
+     * @return The binding IDs. Never {@code null}.
+     * @throws InjectException
+     *         When the result type of the future cannot be determined.
+     */
+    @NotNull
+    BindingId[] getBindingIds() {
+        if (mBindingIds == null) {
+            throw new InjectException(ErrorStrings.UNKNOWN_FUTURE_TYPE, String.valueOf(mGenericType));
+        }
+        return mBindingIds;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Internals
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Creates the binding IDs to try: One for every qualifying annotation and the last one with out any annotation.
+     *
+     * @param type
+     *         The type to locate. Never {@code null}.
+     * @param annotations
+     *         The annotations detailing the injection. Can be {@code null}.
+     * @return The binding IDs. Never {@code null}.
+     */
+    @NotNull
+    private static BindingId[] createBindingIds(@NotNull final Class<?> type, @Nullable final Annotation[] annotations) {
+        final String name = Utils.extractNameFromAnnotations(annotations);
+        final List<BindingId> bindingIds = new ArrayList<>(1);
+        if (annotations != null) {
+            for (final Annotation annotation : annotations) {
+                if (Utils.useAnnotationForBinding(annotation)) {
+                    bindingIds.add(new BindingId(type, name, annotation.annotationType()));
+                }
+            }
+        }
+        bindingIds.add(new BindingId(type, name, null));
+        return bindingIds.toArray(new BindingId[bindingIds.size()]);
+    }
+}
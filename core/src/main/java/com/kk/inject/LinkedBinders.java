@@ -0,0 +1,66 @@
+package com.kk.inject;
+
+/**
+ * The binders located for the injection points, valid until the bindings of the factory change.
+ */
+final class LinkedBinders {
+
+    private final          int         mBindingsVersion;
+    @NotNull private final Binder<?>[] mBinders;
+
+    /**
+     * Constructs the linked binders.
+     *
+     * @param bindingsVersion
+     *         The version of the factory bindings the binders were located with.
+     * @param binders
+     *         The binders for every injection point. Never {@code null}.
+     */
+    private LinkedBinders(final int bindingsVersion, @NotNull final Binder<?>[] binders) {
+        mBindingsVersion = bindingsVersion;
+        mBinders = binders;
+    }
+
+    /**
+     * Locates the binders for the injection points.
+     *
+     * @param factory
+     *         The factory to locate the binders in. Never {@code null}.
+     * @param injectionPoints
+     *         The injection points. Never {@code null}.
+     * @return The linked binders. Never {@code null}.
+     * @throws InjectException
+     *         When no binding found for any injection point.
+     */
+    @NotNull
+    static LinkedBinders link(@NotNull final Factory factory, @NotNull final InjectionPoint[] injectionPoints) {
+        // The version is taken first, so the bindings changed meanwhile are detected the next time
+        final int bindingsVersion = factory.getBindingsVersion();
+        final Binder<?>[] binders = new Binder<?>[injectionPoints.length];
+        for (int index = 0; index < binders.length; index++) {
+            binders[index] = factory.locateParameterBinder(injectionPoints[index]);
+        }
+        return new LinkedBinders(bindingsVersion, binders);
+    }
+
+    /**
+     * Checks whether the binders are still valid for the factory.
+     *
+     * @param factory
+     *         The factory the binders were located in. Never {@code null}.
+     * @return If valid then {@code true} else {@code false}.
+     */
+    boolean isValid(@NotNull final Factory factory) {
+        return mBindingsVersion == factory.getBindingsVersion();
+    }
+
+    /**
+     * Retrieves the binders.
+     *
+     * @return The binders for every injection point. Never {@code null}. Must not be modified.
+     */
+    @NotNull
+    Binder<?>[] getBinders() {
+        return mBinders;
+    }
+}
@@ -0,0 +1,237 @@
+package com.kk.inject;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Snapshot of the estimated memory footprint of the factory bindings.
+ * <p/>
+ * The sizes are estimated for the common 64-bit virtual machine with the compressed references (12 bytes object
+ * header, 4 bytes reference, 8 bytes alignment). They cover the binding table and the binders themselves, not the
+ * instances held by the binders (like the singletons). The binder shared by multiple bindings is counted once.
+ */
+public final class MemoryReport {
+
+    static final int OBJECT_HEADER_BYTES = 12;
+    static final int ARRAY_HEADER_BYTES  = 16;
+    static final int REFERENCE_BYTES     = 4;
+    static final int ALIGNMENT_BYTES     = 8;
+
+    private final          int                  mBindingCount;
+    private final          long                 mTableBytes;
+    @NotNull private final Map<String, Integer> mBinderCounts;
+    @NotNull private final Map<String, Long>    mBinderBytes;
+
+    /**
+     * Constructs the report.
+     *
+     * @param bindingCount
+     *         The number of the bindings.
+     * @param tableBytes
+     *         The estimated size of the binding table.
+     * @param binderCounts
+     *         The number of the binders per the binder type. Never {@code null}.
+     * @param binderBytes
+     *         The estimated size of the binders per the binder type. Never {@code null}.
+     */
+    private MemoryReport(final int bindingCount,
+                         final long tableBytes,
+                         @NotNull final Map<String, Integer> binderCounts,
+                         @NotNull final Map<String, Long> binderBytes) {
+        mBindingCount = bindingCount;
+        mTableBytes = tableBytes;
+        mBinderCounts = Collections.unmodifiableMap(binderCounts);
+        mBinderBytes = Collections.unmodifiableMap(binderBytes);
+    }
+
+    /**
+     * Builds the report of the binding table.
+     *
+     * @param table
+     *         The binding table. Never {@code null}.
+     * @return The report. Never {@code null}.
+     */
+    @NotNull
+    static MemoryReport of(@NotNull final BindingTable table) {
+        final Map<String, Integer> binderCounts = new TreeMap<>();
+        final Map<String, Long> binderBytes = new TreeMap<>();
+        final Map<Binder<?>, Boolean> counted = new IdentityHashMap<>();
+        final Map<Class<?>, Long> shallowSizes = new HashMap<>();
+        for (int index = 0; index < table.capacity(); index++) {
+            final Binder<?> binder = table.getBinderAt(index);
+            if (binder == null || counted.put(binder, Boolean.TRUE) != null) {
+                continue;
+            }
+            final Class<?> binderClass = binder.getClass();
+            Long size = shallowSizes.get(binderClass);
+            if (size == null) {
+                size = estimateShallowSize(binderClass);
+                shallowSizes.put(binderClass, size);
+            }
+            final String type = getBinderType(binderClass);
+            final Integer count = binderCounts.get(type);
+            binderCounts.put(type, count == null ? 1 : count + 1);
+            final Long bytes = binderBytes.get(type);
+            binderBytes.put(type, bytes == null ? size : bytes + size);
+        }
+        final long tableBytes = 4 * align(ARRAY_HEADER_BYTES + (long) table.capacity() * REFERENCE_BYTES);
+        return new MemoryReport(table.size(), tableBytes, binderCounts, binderBytes);
+    }
+
+    /**
+     * Retrieves the number of the bindings.
+     *
+     * @return The number of the bindings.
+     */
+    public int getBindingCount() {
+        return mBindingCount;
+    }
+
+    /**
+     * Retrieves the estimated size of the binding table (with out the binders).
+     *
+     * @return The size in bytes.
+     */
+    public long getTableBytes() {
+        return mTableBytes;
+    }
+
+    /**
+     * Retrieves the types of the binders (like {@code Instantiate} or {@code Provider}).
+     *
+     * @return The binder types, sorted. Never {@code null}.
+     */
+    @NotNull
+    public Set<String> getBinderTypes() {
+        return mBinderCounts.keySet();
+    }
+
+    /**
+     * Retrieves the number of the binders of the type.
+     *
+     * @param type
+     *         The binder type (see {@link #getBinderTypes()}). Never {@code null}.
+     * @return The number of the binders. Zero for the unknown type.
+     */
+    public int getBinderCount(@NotNull final String type) {
+        final Integer count = mBinderCounts.get(type);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Retrieves the estimated size of the binders of the type.
+     *
+     * @param type
+     *         The binder type (see {@link #getBinderTypes()}). Never {@code null}.
+     * @return The size in bytes. Zero for the unknown type.
+     */
+    public long getBinderBytes(@NotNull final String type) {
+        final Long bytes = mBinderBytes.get(type);
+        return bytes == null ? 0 : bytes;
+    }
+
+    /**
+     * Retrieves the estimated size of the binding table and all the binders.
+     *
+     * @return The size in bytes.
+     */
+    public long getTotalBytes() {
+        long total = mTableBytes;
+        for (final Long bytes : mBinderBytes.values()) {
+            total += bytes;
+        }
+        return total;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("MemoryReport{bindings=").append(mBindingCount);
+        sb.append(", tableBytes=").append(mTableBytes);
+        for (final String type : mBinderCounts.keySet()) {
+            sb.append(", ").append(type).append("=").append(mBinderCounts.get(type));
+            sb.append("/").append(mBinderBytes.get(type)).append("B");
+        }
+        sb.append(", totalBytes=").append(getTotalBytes()).append("}");
+        return sb.toString();
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Internals
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Estimates the shallow size of the instance of the class (its header and fields, not the referenced objects).
+     *
+     * @param clazz
+     *         The class. Never {@code null}.
+     * @return The size in bytes.
+     */
+    static long estimateShallowSize(@NotNull final Class<?> clazz) {
+        long size = OBJECT_HEADER_BYTES;
+        for (Class<?> current = clazz; current != null; current = current.getSuperclass()) {
+            for (final Field field : current.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    size += getFieldBytes(field.getType());
+                }
+            }
+        }
+        return align(size);
+    }
+
+    /**
+     * Retrieves the size of the field of the type.
+     *
+     * @param type
+     *         The field type. Never {@code null}.
+     * @return The size in bytes.
+     */
+    private static int getFieldBytes(@NotNull final Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        } else if (type == int.class || type == float.class) {
+            return 4;
+        } else if (type == short.class || type == char.class) {
+            return 2;
+        } else if (type == byte.class || type == boolean.class) {
+            return 1;
+        }
+        return REFERENCE_BYTES;
+    }
+
+    /**
+     * Aligns the size to the object alignment.
+     *
+     * @param size
+     *         The size in bytes.
+     * @return The aligned size in bytes.
+     */
+    private static long align(final long size) {
+        return (size + ALIGNMENT_BYTES - 1) / ALIGNMENT_BYTES * ALIGNMENT_BYTES;
+    }
+
+    /**
+     * Retrieves the binder type: the binder class name with out the {@code Binder} prefix.
+     *
+     * @param binderClass
+     *         The binder class. Never {@code null}.
+     * @return The binder type. Never {@code null}.
+     */
+    @NotNull
+    private static String getBinderType(@NotNull final Class<?> binderClass) {
+        final String name = binderClass.getSimpleName();
+        if (name.startsWith("Binder") && name.length() > "Binder".length()) {
+            return name.substring("Binder".length());
+        }
+        return name;
+    }
+}
@@ -0,0 +1,428 @@
+package com.kk.inject;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The metadata cache persisted in the file.
+ * <p/>
+ * It remembers which members of the classes are relevant for the injection, so the next process start does not need
+ * to check the annotations of all the members again. The members are remembered by their signatures (the name and
+ * the parameter types) and looked up directly, so the declared members of the class are never listed. The class
+ * missing any remembered member is simply scanned again. Other changes of the classes (like the annotations or the
+ * members added) are not detected, hence the whole cache is keyed by the version supplied by the application.
+ * <p/>
+ * The file is read via the memory mapping.
+ */
+final class MetadataStore {
+
+    private static final int     MAGIC  = 0x4B4B4D43;
+    private static final int     FORMAT = 2;
+    private static final Charset UTF_8  = Charset.forName("UTF-8");
+
+    @NotNull private final Map<String, Record> mRecords;
+
+    /**
+     * Constructs the store.
+     *
+     * @param records
+     *         The records per class name. Never {@code null}.
+     */
+    private MetadataStore(@NotNull final Map<String, Record> records) {
+        mRecords = records;
+    }
+
+    /**
+     * Loads the metadata cache from the file.
+     *
+     * @param file
+     *         The file to load from. Never {@code null}.
+     * @param version
+     *         The version the cache must have been saved with. Never {@code null}.
+     * @return If loaded then the store else (missing file, different version, corrupted file) {@code null}.
+     */
+    @Nullable
+    static MetadataStore load(@NotNull final File file, @NotNull final String version) {
+        if (!file.isFile()) {
+            return null;
+        }
+        try {
+            final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+            try {
+                final FileChannel channel = randomAccessFile.getChannel();
+                final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                return read(buffer, version);
+            } finally {
+                randomAccessFile.close();
+            }
+        } catch (IOException | BufferUnderflowException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Saves the metadata to the file.
+     *
+     * @param file
+     *         The file to save to. Never {@code null}.
+     * @param version
+     *         The version to save the cache with. Never {@code null}.
+     * @param metadata
+     *         The metadata to save. Never {@code null}.
+     * @throws IOException
+     *         When failed to write the file.
+     */
+    static void save(@NotNull final File file,
+                     @NotNull final String version,
+                     @NotNull final Collection<InjectionMetadata> metadata) throws IOException {
+        // Write to the temporary file first, so the readers never see the partially written cache
+        final File temporaryFile = new File(file.getPath() + ".tmp");
+        final DataOutputStream output = new DataOutputStream(new FileOutputStream(temporaryFile));
+        try {
+            output.writeInt(MAGIC);
+            output.writeInt(FORMAT);
+            writeString(output, version);
+            output.writeInt(metadata.size());
+            for (final InjectionMetadata classMetadata : metadata) {
+                writeRecord(output, classMetadata);
+            }
+        } finally {
+            output.close();
+        }
+        if (!temporaryFile.renameTo(file)) {
+            if (!file.delete() || !temporaryFile.renameTo(file)) {
+                throw new IOException(file.getPath());
+            }
+        }
+    }
+
+    /**
+     * Restores the injection metadata of the class.
+     *
+     * @param clazz
+     *         The class to restore the metadata of. Never {@code null}.
+     * @return If cached and the class did not change then the metadata else {@code null}.
+     */
+    @Nullable
+    InjectionMetadata resolve(@NotNull final Class<?> clazz) {
+        final Record record = mRecords.get(clazz.getName());
+        if (record == null) {
+            return null;
+        }
+        final ClassLoader classLoader = clazz.getClassLoader();
+        try {
+            final Constructor<?> constructor = record.mConstructor != null
+                    ? clazz.getDeclaredConstructor(resolveTypes(classLoader, record.mConstructor, 0))
+                    : null;
+            final Field[] fields = new Field[record.mFields.length];
+            for (int index = 0; index < fields.length; index++) {
+                fields[index] = clazz.getDeclaredField(record.mFields[index]);
+            }
+            return new InjectionMetadata(clazz,
+                                         constructor,
+                                         fields,
+                                         resolveMethods(clazz, classLoader, record.mMethods),
+                                         resolveMethods(clazz, classLoader, record.mProviderMethods));
+        } catch (ClassNotFoundException | NoSuchMethodException | NoSuchFieldException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Retrieves the count of the cached classes.
+     *
+     * @return The count.
+     */
+    int size() {
+        return mRecords.size();
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Internals
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Reads the metadata cache.
+     *
+     * @param buffer
+     *         The buffer to read from. Never {@code null}.
+     * @param version
+     *         The version the cache must have been saved with. Never {@code null}.
+     * @return If valid then the store else {@code null}.
+     * @throws IOException
+     *         When the cache is corrupted.
+     */
+    @Nullable
+    private static MetadataStore read(@NotNull final ByteBuffer buffer, @NotNull final String version)
+            throws IOException {
+        if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT || !version.equals(readString(buffer))) {
+            return null;
+        }
+        final int count = readCount(buffer);
+        final Map<String, Record> records = new HashMap<>(count * 2);
+        for (int index = 0; index < count; index++) {
+            final String className = readString(buffer);
+            final String[] constructor = buffer.get() != 0 ? readStrings(buffer) : null;
+            final String[] fields = readStrings(buffer);
+            final String[][] methods = readSignatures(buffer);
+            final String[][] providerMethods = readSignatures(buffer);
+            records.put(className, new Record(constructor, fields, methods, providerMethods));
+        }
+        return new MetadataStore(records);
+    }
+
+    /**
+     * Writes the record of the class.
+     *
+     * @param output
+     *         The stream to write to. Never {@code null}.
+     * @param metadata
+     *         The metadata of the class. Never {@code null}.
+     * @throws IOException
+     *         When failed to write.
+     */
+    private static void writeRecord(@NotNull final DataOutputStream output, @NotNull final InjectionMetadata metadata)
+            throws IOException {
+        writeString(output, metadata.getType().getName());
+        final Constructor<?> constructor = metadata.getConstructor();
+        output.writeBoolean(constructor != null);
+        if (constructor != null) {
+            writeTypes(output, constructor.getParameterTypes());
+        }
+        final Field[] fields = metadata.getFields();
+        output.writeInt(fields.length);
+        for (final Field field : fields) {
+            writeString(output, field.getName());
+        }
+        writeMethods(output, metadata.getMethods());
+        writeMethods(output, metadata.getProviderMethods());
+    }
+
+    /**
+     * Writes the signatures of the methods: The name followed by the parameter types of every method.
+     *
+     * @param output
+     *         The stream to write to. Never {@code null}.
+     * @param methods
+     *         The methods. Never {@code null}.
+     * @throws IOException
+     *         When failed to write.
+     */
+    private static void writeMethods(@NotNull final DataOutputStream output, @NotNull final Method[] methods)
+            throws IOException {
+        output.writeInt(methods.length);
+        for (final Method method : methods) {
+            final Class<?>[] parameterTypes = method.getParameterTypes();
+            output.writeInt(parameterTypes.length + 1);
+            writeString(output, method.getName());
+            for (final Class<?> parameterType : parameterTypes) {
+                writeString(output, parameterType.getName());
+            }
+        }
+    }
+
+    /**
+     * Writes the names of the types.
+     *
+     * @param output
+     *         The stream to write to. Never {@code null}.
+     * @param types
+     *         The types. Never {@code null}.
+     * @throws IOException
+     *         When failed to write.
+     */
+    private static void writeTypes(@NotNull final DataOutputStream output, @NotNull final Class<?>[] types)
+            throws IOException {
+        output.writeInt(types.length);
+        for (final Class<?> type : types) {
+            writeString(output, type.getName());
+        }
+    }
+
+    /**
+     * Looks the methods up by their signatures (see {@link #writeMethods(DataOutputStream, Method[])}).
+     *
+     * @param clazz
+     *         The class declaring the methods. Never {@code null}.
+     * @param classLoader
+     *         The class loader to load the parameter types by. Can be {@code null} (the bootstrap class loader).
+     * @param signatures
+     *         The signatures. Never {@code null}.
+     * @return The methods. Never {@code null}.
+     * @throws ClassNotFoundException
+     *         When any parameter type does not exist.
+     * @throws NoSuchMethodException
+     *         When any method does not exist.
+     */
+    @NotNull
+    private static Method[] resolveMethods(@NotNull final Class<?> clazz,
+                                           @Nullable final ClassLoader classLoader,
+                                           @NotNull final String[][] signatures)
+            throws ClassNotFoundException, NoSuchMethodException {
+        final Method[] methods = new Method[signatures.length];
+        for (int index = 0; index < methods.length; index++) {
+            final String[] signature = signatures[index];
+            methods[index] = clazz.getDeclaredMethod(signature[0], resolveTypes(classLoader, signature, 1));
+        }
+        return methods;
+    }
+
+    /**
+     * Resolves the types by their names.
+     *
+     * @param classLoader
+     *         The class loader to load the types by. Can be {@code null} (the bootstrap class loader).
+     * @param names
+     *         The names as returned by {@link Class#getName()}. Never {@code null}.
+     * @param offset
+     *         The index of the first name to resolve.
+     * @return The types. Never {@code null}.
+     * @throws ClassNotFoundException
+     *         When any type does not exist.
+     */
+    @NotNull
+    private static Class<?>[] resolveTypes(@Nullable final ClassLoader classLoader,
+                                           @NotNull final String[] names,
+                                           final int offset) throws ClassNotFoundException {
+        final Class<?>[] types = new Class<?>[names.length - offset];
+        for (int index = 0; index < types.length; index++) {
+            types[index] = ModuleIndex.resolveType(classLoader, names[offset + index]);
+        }
+        return types;
+    }
+
+    /**
+     * Reads the method signatures (see {@link #writeMethods(DataOutputStream, Method[])}).
+     *
+     * @param buffer
+     *         The buffer to read from. Never {@code null}.
+     * @return The signatures. Never {@code null}.
+     * @throws IOException
+     *         When the cache is corrupted.
+     */
+    @NotNull
+    private static String[][] readSignatures(@NotNull final ByteBuffer buffer) throws IOException {
+        final String[][] signatures = new String[readCount(buffer)][];
+        for (int index = 0; index < signatures.length; index++) {
+            signatures[index] = readStrings(buffer);
+            if (signatures[index].length == 0) {
+                throw new IOException("Corrupted metadata cache");
+            }
+        }
+        return signatures;
+    }
+
+    /**
+     * Reads the strings.
+     *
+     * @param buffer
+     *         The buffer to read from. Never {@code null}.
+     * @return The strings. Never {@code null}.
+     * @throws IOException
+     *         When the cache is corrupted.
+     */
+    @NotNull
+    private static String[] readStrings(@NotNull final ByteBuffer buffer) throws IOException {
+        final String[] strings = new String[readCount(buffer)];
+        for (int index = 0; index < strings.length; index++) {
+            strings[index] = readString(buffer);
+        }
+        return strings;
+    }
+
+    /**
+     * Reads the count and checks it is sane.
+     *
+     * @param buffer
+     *         The buffer to read from. Never {@code null}.
+     * @return The count.
+     * @throws IOException
+     *         When the cache is corrupted.
+     */
+    private static int readCount(@NotNull final ByteBuffer buffer) throws IOException {
+        final int count = buffer.getInt();
+        if (count < 0 || count > buffer.remaining()) {
+            throw new IOException("Corrupted metadata cache");
+        }
+        return count;
+    }
+
+    /**
+     * Writes the string.
+     *
+     * @param output
+     *         The stream to write to. Never {@code null}.
+     * @param string
+     *         The string to write. Never {@code null}.
+     * @throws IOException
+     *         When failed to write.
+     */
+    private static void writeString(@NotNull final DataOutputStream output, @NotNull final String string)
+            throws IOException {
+        final byte[] bytes = string.getBytes(UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * Reads the string.
+     *
+     * @param buffer
+     *         The buffer to read from. Never {@code null}.
+     * @return The string. Never {@code null}.
+     * @throws IOException
+     *         When the cache is corrupted.
+     */
+    @NotNull
+    private static String readString(@NotNull final ByteBuffer buffer) throws IOException {
+        final byte[] bytes = new byte[readCount(buffer)];
+        buffer.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    /**
+     * The cached metadata of one class.
+     */
+    private static final class Record {
+
+        @Nullable private final String[]   mConstructor;
+        @NotNull private final  String[]   mFields;
+        @NotNull private final  String[][] mMethods;
+        @NotNull private final  String[][] mProviderMethods;
+
+        /**
+         * Constructs the record.
+         *
+         * @param constructor
+         *         The parameter types of the injection constructor or {@code null} if none.
+         * @param fields
+         *         The names of the injected fields. Never {@code null}.
+         * @param methods
+         *         The signatures of the injected methods. Never {@code null}.
+         * @param providerMethods
+         *         The signatures of the provider methods. Never {@code null}.
+         */
+        Record(@Nullable final String[] constructor,
+               @NotNull final String[] fields,
+               @NotNull final String[][] methods,
+               @NotNull final String[][] providerMethods) {
+            mConstructor = constructor;
+            mFields = fields;
+            mMethods = methods;
+            mProviderMethods = providerMethods;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.kk.inject;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * The index of the modules and their provider methods built at the compile time by the annotation processor (see
+ * the {@code processor} project).
+ * <p/>
+ * It allows to locate the provider methods of the module directly, with out scanning all its methods. The modules
+ * which are not indexed (or which changed since indexed) are scanned as usual.
+ */
+final class ModuleIndex {
+
+    /** The resource name of the index. Must match the one written by the annotation processor. */
+    static final String INDEX_RESOURCE = "META-INF/kkinject/modules";
+
+    @NotNull private static final Map<ClassLoader, ModuleIndex> sIndexes = new WeakHashMap<>();
+
+    @NotNull private final Map<String, String[]> mModules;
+
+    /**
+     * Constructs the index.
+     * <p/>
+     * The index does not reference its class loader (it is the weak key of the index registry), so the class loader
+     * can be unloaded.
+     *
+     * @param modules
+     *         The provider method descriptions per the module class name. Never {@code null}.
+     */
+    ModuleIndex(@NotNull final Map<String, String[]> modules) {
+        mModules = modules;
+    }
+
+    /**
+     * Retrieves the provider methods of the module from the index.
+     *
+     * @param moduleClass
+     *         The module class. Never {@code null}.
+     * @return If indexed then the provider methods else {@code null}.
+     */
+    @Nullable
+    static Method[] getProviderMethods(@NotNull final Class<?> moduleClass) {
+        final ClassLoader classLoader = moduleClass.getClassLoader();
+        if (classLoader == null) {
+            return null;
+        }
+        final ModuleIndex index;
+        synchronized (sIndexes) {
+            ModuleIndex loaded = sIndexes.get(classLoader);
+            if (loaded == null) {
+                loaded = load(classLoader);
+                sIndexes.put(classLoader, loaded);
+            }
+            index = loaded;
+        }
+        return index.resolve(moduleClass);
+    }
+
+    /**
+     * Resolves the provider methods of the module.
+     *
+     * @param moduleClass
+     *         The module class. Never {@code null}.
+     * @return If indexed (and the indexed methods exist and are still the providers) then the provider methods else
+     * {@code null}.
+     */
+    @Nullable
+    Method[] resolve(@NotNull final Class<?> moduleClass) {
+        final String[] descriptions = mModules.get(moduleClass.getName());
+        if (descriptions == null) {
+            return null;
+        }
+        final Method[] methods = new Method[descriptions.length];
+        try {
+            for (int index = 0; index < descriptions.length; index++) {
+                final Method method = resolveMethod(moduleClass, descriptions[index]);
+                if (!method.isAnnotationPresent(Provides.class)) {
+                    return null;
+                }
+                methods[index] = method;
+            }
+        } catch (ClassNotFoundException | NoSuchMethodException | IllegalArgumentException e) {
+            return null;
+        }
+        return methods;
+    }
+
+    /**
+     * Parses the index.
+     *
+     * @param reader
+     *         The reader to read the index from. Never {@code null}.
+     * @param modules
+     *         The map to store the provider method descriptions to. Never {@code null}.
+     * @throws IOException
+     *         When failed to read the index.
+     */
+    static void parse(@NotNull final BufferedReader reader, @NotNull final Map<String, String[]> modules)
+            throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            final String[] parts = line.split("\t");
+            final String[] descriptions = new String[parts.length - 1];
+            System.arraycopy(parts, 1, descriptions, 0, descriptions.length);
+            modules.put(parts[0], descriptions);
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Internals
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Loads all the indexes visible by the class loader.
+     *
+     * @param classLoader
+     *         The class loader. Never {@code null}.
+     * @return The index. If failed to read then empty. Never {@code null}.
+     */
+    @NotNull
+    private static ModuleIndex load(@NotNull final ClassLoader classLoader) {
+        final Map<String, String[]> modules = new HashMap<>();
+        try {
+            final Enumeration<URL> resources = classLoader.getResources(INDEX_RESOURCE);
+            while (resources.hasMoreElements()) {
+                final BufferedReader reader = new BufferedReader(new InputStreamReader(resources.nextElement()
+                                                                                                .openStream(),
+                                                                                       "UTF-8"));
+                try {
+                    parse(reader, modules);
+                } finally {
+                    reader.close();
+                }
+            }
+        } catch (IOException e) {
+            modules.clear();
+        }
+        return new ModuleIndex(modules);
+    }
+
+    /**
+     * Resolves the provider method from its description.
+     *
+     * @param moduleClass
+     *         The module class. Never {@code null}.
+     * @param description
+     *         The method description: {@code name(parameterType,...)}. Never {@code null}.
+     * @return The method. Never {@code null}.
+     * @throws ClassNotFoundException
+     *         When the parameter type does not exist.
+     * @throws NoSuchMethodException
+     *         When the method does not exist.
+     */
+    @NotNull
+    private static Method resolveMethod(@NotNull final Class<?> moduleClass, @NotNull final String description)
+            throws ClassNotFoundException, NoSuchMethodException {
+        final int open = description.indexOf('(');
+        final int close = description.lastIndexOf(')');
+        if (open <= 0 || close < open) {
+            throw new IllegalArgumentException(description);
+        }
+        final String name = description.substring(0, open);
+        final String parameters = description.substring(open + 1, close);
+        final Class<?>[] parameterTypes;
+        if (parameters.isEmpty()) {
+            parameterTypes = new Class<?>[0];
+        } else {
+            final String[] parameterNames = parameters.split(",");
+            parameterTypes = new Class<?>[parameterNames.length];
+            for (int index = 0; index < parameterNames.length; index++) {
+                parameterTypes[index] = resolveType(moduleClass.getClassLoader(), parameterNames[index]);
+            }
+        }
+        return moduleClass.getDeclaredMethod(name, parameterTypes);
+    }
+
+    /**
+     * Resolves the type by its runtime name.
+     *
+     * @param classLoader
+     *         The class loader to load the type by. Can be {@code null} (the bootstrap class loader).
+     * @param name
+     *         The name as returned by {@link Class#getName()}. Never {@code null}.
+     * @return The type. Never {@code null}.
+     * @throws ClassNotFoundException
+     *         When the type does not exist.
+     */
+    @NotNull
+    static Class<?> resolveType(@Nullable final ClassLoader classLoader, @NotNull final String name)
+            throws ClassNotFoundException {
+        switch (name) {
+            case "byte":
+                return byte.class;
+            case "short":
+                return short.class;
+            case "int":
+                return int.class;
+            case "long":
+                return long.class;
+            case "float":
+                return float.class;
+            case "double":
+                return double.class;
+            case "boolean":
+                return boolean.class;
+            case "char":
+                return char.class;
+            default:
+                return Class.forName(name, false, classLoader);
+        }
+    }
+}
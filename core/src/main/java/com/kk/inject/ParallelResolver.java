@@ -0,0 +1,203 @@
+package com.kk.inject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Resolves the independent constructor/method parameters concurrently at the fork-join pool.
+ * <p/>
+ * Only the parameters served by the instantiating binders are resolved concurrently, all others are resolved by the
+ * calling thread. The objects instantiated by the worker threads are collected per task and handed over to the
+ * calling thread, so the (field and method) injection is still performed by the factory injection queue.
+ * <p/>
+ * It is kept separately from the factory so the fork-join classes are only loaded when the parallel resolution is
+ * enabled. The fork-join pool is shared by all the factories (and their forks), so enabling the parallel resolution
+ * for many factories does not multiply the worker threads.
+ */
+final class ParallelResolver {
+
+    @Nullable private static ForkJoinPool sPool;
+
+    @NotNull private final Factory                   mFactory;
+    @NotNull private final ForkJoinPool              mPool;
+    @NotNull private final ThreadLocal<List<Object>> mWorkerObjectsToInject;
+
+    /**
+     * Constructs the resolver.
+     *
+     * @param factory
+     *         The factory which the resolver works for. Never {@code null}.
+     */
+    ParallelResolver(@NotNull final Factory factory) {
+        mFactory = factory;
+        mPool = getPool();
+        mWorkerObjectsToInject = new ThreadLocal<>();
+    }
+
+    /**
+     * Ensures the fork-join pool shared by all the resolvers.
+     * <p/>
+     * Its worker threads are the daemon ones, so it never prevents the application from exiting (and it is never shut
+     * down).
+     *
+     * @return The pool. Never {@code null}.
+     */
+    @NotNull
+    static synchronized ForkJoinPool getPool() {
+        if (sPool == null) {
+            sPool = new ForkJoinPool();
+        }
+        return sPool;
+    }
+
+    /**
+     * Records the object to be injected if called from within the worker task.
+     *
+     * @param objectToInject
+     *         The object to be injected. Never {@code null}.
+     * @return If called from within the worker task then {@code true} else {@code false}.
+     */
+    boolean recordObjectToInject(@NotNull final Object objectToInject) {
+        final List<Object> objectsToInject = mWorkerObjectsToInject.get();
+        if (objectsToInject == null) {
+            return false;
+        }
+        objectsToInject.add(objectToInject);
+        return true;
+    }
+
+    /**
+     * Collects the array of parameters for constructor/method invocation by injection from the injection points.
+     * <p/>
+     * See {@link Factory#collectParametersToInject(ParametersMetadata)}.
+     *
+     * @param injectionPoints
+     *         The injection points of the parameters. Never {@code null}.
+     * @return The array of injected parameters. Never {@code null}.
+     */
+    @NotNull
+    Object[] collectParametersToInject(@NotNull final InjectionPoint[] injectionPoints) {
+        final Object[] result = new Object[injectionPoints.length];
+        final ResolveTask[] tasks = new ResolveTask[injectionPoints.length];
+        final Binder<?>[] binders = new Binder<?>[injectionPoints.length];
+        final ResolutionPath path = ResolutionPath.current();
+        boolean completed = false;
+        try {
+            // Start the tasks for the parameters to be instantiated, the last one is left for the calling thread
+            ResolveTask lastTask = null;
+            for (int index = 0; index < injectionPoints.length; index++) {
+                final Binder<?> binder = mFactory.locateParameterBinder(injectionPoints[index]);
+                binders[index] = binder;
+                if (injectionPoints[index].isFuture()) {
+                    continue;
+                }
+                // The binder on the path is locked by this thread, so the worker would wait for it for good
+                path.check(binder);
+                if (binder instanceof BinderInstantiate) {
+                    if (lastTask != null) {
+                        if (ForkJoinTask.inForkJoinPool()) {
+                            lastTask.fork();
+                        } else {
+                            mPool.execute(lastTask);
+                        }
+                    }
+                    lastTask = new ResolveTask(binder, path);
+                    tasks[index] = lastTask;
+                }
+            }
+            if (lastTask != null) {
+                lastTask.mForked = false;
+            }
+            // Resolve the remaining parameters by the calling thread
+            for (int index = 0; index < injectionPoints.length; index++) {
+                final ResolveTask task = tasks[index];
+                if (task == null) {
+                    result[index] =
+                            injectionPoints[index].isFuture() ? binders[index].getAsync() : binders[index].get();
+                } else if (!task.mForked) {
+                    result[index] = task.mBinder.get();
+                }
+            }
+            // Wait for the tasks and hand the objects to inject over to the calling thread
+            for (int index = 0; index < injectionPoints.length; index++) {
+                final ResolveTask task = tasks[index];
+                if (task != null && task.mForked) {
+                    result[index] = task.join();
+                    for (final Object objectToInject : task.mObjectsToInject) {
+                        mFactory.injectObject(objectToInject);
+                    }
+                }
+            }
+            completed = true;
+        } finally {
+            if (!completed) {
+                // Stop the tasks not started yet and wait for the running ones, so none resolves after the failure
+                for (final ResolveTask task : tasks) {
+                    if (task != null) {
+                        task.mAbandoned = true;
+                    }
+                }
+                for (final ResolveTask task : tasks) {
+                    if (task != null && task.mForked) {
+                        task.quietlyJoin();
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Resolves single parameter at the worker thread.
+     */
+    private final class ResolveTask extends RecursiveTask<Object> {
+
+        private static final long serialVersionUID = 1L;
+
+        @NotNull private final Binder<?>      mBinder;
+        @NotNull private final ResolutionPath mPath;
+        @NotNull private final List<Object>   mObjectsToInject;
+        private                boolean        mForked;
+        private volatile       boolean        mAbandoned;
+
+        /**
+         * Constructs the task.
+         *
+         * @param binder
+         *         The binder to resolve the parameter with. Never {@code null}.
+         * @param path
+         *         The resolution path of the thread starting the task. Never {@code null}.
+         */
+        ResolveTask(@NotNull final Binder<?> binder, @NotNull final ResolutionPath path) {
+            mBinder = binder;
+            // The worker continues the path of the thread starting the task, so the cycles through it are detected
+            mPath = new ResolutionPath(path);
+            mObjectsToInject = new ArrayList<>();
+            mForked = true;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected Object compute() {
+            if (mAbandoned) {
+                return null;
+            }
+            // The worker can run (steal) other tasks while joining, so the previous list and path must be restored
+            final List<Object> previous = mWorkerObjectsToInject.get();
+            final ResolutionPath previousPath = ResolutionPath.current();
+            mWorkerObjectsToInject.set(mObjectsToInject);
+            ResolutionPath.setCurrent(mPath);
+            try {
+                return mBinder.get();
+            } finally {
+                ResolutionPath.setCurrent(previousPath);
+                mWorkerObjectsToInject.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.kk.inject;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+
+/**
+ * The parameters metadata of the constructor or method.
+ * <p/>
+ * The reflection clones the parameter arrays on every call, so they are retrieved only once and shared.
+ */
+final class ParametersMetadata {
+
+    @NotNull private final Class<?>[]       mParameterTypes;
+    @NotNull private final Type[]           mGenericParameterTypes;
+    @NotNull private final Annotation[][]   mParameterAnnotations;
+    @NotNull private final InjectionPoint[] mInjectionPoints;
+
+    /**
+     * Constructs the metadata.
+     *
+     * @param parameterTypes
+     *         The parameter types. Never {@code null}.
+     * @param genericParameterTypes
+     *         The generic parameter types. Never {@code null}.
+     * @param parameterAnnotations
+     *         The parameter annotations. Never {@code null}.
+     */
+    private ParametersMetadata(@NotNull final Class<?>[] parameterTypes,
+                               @NotNull final Type[] genericParameterTypes,
+                               @NotNull final Annotation[][] parameterAnnotations) {
+        mParameterTypes = parameterTypes;
+        mGenericParameterTypes = genericParameterTypes;
+        mParameterAnnotations = parameterAnnotations;
+        mInjectionPoints = InjectionPoint.forParameters(parameterTypes, genericParameterTypes, parameterAnnotations);
+    }
+
+    /**
+     * Retrieves the parameters metadata of the constructor.
+     *
+     * @param constructor
+     *         The constructor. Never {@code null}.
+     * @return The metadata. Never {@code null}.
+     */
+    @NotNull
+    static ParametersMetadata of(@NotNull final Constructor<?> constructor) {
+        return new ParametersMetadata(constructor.getParameterTypes(),
+                                      constructor.getGenericParameterTypes(),
+                                      constructor.getParameterAnnotations());
+    }
+
+    /**
+     * Retrieves the parameters metadata of the method.
+     *
+     * @param method
+     *         The method. Never {@code null}.
+     * @return The metadata. Never {@code null}.
+     */
+    @NotNull
+    static ParametersMetadata of(@NotNull final Method method) {
+        return new ParametersMetadata(method.getParameterTypes(),
+                                      method.getGenericParameterTypes(),
+                                      method.getParameterAnnotations());
+    }
+
+    /**
+     * Retrieves the parameter types.
+     *
+     * @return The parameter types. Never {@code null}. Must not be modified.
+     */
+    @NotNull
+    Class<?>[] getParameterTypes() {
+        return mParameterTypes;
+    }
+
+    /**
+     * Retrieves the generic parameter types.
+     *
+     * @return The generic parameter types. Never {@code null}. Must not be modified.
+     */
+    @NotNull
+    Type[] getGenericParameterTypes() {
+        return mGenericParameterTypes;
+    }
+
+    /**
+     * Retrieves the parameter annotations.
+     *
+     * @return The parameter annotations. Never {@code null}. Must not be modified.
+     */
+    @NotNull
+    Annotation[][] getParameterAnnotations() {
+        return mParameterAnnotations;
+    }
+
+    /**
+     * Retrieves the injection points of the parameters.
+     *
+     * @return The injection points. Never {@code null}. Must not be modified.
+     */
+    @NotNull
+    InjectionPoint[] getInjectionPoints() {
+        return mInjectionPoints;
+    }
+}
@@ -0,0 +1,76 @@
+package com.kk.inject;
+
+/**
+ * Snapshot of the pooled binding statistics.
+ */
+public final class PoolStatistics {
+
+    private final long mHits;
+    private final long mMisses;
+    private final int  mIdle;
+    private final int  mMaxSize;
+
+    /**
+     * Constructs the statistics snapshot.
+     *
+     * @param hits
+     *         The number of requests served from the pool.
+     * @param misses
+     *         The number of requests which had to instantiate the new object.
+     * @param idle
+     *         The number of instances currently waiting in the pool.
+     * @param maxSize
+     *         The maximal number of instances the pool can hold.
+     */
+    PoolStatistics(final long hits, final long misses, final int idle, final int maxSize) {
+        mHits = hits;
+        mMisses = misses;
+        mIdle = idle;
+        mMaxSize = maxSize;
+    }
+
+    /**
+     * Retrieves the number of requests served from the pool.
+     *
+     * @return The number of hits.
+     */
+    public long getHits() {
+        return mHits;
+    }
+
+    /**
+     * Retrieves the number of requests which had to instantiate the new object.
+     *
+     * @return The number of misses.
+     */
+    public long getMisses() {
+        return mMisses;
+    }
+
+    /**
+     * Retrieves the number of instances currently waiting in the pool.
+     *
+     * @return The number of idle instances.
+     */
+    public int getIdle() {
+        return mIdle;
+    }
+
+    /**
+     * Retrieves the maximal number of instances the pool can hold.
+     *
+     * @return The pool capacity.
+     */
+    public int getMaxSize() {
+        return mMaxSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "PoolStatistics{hits=" + mHits + ", misses=" + mMisses + ", idle=" + mIdle + ", maxSize=" + mMaxSize +
+                "}";
+    }
+}
@@ -0,0 +1,15 @@
+package com.kk.inject;
+
+/**
+ * Optionally implemented by the pooled instances.
+ * <p/>
+ * When the pooled instance is released back to the pool, its {@link #reset()} method is called to bring it to the
+ * state in which it can be handed out again.
+ */
+public interface Poolable {
+
+    /**
+     * Resets the instance state before it is returned to the pool.
+     */
+    void reset();
+}
@@ -0,0 +1,22 @@
+package com.kk.inject;
+
+/**
+ * How strongly the singleton instance is held by its binding.
+ */
+public enum ReferenceStrength {
+
+    /**
+     * The singleton is held for the whole factory life time.
+     */
+    STRONG,
+
+    /**
+     * The singleton is held by the soft reference, so it can be reclaimed when the memory is running low.
+     */
+    SOFT,
+
+    /**
+     * The singleton is held by the weak reference, so it can be reclaimed as soon as nobody else uses it.
+     */
+    WEAK
+}
@@ -0,0 +1,194 @@
+package com.kk.inject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resolves the parameters with out the recursion.
+ * <p/>
+ * The binder resolving its instance by the injected parameters (see {@link Binder#getDependencies()}) is not asked
+ * for the instance directly (which would resolve its parameters recursively) but its parameters are pushed to the
+ * explicit stack of the frames instead. Once all the parameters of the frame are resolved, the instance is completed
+ * by the binder (see {@link Binder#complete(Object[])}) and passed to the parent frame. So the depth of the dependency
+ * graph is not limited by the thread stack size, in the same way as the {@code injectAll} queue of the factory does
+ * not limit the field injection.
+ */
+final class ResolutionEngine {
+
+    /**
+     * Prevents instantiation.
+     */
+    private ResolutionEngine() {
+    }
+
+    /**
+     * Collects the parameters for the injection points.
+     *
+     * @param factory
+     *         The factory to locate the binders in. Never {@code null}.
+     * @param injectionPoints
+     *         The injection points. Never {@code null}.
+     * @param binders
+     *         The binders already located for the injection points. If {@code null} then located now.
+     * @return The collected parameters. Never {@code null}.
+     * @throws InjectException
+     *         When any parameter cannot be resolved.
+     */
+    @NotNull
+    static Object[] collect(@NotNull final Factory factory,
+                            @NotNull final InjectionPoint[] injectionPoints,
+                            @Nullable final Binder<?>[] binders) {
+        // The shallow graphs (only the directly resolvable parameters) need no frames at all
+        final ResolutionPath path = ResolutionPath.current();
+        final Object[] values = new Object[injectionPoints.length];
+        Binder<?> binder = null;
+        int next = 0;
+        while (next < injectionPoints.length) {
+            binder = binders != null ? binders[next] : factory.locateParameterBinder(injectionPoints[next]);
+            if (injectionPoints[next].isFuture()) {
+                values[next++] = binder.getAsync();
+                continue;
+            }
+            path.check(binder);
+            if (binder.getDependencies() == null) {
+                values[next++] = binder.get();
+            } else {
+                break;
+            }
+        }
+        if (next == injectionPoints.length) {
+            return values;
+        }
+        final Frame root = new Frame(null, injectionPoints, binders, values);
+        root.mNext = next;
+        root.mLocatedBinder = binder;
+        root.mLocatedIndex = next;
+        final List<Frame> stack = new ArrayList<>();
+        stack.add(root);
+        try {
+            while (true) {
+                final Frame frame = stack.get(stack.size() - 1);
+                if (!resolveDirectly(factory, path, frame)) {
+                    // The next parameter has its own parameters to resolve first
+                    final Binder<?> dependency = frame.getBinder(factory);
+                    path.enter(dependency);
+                    final InjectionPoint[] dependencies = dependency.getDependencies();
+                    stack.add(new Frame(dependency,
+                                        dependencies,
+                                        dependency.getLinkedDependencies(),
+                                        new Object[dependencies.length]));
+                } else if (frame.mBinder == null) {
+                    return frame.mValues;
+                } else {
+                    // All the parameters resolved, so pass the instance to the parent frame
+                    stack.remove(stack.size() - 1);
+                    path.exit();
+                    final Frame parent = stack.get(stack.size() - 1);
+                    parent.mValues[parent.mNext++] = frame.mBinder.complete(frame.mValues);
+                }
+            }
+        } finally {
+            // Leave the frames abandoned by the failure
+            for (int index = stack.size() - 1; index > 0; index--) {
+                path.exit();
+            }
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Internals
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Resolves the parameters of the frame which do not need to push the new frame (the futures and the binders
+     * resolving with out any dependencies).
+     *
+     * @param factory
+     *         The factory to locate the binders in. Never {@code null}.
+     * @param path
+     *         The resolution path of the current thread. Never {@code null}.
+     * @param frame
+     *         The frame. Never {@code null}.
+     * @return If all the parameters of the frame are resolved then {@code true} else (the next parameter needs the
+     * new frame) {@code false}.
+     */
+    private static boolean resolveDirectly(@NotNull final Factory factory,
+                                           @NotNull final ResolutionPath path,
+                                           @NotNull final Frame frame) {
+        while (frame.mNext < frame.mInjectionPoints.length) {
+            final InjectionPoint injectionPoint = frame.mInjectionPoints[frame.mNext];
+            final Binder<?> binder = frame.getBinder(factory);
+            if (injectionPoint.isFuture()) {
+                frame.mValues[frame.mNext++] = binder.getAsync();
+                continue;
+            }
+            path.check(binder);
+            if (binder.getDependencies() == null) {
+                frame.mValues[frame.mNext++] = binder.get();
+            } else {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The binder resolving its parameters.
+     */
+    private static final class Frame {
+
+        @Nullable private final Binder<?>        mBinder;
+        @NotNull private final  InjectionPoint[] mInjectionPoints;
+        @Nullable private final Binder<?>[]      mBinders;
+        @NotNull private final  Object[]         mValues;
+        @Nullable private       Binder<?>        mLocatedBinder;
+        private                 int              mLocatedIndex;
+        private                 int              mNext;
+
+        /**
+         * Constructs the frame.
+         *
+         * @param binder
+         *         The binder to complete once the parameters are resolved. If {@code null} then the root frame.
+         * @param injectionPoints
+         *         The injection points of the parameters. Never {@code null}.
+         * @param binders
+         *         The binders already located for the injection points. Can be {@code null}.
+         * @param values
+         *         The array to collect the parameters to. Never {@code null}.
+         */
+        Frame(@Nullable final Binder<?> binder,
+              @NotNull final InjectionPoint[] injectionPoints,
+              @Nullable final Binder<?>[] binders,
+              @NotNull final Object[] values) {
+            mBinder = binder;
+            mInjectionPoints = injectionPoints;
+            mBinders = binders;
+            mValues = values;
+            mLocatedBinder = null;
+            mLocatedIndex = -1;
+            mNext = 0;
+        }
+
+        /**
+         * Retrieves the binder of the next parameter.
+         * <p/>
+         * It is located only once per parameter, even though asked repeatedly.
+         *
+         * @param factory
+         *         The factory to locate the binder in. Never {@code null}.
+         * @return The binder. Never {@code null}.
+         */
+        @NotNull
+        Binder<?> getBinder(@NotNull final Factory factory) {
+            if (mBinders != null) {
+                return mBinders[mNext];
+            }
+            if (mLocatedIndex != mNext) {
+                mLocatedBinder = factory.locateParameterBinder(mInjectionPoints[mNext]);
+                mLocatedIndex = mNext;
+            }
+            return mLocatedBinder;
+        }
+    }
+}
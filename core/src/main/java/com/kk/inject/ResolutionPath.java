@@ -0,0 +1,172 @@
+package com.kk.inject;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The path of the binders currently resolving their parameters by the thread.
+ * <p/>
+ * It detects the circular dependencies (like the constructor requiring the instance which requires the instance of
+ * the first class by its constructor), which would recurse until the stack overflow otherwise. The membership test is
+ * the lookup of the binder index in the small array of counters, so the path is only scanned when the binder (or
+ * other binder with the colliding index) is already on the path. The very deep paths (which would make most of the
+ * counters non-zero) keep their binders in the identity set instead of scanning.
+ */
+final class ResolutionPath {
+
+    private static final int FILTER_SIZE = 256;
+
+    @NotNull private static final ThreadLocal<ResolutionPath> sPaths = new ThreadLocal<ResolutionPath>() {
+        @Override
+        protected ResolutionPath initialValue() {
+            return new ResolutionPath();
+        }
+    };
+
+    @NotNull private final  int[]                   mFilter;
+    @NotNull private        Binder<?>[]             mBinders;
+    private                 int                     mDepth;
+    @Nullable private       Map<Binder<?>, Boolean> mDeepBinders;
+
+    /**
+     * Constructs the empty path.
+     */
+    ResolutionPath() {
+        mFilter = new int[FILTER_SIZE];
+        mBinders = new Binder<?>[16];
+        mDepth = 0;
+        mDeepBinders = null;
+    }
+
+    /**
+     * Constructs the copy of the path, for the worker thread resolving the part of the graph (see
+     * {@link ParallelResolver}).
+     *
+     * @param path
+     *         The path to copy. Never {@code null}.
+     */
+    ResolutionPath(@NotNull final ResolutionPath path) {
+        mFilter = path.mFilter.clone();
+        mBinders = path.mBinders.clone();
+        mDepth = path.mDepth;
+        mDeepBinders = path.mDeepBinders != null ? new IdentityHashMap<>(path.mDeepBinders) : null;
+    }
+
+    /**
+     * Retrieves the path of the current thread.
+     *
+     * @return The path. Never {@code null}.
+     */
+    @NotNull
+    static ResolutionPath current() {
+        return sPaths.get();
+    }
+
+    /**
+     * Replaces the path of the current thread.
+     *
+     * @param path
+     *         The path. Never {@code null}.
+     */
+    static void setCurrent(@NotNull final ResolutionPath path) {
+        sPaths.set(path);
+    }
+
+    /**
+     * Checks the binder is not on the path, before it is asked for the instance.
+     * <p/>
+     * The binder on the path may be locked by the thread which entered it, so asking it for the instance from other
+     * thread (see {@link ParallelResolver}) would block that thread for good instead of reporting the cycle.
+     *
+     * @param binder
+     *         The binder. Never {@code null}.
+     * @throws InjectException
+     *         When the binder is on the path (so it depends on itself).
+     */
+    void check(@NotNull final Binder<?> binder) {
+        if (mDeepBinders != null) {
+            if (mDeepBinders.containsKey(binder)) {
+                throwIfOnPath(binder);
+            }
+        } else if (mFilter[binder.mIndex & (FILTER_SIZE - 1)] > 0) {
+            throwIfOnPath(binder);
+        }
+    }
+
+    /**
+     * Enters the binder: it starts resolving its parameters.
+     *
+     * @param binder
+     *         The binder. Never {@code null}.
+     * @throws InjectException
+     *         When the binder is already on the path (so it depends on itself).
+     */
+    void enter(@NotNull final Binder<?> binder) {
+        check(binder);
+        if (mDepth == mBinders.length) {
+            final Binder<?>[] binders = new Binder<?>[mDepth * 2];
+            System.arraycopy(mBinders, 0, binders, 0, mDepth);
+            mBinders = binders;
+        }
+        mBinders[mDepth++] = binder;
+        mFilter[binder.mIndex & (FILTER_SIZE - 1)]++;
+        if (mDeepBinders != null) {
+            mDeepBinders.put(binder, Boolean.TRUE);
+        } else if (mDepth == FILTER_SIZE) {
+            mDeepBinders = new IdentityHashMap<>();
+            for (int index = 0; index < mDepth; index++) {
+                mDeepBinders.put(mBinders[index], Boolean.TRUE);
+            }
+        }
+    }
+
+    /**
+     * Exits the binder entered last: it resolved its parameters (or failed).
+     */
+    void exit() {
+        final Binder<?> binder = mBinders[--mDepth];
+        mBinders[mDepth] = null;
+        mFilter[binder.mIndex & (FILTER_SIZE - 1)]--;
+        if (mDeepBinders != null) {
+            if (mDepth < FILTER_SIZE / 2) {
+                mDeepBinders = null;
+            } else {
+                mDeepBinders.remove(binder);
+            }
+        }
+    }
+
+    /**
+     * Retrieves the number of the binders on the path.
+     *
+     * @return The depth.
+     */
+    int getDepth() {
+        return mDepth;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Internals
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Scans the path and if the binder is there then throws the exception listing the cycle.
+     *
+     * @param binder
+     *         The binder. Never {@code null}.
+     * @throws InjectException
+     *         When the binder is on the path.
+     */
+    private void throwIfOnPath(@NotNull final Binder<?> binder) {
+        for (int index = mDepth - 1; index >= 0; index--) {
+            if (mBinders[index] == binder) {
+                final StringBuilder cycle = new StringBuilder();
+                for (int member = index; member < mDepth; member++) {
+                    cycle.append(mBinders[member]).append(" -> ");
+                }
+                cycle.append(binder);
+                throw new InjectException(ErrorStrings.CIRCULAR_DEPENDENCY, cycle.toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.kk.inject;
+
+import java.util.Arrays;
+
+/**
+ * Small cache of the members (constructors or methods) selected for the runtime parameter classes signature.
+ * <p/>
+ * The lookup does not allocate: the signatures are compared class by class with the classes of the passed parameters.
+ * The cache is copy-on-write, so it can be read concurrently with out locking. When full then the oldest entry is
+ * dropped.
+ *
+ * @param <M>
+ *         The type of the cached member.
+ */
+final class SignatureCache<M> {
+
+    /** Maximal count of the cached signatures. */
+    static final int MAX_ENTRIES = 8;
+
+    @NotNull private volatile Object[] mEntries;
+
+    /**
+     * Constructs the empty cache.
+     */
+    SignatureCache() {
+        mEntries = new Object[0];
+    }
+
+    /**
+     * Finds the member previously selected for the same parameter classes.
+     *
+     * @param parameters
+     *         The runtime parameters. Never {@code null}.
+     * @return If cached then the member else {@code null}.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    M find(@NotNull final Object[] parameters) {
+        final Object[] entries = mEntries;
+        for (final Object entry : entries) {
+            final Entry<M> typedEntry = (Entry<M>) entry;
+            if (typedEntry.matches(parameters)) {
+                return typedEntry.mMember;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Remembers the member selected for the parameter classes.
+     *
+     * @param parameters
+     *         The runtime parameters. Never {@code null}.
+     * @param member
+     *         The selected member. Never {@code null}.
+     */
+    synchronized void put(@NotNull final Object[] parameters, @NotNull final M member) {
+        final Object[] entries = mEntries;
+        final Object[] newEntries;
+        if (entries.length < MAX_ENTRIES) {
+            newEntries = Arrays.copyOf(entries, entries.length + 1);
+        } else {
+            newEntries = new Object[MAX_ENTRIES];
+            System.arraycopy(entries, 1, newEntries, 0, MAX_ENTRIES - 1);
+        }
+        newEntries[newEntries.length - 1] = new Entry<>(parameters, member);
+        mEntries = newEntries;
+    }
+
+    /**
+     * Retrieves the count of the cached signatures.
+     *
+     * @return The count.
+     */
+    int size() {
+        return mEntries.length;
+    }
+
+    /**
+     * The cached signature.
+     *
+     * @param <M>
+     *         The type of the cached member.
+     */
+    private static final class Entry<M> {
+
+        @NotNull private final Class<?>[] mSignature;
+        @NotNull private final M          mMember;
+
+        /**
+         * Constructs the entry.
+         *
+         * @param parameters
+         *         The runtime parameters to take the signature of. Never {@code null}.
+         * @param member
+         *         The selected member. Never {@code null}.
+         */
+        Entry(@NotNull final Object[] parameters, @NotNull final M member) {
+            mSignature = new Class<?>[parameters.length];
+            for (int index = 0; index < parameters.length; index++) {
+                final Object parameter = parameters[index];
+                mSignature[index] = parameter != null ? parameter.getClass() : null;
+            }
+            mMember = member;
+        }
+
+        /**
+         * Checks whether the parameter classes match the signature.
+         *
+         * @param parameters
+         *         The runtime parameters. Never {@code null}.
+         * @return If matching then {@code true} else {@code false}.
+         */
+        boolean matches(@NotNull final Object[] parameters) {
+            if (parameters.length != mSignature.length) {
+                return false;
+            }
+            for (int index = 0; index < parameters.length; index++) {
+                final Object parameter = parameters[index];
+                final Class<?> parameterClass = parameter != null ? parameter.getClass() : null;
+                if (parameterClass != mSignature[index]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.kk.inject;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
 
 /**
  * Utilities.
@@ -70,28 +73,8 @@ final class Utils {
         if (typeA == null || typeB == null) {
             return false;
         }
-        if (typeA.isPrimitive() && typeB.isPrimitive()) {
-            return typeA.getName().equals(typeB.getName());
-        }
-        if (typeA.isPrimitive()) {
-            return typeA.getName().equals("byte") && typeB.equals(Byte.class) ||
-                    typeA.getName().equals("short") && typeB.equals(Short.class) ||
-                    typeA.getName().equals("int") && typeB.equals(Integer.class) ||
-                    typeA.getName().equals("long") && typeB.equals(Long.class) ||
-                    typeA.getName().equals("float") && typeB.equals(Float.class) ||
-                    typeA.getName().equals("double") && typeB.equals(Double.class) ||
-                    typeA.getName().equals("boolean") && typeB.equals(Boolean.class) ||
-                    typeA.getName().equals("char") && typeB.equals(Character.class);
-        }
-        if (typeB.isPrimitive()) {
-            return typeB.getName().equals("byte") && typeA.equals(Byte.class) ||
-                    typeB.getName().equals("short") && typeA.equals(Short.class) ||
-                    typeB.getName().equals("int") && typeA.equals(Integer.class) ||
-                    typeB.getName().equals("long") && typeA.equals(Long.class) ||
-                    typeB.getName().equals("float") && typeA.equals(Float.class) ||
-                    typeB.getName().equals("double") && typeA.equals(Double.class) ||
-                    typeB.getName().equals("boolean") && typeA.equals(Boolean.class) ||
-                    typeB.getName().equals("char") && typeA.equals(Character.class);
+        if (typeA.isPrimitive() || typeB.isPrimitive()) {
+            return typeA == typeB || ClassMetadata.of(typeA).getPrimitiveEquivalent() == typeB;
         }
         return typeB.isAssignableFrom(typeA);
     }
@@ -106,57 +89,7 @@ final class Utils {
     @Nullable
     static Class<?> getPrimitiveEquivalent(@Nullable final Class<?> forType) {
         if (forType != null) {
-            if (forType.isPrimitive()) {
-                if (forType.getName().equals("byte")) {
-                    return Byte.class;
-                }
-                if (forType.getName().equals("short")) {
-                    return Short.class;
-                }
-                if (forType.getName().equals("int")) {
-                    return Integer.class;
-                }
-                if (forType.getName().equals("long")) {
-                    return Long.class;
-                }
-                if (forType.getName().equals("float")) {
-                    return Float.class;
-                }
-                if (forType.getName().equals("double")) {
-                    return Double.class;
-                }
-                if (forType.getName().equals("boolean")) {
-                    return Boolean.class;
-                }
-                if (forType.getName().equals("char")) {
-                    return Character.class;
-                }
-            } else {
-                if (forType.equals(Byte.class)) {
-                    return byte.class;
-                }
-                if (forType.equals(Short.class)) {
-                    return short.class;
-                }
-                if (forType.equals(Integer.class)) {
-                    return int.class;
-                }
-                if (forType.equals(Long.class)) {
-                    return long.class;
-                }
-                if (forType.equals(Float.class)) {
-                    return float.class;
-                }
-                if (forType.equals(Double.class)) {
-                    return double.class;
-                }
-                if (forType.equals(Boolean.class)) {
-                    return boolean.class;
-                }
-                if (forType.equals(Character.class)) {
-                    return char.class;
-                }
-            }
+            return ClassMetadata.of(forType).getPrimitiveEquivalent();
         }
         return null;
     }
@@ -188,8 +121,48 @@ final class Utils {
      * @return If annotation shall be used then {@code true} else {@code false}.
      */
     static boolean useAnnotationForBinding(@Nullable final Annotation annotation) {
-        return annotation != null && !(annotation instanceof Named) && !(annotation instanceof Inject) &&
-                !(annotation instanceof Singleton) && !(annotation instanceof NotNull) &&
-                !(annotation instanceof Nullable);
+        return annotation != null && ClassMetadata.of(annotation.annotationType()).isQualifier();
+    }
+
+    /**
+     * Retrieves the class of the result of the future type (like {@code Future<User>}).
+     *
+     * @param futureType
+     *         The generic future type. Can be {@code null}.
+     * @return If the result type can be determined then its class else {@code null}.
+     */
+    @Nullable
+    static Class<?> getFutureResultType(@Nullable final Type futureType) {
+        if (futureType instanceof ParameterizedType) {
+            final Type[] arguments = ((ParameterizedType) futureType).getActualTypeArguments();
+            if (arguments.length == 1) {
+                return getRawType(arguments[0]);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves the raw class of the generic type.
+     *
+     * @param type
+     *         The generic type. Can be {@code null}.
+     * @return If the raw class can be determined then the class else {@code null}.
+     */
+    @Nullable
+    static Class<?> getRawType(@Nullable final Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType) {
+            return getRawType(((ParameterizedType) type).getRawType());
+        }
+        if (type instanceof WildcardType) {
+            final Type[] upperBounds = ((WildcardType) type).getUpperBounds();
+            if (upperBounds.length == 1) {
+                return getRawType(upperBounds[0]);
+            }
+        }
+        return null;
     }
 }
@@ -0,0 +1,125 @@
+package com.kk.inject;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The set of the objects compared by the identity and referenced weakly.
+ * <p/>
+ * The objects never removed (like the pooled instances never released) are dropped from the set once collected by
+ * the garbage collector, so the set does not keep them alive. It is thread safe with out any lock of its own: It is
+ * backed by the concurrent hash map, so the concurrent updates contend only when hitting the same bucket.
+ *
+ * @param <T>
+ *         The class type to ensure the type safety by the compiler.
+ */
+final class WeakIdentitySet<T> {
+
+    @NotNull private final Set<Key>               mKeys;
+    @NotNull private final ReferenceQueue<Object> mQueue;
+
+    /**
+     * Constructs the empty set.
+     */
+    WeakIdentitySet() {
+        mKeys = Collections.newSetFromMap(new ConcurrentHashMap<Key, Boolean>());
+        mQueue = new ReferenceQueue<>();
+    }
+
+    /**
+     * Adds the object.
+     *
+     * @param object
+     *         The object. Never {@code null}.
+     */
+    void add(@NotNull final T object) {
+        expunge();
+        mKeys.add(new Key(object, mQueue));
+    }
+
+    /**
+     * Removes the object.
+     *
+     * @param object
+     *         The object. Never {@code null}.
+     * @return If the object was in the set then {@code true} else {@code false}.
+     */
+    boolean remove(@NotNull final T object) {
+        expunge();
+        return mKeys.remove(new Key(object, null));
+    }
+
+    /**
+     * Retrieves the number of the objects (including those collected but not yet dropped).
+     * <p/>
+     * It is only the estimate while the set is being updated concurrently.
+     *
+     * @return The number of the objects.
+     */
+    int size() {
+        expunge();
+        return mKeys.size();
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Internals
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Drops the keys of the collected objects.
+     */
+    private void expunge() {
+        for (Object key = mQueue.poll(); key != null; key = mQueue.poll()) {
+            mKeys.remove(key);
+        }
+    }
+
+    /**
+     * The key referencing the object weakly and comparing it by the identity.
+     */
+    private static final class Key extends WeakReference<Object> {
+
+        private final int mHash;
+
+        /**
+         * Constructs the key.
+         *
+         * @param object
+         *         The object. Never {@code null}.
+         * @param queue
+         *         The queue to enqueue the key to once the object is collected. Can be {@code null}.
+         */
+        Key(@NotNull final Object object, @Nullable final ReferenceQueue<Object> queue) {
+            super(object, queue);
+            mHash = System.identityHashCode(object);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int hashCode() {
+            return mHash;
+        }
+
+        /**
+         * {@inheritDoc}
+         * <p/>
+         * The collected key only equals to itself (so it can be dropped).
+         */
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            final Object object = get();
+            return object != null && object == ((Key) other).get();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.kk.inject;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * Tests the {@link BinderPooled} class.
+ */
+public class BinderPooledTest {
+
+    public static class Buffer implements Poolable {
+
+        int mResetCounter;
+
+        @Override
+        public void reset() {
+            mResetCounter++;
+        }
+    }
+
+    @Test
+    public void getInstantiatesWhenEmpty() {
+        final Factory factory = Mockito.mock(Factory.class);
+        final BinderPooled<Buffer> binder = new BinderPooled<>(factory, Buffer.class, 2);
+        final Buffer buffer1 = binder.get();
+        final Buffer buffer2 = binder.get();
+        Assert.assertNotNull(buffer1);
+        Assert.assertNotSame(buffer1, buffer2);
+        final PoolStatistics statistics = binder.getStatistics();
+        Assert.assertEquals(0, statistics.getHits());
+        Assert.assertEquals(2, statistics.getMisses());
+    }
+
+    @Test
+    public void releaseResetsAndRecycles() {
+        final Factory factory = Mockito.mock(Factory.class);
+        final BinderPooled<Buffer> binder = new BinderPooled<>(factory, Buffer.class, 2);
+        final Buffer buffer = binder.get();
+        Assert.assertTrue(binder.release(buffer));
+        Assert.assertEquals(1, buffer.mResetCounter);
+        Assert.assertEquals(1, binder.getStatistics().getIdle());
+        Assert.assertSame(buffer, binder.get());
+        final PoolStatistics statistics = binder.getStatistics();
+        Assert.assertEquals(1, statistics.getHits());
+        Assert.assertEquals(1, statistics.getMisses());
+        Assert.assertEquals(0, statistics.getIdle());
+    }
+
+    @Test
+    public void releaseWhenFull() {
+        final Factory factory = Mockito.mock(Factory.class);
+        final BinderPooled<Buffer> binder = new BinderPooled<>(factory, Buffer.class, 1);
+        final Buffer buffer1 = binder.get();
+        final Buffer buffer2 = binder.get();
+        Assert.assertTrue(binder.release(buffer1));
+        Assert.assertFalse(binder.release(buffer2));
+        // The dropped instance is not reset
+        Assert.assertEquals(0, buffer2.mResetCounter);
+        Assert.assertEquals(1, binder.getStatistics().getIdle());
+        Assert.assertEquals(1, binder.getStatistics().getMaxSize());
+    }
+
+    @Test
+    public void releaseTwice() {
+        final Factory factory = Mockito.mock(Factory.class);
+        final BinderPooled<Buffer> binder = new BinderPooled<>(factory, Buffer.class, 2);
+        final Buffer buffer = binder.get();
+        Assert.assertTrue(binder.release(buffer));
+        Assert.assertFalse(binder.release(buffer));
+        Assert.assertEquals(1, buffer.mResetCounter);
+        Assert.assertEquals(1, binder.getStatistics().getIdle());
+        // So the instance is never handed out twice
+        Assert.assertSame(buffer, binder.get());
+        Assert.assertNotSame(buffer, binder.get());
+    }
+
+    @Test
+    public void releaseForeign() {
+        final Factory factory = Mockito.mock(Factory.class);
+        final BinderPooled<Buffer> binder = new BinderPooled<>(factory, Buffer.class, 2);
+        final Buffer buffer = new Buffer();
+        Assert.assertFalse(binder.release(buffer));
+        Assert.assertEquals(0, buffer.mResetCounter);
+        Assert.assertEquals(0, binder.getStatistics().getIdle());
+    }
+}
@@ -0,0 +1,64 @@
+package com.kk.inject;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.lang.reflect.Field;
+
+/**
+ * Tests the {@link BinderPrimitive} class.
+ */
+public class BinderPrimitiveTest {
+
+    private static class Target {
+
+        int    mInt;
+        long   mLong;
+        double mDouble;
+        char   mChar;
+    }
+
+    @Test
+    public void get() {
+        final Factory factory = Mockito.mock(Factory.class);
+        final Integer value = 1234;
+        final BinderPrimitive<Integer> binder = new BinderPrimitive<>(factory, value);
+        Assert.assertSame(value, binder.get());
+        Assert.assertSame(binder.get(), binder.get());
+        Assert.assertEquals(int.class, binder.getPrimitiveType());
+        Assert.assertEquals(1234, binder.getInt());
+    }
+
+    @Test
+    public void typedAccessors() {
+        final Factory factory = Mockito.mock(Factory.class);
+        Assert.assertEquals(5L, new BinderPrimitive<>(factory, 5L).getLong());
+        Assert.assertEquals(2.5, new BinderPrimitive<>(factory, 2.5).getDouble(), 0.0001);
+        Assert.assertEquals(1.5f, new BinderPrimitive<>(factory, 1.5f).getFloat(), 0.0001);
+        Assert.assertEquals('X', new BinderPrimitive<>(factory, 'X').getChar());
+        Assert.assertTrue(new BinderPrimitive<>(factory, true).getBoolean());
+        Assert.assertEquals((short) 7, new BinderPrimitive<>(factory, (short) 7).getShort());
+        Assert.assertEquals((byte) 3, new BinderPrimitive<>(factory, (byte) 3).getByte());
+    }
+
+    @Test
+    public void injectField() throws Exception {
+        final Factory factory = Mockito.mock(Factory.class);
+        final Target target = new Target();
+        new BinderPrimitive<>(factory, 42).injectField(field("mInt"), target);
+        new BinderPrimitive<>(factory, 43L).injectField(field("mLong"), target);
+        new BinderPrimitive<>(factory, 4.5).injectField(field("mDouble"), target);
+        new BinderPrimitive<>(factory, 'Z').injectField(field("mChar"), target);
+        Assert.assertEquals(42, target.mInt);
+        Assert.assertEquals(43L, target.mLong);
+        Assert.assertEquals(4.5, target.mDouble, 0.0001);
+        Assert.assertEquals('Z', target.mChar);
+    }
+
+    private static Field field(final String name) throws NoSuchFieldException {
+        final Field field = Target.class.getDeclaredField(name);
+        field.setAccessible(true);
+        return field;
+    }
+}
@@ -11,14 +11,22 @@ public class BinderTest {
 
     private static class BinderTested extends Binder {
 
+        Object[] mParameters;
+
         BinderTested(@NotNull final Factory factory) {
             super(factory);
         }
 
         @Override
         Module get(@NotNull final Object... parameters) {
+            mParameters = parameters;
             return null;
         }
+
+        @Override
+        Binder fork(@NotNull final Factory factory) {
+            return new BinderTested(factory);
+        }
     }
 
     @Test
@@ -28,4 +36,15 @@ public class BinderTest {
         Assert.assertNotNull(binder);
         Assert.assertSame(factory, binder.mFactory);
     }
+
+    @Test
+    public void getWithoutParameters() {
+        final Factory factory = Mockito.mock(Factory.class);
+        final BinderTested binder = new BinderTested(factory);
+        binder.get();
+        final Object[] parameters = binder.mParameters;
+        Assert.assertEquals(0, parameters.length);
+        binder.get();
+        Assert.assertSame(parameters, binder.mParameters);
+    }
 }
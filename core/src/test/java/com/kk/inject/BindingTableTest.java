@@ -0,0 +1,91 @@
+package com.kk.inject;
+
+import com.kk.inject.integration.singleton.factory.UserName;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * Tests the {@link BindingTable} class.
+ */
+public class BindingTableTest {
+
+    private static Binder<?> createBinder() {
+        return new BinderSingleton<>(Mockito.mock(Factory.class), new Object());
+    }
+
+    @Test
+    public void empty() {
+        final BindingTable table = new BindingTable();
+        Assert.assertNull(table.get(String.class, null, null));
+        Assert.assertEquals(0, table.size());
+    }
+
+    @Test
+    public void putAndGet() {
+        final BindingTable table = new BindingTable();
+        final Binder<?> plain = createBinder();
+        final Binder<?> named = createBinder();
+        final Binder<?> annotated = createBinder();
+        table.put(new BindingId(String.class, null, null), plain);
+        table.put(new BindingId(String.class, "name", null), named);
+        table.put(new BindingId(String.class, "name", UserName.class), annotated);
+        Assert.assertSame(plain, table.get(String.class, null, null));
+        Assert.assertSame(named, table.get(String.class, "name", null));
+        Assert.assertSame(annotated, table.get(new BindingId(String.class, "name", UserName.class)));
+        Assert.assertNull(table.get(String.class, "other", null));
+        Assert.assertNull(table.get(String.class, null, UserName.class));
+        Assert.assertEquals(3, table.size());
+    }
+
+    @Test
+    public void replace() {
+        final BindingTable table = new BindingTable();
+        final Binder<?> binder = createBinder();
+        table.put(new BindingId(String.class, null, null), createBinder());
+        table.put(new BindingId(String.class, null, null), binder);
+        Assert.assertSame(binder, table.get(String.class, null, null));
+        Assert.assertEquals(1, table.size());
+    }
+
+    @Test
+    public void primitiveSharesBoxedEntry() {
+        final BindingTable table = new BindingTable();
+        final Binder<?> binder = createBinder();
+        table.put(new BindingId(int.class, "count", null), binder);
+        Assert.assertSame(binder, table.get(Integer.class, "count", null));
+        Assert.assertSame(binder, table.get(int.class, "count", null));
+        Assert.assertEquals(1, table.size());
+    }
+
+    @Test
+    public void grow() {
+        final BindingTable table = new BindingTable();
+        final Binder<?>[] binders = new Binder<?>[1000];
+        for (int index = 0; index < binders.length; index++) {
+            binders[index] = createBinder();
+            table.put(new BindingId(String.class, "name" + index, null), binders[index]);
+        }
+        Assert.assertEquals(binders.length, table.size());
+        Assert.assertTrue(table.capacity() * 3 >= binders.length * 4);
+        for (int index = 0; index < binders.length; index++) {
+            Assert.assertSame(binders[index], table.get(String.class, "name" + index, null));
+        }
+    }
+
+    @Test
+    public void copyAndClear() {
+        final BindingTable table = new BindingTable();
+        final Binder<?> binder = createBinder();
+        table.put(new BindingId(String.class, null, null), binder);
+        final BindingTable copy = new BindingTable(table);
+        copy.put(new BindingId(Integer.class, null, null), createBinder());
+        table.clear();
+        Assert.assertNull(table.get(String.class, null, null));
+        Assert.assertEquals(0, table.size());
+        Assert.assertSame(binder, copy.get(String.class, null, null));
+        Assert.assertNotNull(copy.get(Integer.class, null, null));
+        Assert.assertEquals(2, copy.size());
+    }
+}
@@ -0,0 +1,173 @@
+package com.kk.inject;
+
+import com.kk.inject.integration.singleton.factory.UserName;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+
+/**
+ * Tests the {@link ClassMetadata} class.
+ */
+public class ClassMetadataTest {
+
+    @Test
+    public void sameInstance() {
+        Assert.assertSame(ClassMetadata.of(String.class), ClassMetadata.of(String.class));
+    }
+
+    @Test
+    public void primitiveEquivalent() {
+        Assert.assertEquals(Integer.class, ClassMetadata.of(int.class).getPrimitiveEquivalent());
+        Assert.assertEquals(int.class, ClassMetadata.of(Integer.class).getPrimitiveEquivalent());
+        Assert.assertEquals(Character.class, ClassMetadata.of(char.class).getPrimitiveEquivalent());
+        Assert.assertEquals(boolean.class, ClassMetadata.of(Boolean.class).getPrimitiveEquivalent());
+        Assert.assertNull(ClassMetadata.of(void.class).getPrimitiveEquivalent());
+        Assert.assertNull(ClassMetadata.of(String.class).getPrimitiveEquivalent());
+    }
+
+    @Test
+    public void qualifier() {
+        Assert.assertTrue(ClassMetadata.of(UserName.class).isQualifier());
+        Assert.assertFalse(ClassMetadata.of(Named.class).isQualifier());
+        Assert.assertFalse(ClassMetadata.of(Inject.class).isQualifier());
+        Assert.assertFalse(ClassMetadata.of(Singleton.class).isQualifier());
+        Assert.assertFalse(ClassMetadata.of(Cached.class).isQualifier());
+        Assert.assertFalse(ClassMetadata.of(String.class).isQualifier());
+    }
+
+    private static class Shared {
+
+        private final String mValue;
+
+        @Inject
+        Shared(final String value) {
+            mValue = value;
+        }
+    }
+
+    @Test
+    public void sharedByFactories() {
+        final Factory factory1 = Factory.createFactory();
+        final Factory factory2 = Factory.createFactory();
+        factory1.whenRequestedInstanceOf(String.class).thenReturn("one");
+        factory2.whenRequestedInstanceOf(String.class).thenReturn("two");
+        factory1.whenRequestedInstanceOf(Shared.class).thenInstantiate(Shared.class);
+        factory2.whenRequestedInstanceOf(Shared.class).thenInstantiate(Shared.class);
+        Assert.assertEquals("one", factory1.get(Shared.class).mValue);
+        final ClassMetadata metadata = ClassMetadata.of(Shared.class);
+        final ParametersMetadata parameters = metadata.getConstructorParameters();
+        Assert.assertNotNull(parameters);
+        Assert.assertEquals("two", factory2.get(Shared.class).mValue);
+        Assert.assertSame(parameters, metadata.getConstructorParameters());
+        Assert.assertSame(metadata.getInjectionPlan(), ClassMetadata.of(Shared.class).getInjectionPlan());
+        factory1.get(Shared.class, "three");
+        factory2.get(Shared.class, "four");
+        Assert.assertEquals(1, metadata.getParameterConstructors().size());
+    }
+
+    private static class ProvidingModule extends Module {
+
+        @Override
+        protected void defineBindings() {
+        }
+
+        @Provides
+        String provideName() {
+            return "name";
+        }
+    }
+
+    @Test
+    public void providerMethods() throws Exception {
+        final ClassMetadata metadata = ClassMetadata.of(ProvidingModule.class);
+        final Method[] methods = metadata.getProviderMethods();
+        Assert.assertArrayEquals(new Method[]{ProvidingModule.class.getDeclaredMethod("provideName")}, methods);
+        Assert.assertSame(methods, metadata.getProviderMethods());
+    }
+
+    public static class Unloadable {
+
+        @Inject
+        public Unloadable(final String value) {
+        }
+
+        @Inject
+        public void set(final String value) {
+        }
+    }
+
+    /**
+     * Loads the {@link Unloadable} class anew, so it can be unloaded with the loader.
+     */
+    private static class ThrowawayClassLoader extends ClassLoader {
+
+        ThrowawayClassLoader() {
+            super(ClassMetadataTest.class.getClassLoader());
+        }
+
+        @Override
+        protected Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException {
+            if (!name.equals(Unloadable.class.getName())) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                final Class<?> loaded = findLoadedClass(name);
+                if (loaded != null) {
+                    return loaded;
+                }
+                try (InputStream input = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+                    final byte[] buffer = new byte[4096];
+                    for (int read = input.read(buffer); read >= 0; read = input.read(buffer)) {
+                        output.write(buffer, 0, read);
+                    }
+                    final byte[] bytes = output.toByteArray();
+                    return defineClass(name, bytes, 0, bytes.length);
+                } catch (IOException e) {
+                    throw new ClassNotFoundException(name, e);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void weakMapRegistryReleasesClass() throws Exception {
+        final ClassMetadata.Registry registry = new ClassMetadata.WeakMapRegistry();
+        final WeakReference<Class<?>> reference = loadAndInspect(registry);
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        Assert.assertNull(reference.get());
+    }
+
+    private static WeakReference<Class<?>> loadAndInspect(final ClassMetadata.Registry registry) throws Exception {
+        final Class<?> clazz = new ThrowawayClassLoader().loadClass(Unloadable.class.getName());
+        Assert.assertNotSame(Unloadable.class, clazz);
+        final ClassMetadata metadata = registry.get(clazz);
+        Assert.assertNotNull(metadata.getConstructorParameters());
+        Assert.assertEquals(1, metadata.getDeclaredConstructors().length);
+        Assert.assertNotNull(metadata.getInjectionPlan());
+        Assert.assertNotNull(metadata.getMethodParameters(clazz.getDeclaredMethod("set", String.class)));
+        Assert.assertSame(metadata, registry.get(clazz));
+        return new WeakReference<Class<?>>(clazz);
+    }
+
+    @Test
+    public void weakMapRegistryRestoresMembers() {
+        final ClassMetadata.Registry registry = new ClassMetadata.WeakMapRegistry();
+        final ClassMetadata metadata = registry.get(Shared.class);
+        Assert.assertSame(metadata, registry.get(Shared.class));
+        Assert.assertNotNull(metadata.getConstructorParameters());
+        System.gc();
+        // Scanned again if reclaimed
+        Assert.assertNotNull(metadata.getConstructorParameters());
+        Assert.assertEquals(1, metadata.getDeclaredConstructors().length);
+    }
+}
@@ -0,0 +1,50 @@
+package com.kk.inject;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * Tests the {@link InjectionLinks} class.
+ */
+public class InjectionLinksTest {
+
+    private static InjectionPoint createInjectionPoint() {
+        return new InjectionPoint(String.class, null, new Annotation[0]);
+    }
+
+    private static Binder<?> createBinder() {
+        return new BinderSingleton<>(Mockito.mock(Factory.class), "value");
+    }
+
+    @Test
+    public void links() {
+        final InjectionLinks links = new InjectionLinks(1);
+        Assert.assertTrue(links.isValid(1));
+        Assert.assertFalse(links.isValid(2));
+        final InjectionPoint injectionPoint1 = createInjectionPoint();
+        final InjectionPoint injectionPoint2 = createInjectionPoint();
+        Assert.assertNull(links.get(injectionPoint1));
+        final Binder<?> binder = createBinder();
+        links.put(injectionPoint1, binder);
+        Assert.assertSame(binder, links.get(injectionPoint1));
+        Assert.assertNull(links.get(injectionPoint2));
+    }
+
+    @Test
+    public void bounded() {
+        final InjectionLinks links = new InjectionLinks(1);
+        final Binder<?> binder = createBinder();
+        for (int index = 0; index < InjectionLinks.MAX_SIZE; index++) {
+            links.put(createInjectionPoint(), binder);
+        }
+        Assert.assertEquals(InjectionLinks.MAX_SIZE, links.size());
+        // The full links are cleared, so the dropped injection points are not kept
+        final InjectionPoint last = createInjectionPoint();
+        links.put(last, binder);
+        Assert.assertEquals(1, links.size());
+        Assert.assertSame(binder, links.get(last));
+    }
+}
@@ -0,0 +1,119 @@
+package com.kk.inject;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests the {@link InjectionMonitor} class.
+ */
+public class InjectionMonitorTest {
+
+    private static class Engine {}
+
+    private static class Car {
+
+        @Inject Engine mEngine;
+    }
+
+    private static class Bike {
+
+        @Inject Engine mEngine;
+    }
+
+    private static class RecordingMonitor extends InjectionMonitor {
+
+        final List<String> mEvents = new ArrayList<>();
+
+        @Override
+        public Object resolutionStarted(@NotNull final Class<?> clazz,
+                                        @Nullable final String name,
+                                        @Nullable final Class<? extends Annotation> annotation) {
+            mEvents.add("resolve " + clazz.getSimpleName());
+            return clazz;
+        }
+
+        @Override
+        public void resolutionFinished(@Nullable final Object context, final boolean succeeded) {
+            mEvents.add("resolved " + ((Class<?>) context).getSimpleName() + " " + succeeded);
+        }
+
+        @Override
+        public Object constructionStarted(@NotNull final Class<?> clazz) {
+            mEvents.add("construct " + clazz.getSimpleName());
+            return clazz;
+        }
+
+        @Override
+        public void constructionFinished(@Nullable final Object context) {
+            mEvents.add("constructed " + ((Class<?>) context).getSimpleName());
+        }
+
+        @Override
+        public void singletonCreated(@NotNull final Class<?> clazz) {
+            mEvents.add("singleton " + clazz.getSimpleName());
+        }
+
+        @Override
+        public Object metadataScanStarted(@NotNull final Class<?> clazz) {
+            mEvents.add("scan " + clazz.getSimpleName());
+            return clazz;
+        }
+    }
+
+    @After
+    public void uninstall() {
+        Factory.setInjectionMonitor(null);
+    }
+
+    @Test
+    public void events() {
+        final RecordingMonitor monitor = new RecordingMonitor();
+        Factory.setInjectionMonitor(monitor);
+        final Factory factory = Factory.createFactory();
+        factory.whenRequestedInstanceOf(Engine.class).singleton().thenInstantiate(Engine.class);
+        factory.whenRequestedInstanceOf(Car.class).thenInstantiate(Car.class);
+        factory.get(Car.class);
+        Assert.assertTrue(monitor.mEvents.contains("scan Car"));
+        Assert.assertTrue(monitor.mEvents.contains("singleton Engine"));
+        // Only the requested instance is the resolution, the injected ones are just constructed
+        Assert.assertEquals("resolve Car", monitor.mEvents.get(0));
+        Assert.assertEquals("resolved Car true", monitor.mEvents.get(monitor.mEvents.size() - 1));
+        Assert.assertEquals(1, count(monitor.mEvents, "resolve "));
+        Assert.assertEquals(2, count(monitor.mEvents, "construct "));
+        Assert.assertEquals(2, count(monitor.mEvents, "constructed "));
+        // The singleton is not created again
+        monitor.mEvents.clear();
+        factory.get(Engine.class);
+        Assert.assertEquals(2, monitor.mEvents.size());
+    }
+
+    @Test
+    public void failedResolution() {
+        final RecordingMonitor monitor = new RecordingMonitor();
+        Factory.setInjectionMonitor(monitor);
+        final Factory factory = Factory.createFactory();
+        factory.whenRequestedInstanceOf(Bike.class).thenInstantiate(Bike.class);
+        try {
+            factory.get(Bike.class);
+            Assert.fail();
+        } catch (InjectException e) {
+            // Expected: no binding for the engine
+        }
+        Assert.assertEquals("resolved Bike false", monitor.mEvents.get(monitor.mEvents.size() - 1));
+    }
+
+    private static int count(final List<String> events, final String prefix) {
+        int count = 0;
+        for (final String event : events) {
+            if (event.startsWith(prefix)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,98 @@
+package com.kk.inject;
+
+import com.kk.inject.integration.singleton.factory.UserName;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.concurrent.Future;
+
+/**
+ * Tests the {@link InjectionPoint} class.
+ */
+public class InjectionPointTest {
+
+    @SuppressWarnings("unused")
+    private static void method(@Named("name") @UserName final String qualified,
+                               final Integer plain,
+                               final Future<Long> future,
+                               @SuppressWarnings("rawtypes") final Future unknownFuture) {
+    }
+
+    private static InjectionPoint[] createInjectionPoints() throws NoSuchMethodException {
+        final Method method = InjectionPointTest.class.getDeclaredMethod("method",
+                                                                        String.class,
+                                                                        Integer.class,
+                                                                        Future.class,
+                                                                        Future.class);
+        return InjectionPoint.forParameters(method.getParameterTypes(),
+                                            method.getGenericParameterTypes(),
+                                            method.getParameterAnnotations());
+    }
+
+    @Test
+    public void qualified() throws NoSuchMethodException {
+        final InjectionPoint injectionPoint = createInjectionPoints()[0];
+        Assert.assertFalse(injectionPoint.isFuture());
+        Assert.assertArrayEquals(new BindingId[]{new BindingId(String.class, "name", UserName.class),
+                                                 new BindingId(String.class, "name", null)},
+                                 injectionPoint.getBindingIds());
+    }
+
+    @Test
+    public void plain() throws NoSuchMethodException {
+        Assert.assertArrayEquals(new BindingId[]{new BindingId(Integer.class, null, null)},
+                                 createInjectionPoints()[1].getBindingIds());
+    }
+
+    @Test
+    public void future() throws NoSuchMethodException {
+        final InjectionPoint injectionPoint = createInjectionPoints()[2];
+        Assert.assertTrue(injectionPoint.isFuture());
+        Assert.assertArrayEquals(new BindingId[]{new BindingId(Long.class, null, null)},
+                                 injectionPoint.getBindingIds());
+    }
+
+    @Test(expected = InjectException.class)
+    public void unknownFuture() throws NoSuchMethodException {
+        createInjectionPoints()[3].getBindingIds();
+    }
+
+    @Test
+    public void noParameters() {
+        Assert.assertEquals(0, InjectionPoint.forParameters(new Class<?>[0], new Type[0], new Annotation[0][]).length);
+    }
+
+    @Test
+    public void linkedBinder() throws NoSuchMethodException {
+        final InjectionPoint injectionPoint = createInjectionPoints()[0];
+        final Factory factory = Factory.createFactory();
+        factory.whenRequestedInstanceOf(String.class).ifNamed("name").thenReturn("plain");
+        final Binder<?> plain = factory.locateParameterBinder(injectionPoint);
+        Assert.assertEquals("plain", plain.get());
+        Assert.assertSame(plain, factory.locateParameterBinder(injectionPoint));
+        // The qualified binding added later wins
+        factory.whenRequestedInstanceOf(String.class).ifNamed("name").ifAnnotatedWith(UserName.class)
+               .thenReturn("qualified");
+        Assert.assertEquals("qualified", factory.locateParameterBinder(injectionPoint).get());
+    }
+
+    @Test
+    public void linkedBinderPerFactory() throws NoSuchMethodException {
+        final InjectionPoint injectionPoint = createInjectionPoints()[1];
+        final Factory factory1 = Factory.createFactory();
+        final Factory factory2 = Factory.createFactory();
+        factory1.whenRequestedInstanceOf(Integer.class).thenReturn(1);
+        factory2.whenRequestedInstanceOf(Integer.class).thenReturn(2);
+        final Binder<?> binder1 = factory1.locateParameterBinder(injectionPoint);
+        final Binder<?> binder2 = factory2.locateParameterBinder(injectionPoint);
+        Assert.assertEquals(1, binder1.get());
+        Assert.assertEquals(2, binder2.get());
+        // Both stay linked when the factories alternate
+        Assert.assertSame(binder1, factory1.locateParameterBinder(injectionPoint));
+        Assert.assertSame(binder2, factory2.locateParameterBinder(injectionPoint));
+    }
+}
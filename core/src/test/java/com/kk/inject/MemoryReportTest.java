@@ -0,0 +1,134 @@
+package com.kk.inject;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Tests the {@link MemoryReport} class.
+ */
+public class MemoryReportTest {
+
+    private static final int BINDINGS = 10000;
+
+    private static class Fields {
+
+        long    mLong;
+        int     mInt;
+        boolean mBoolean;
+        Object  mObject;
+    }
+
+    @Test
+    public void estimateShallowSize() {
+        // Header 12 + long 8 + int 4 + boolean 1 + reference 4 = 29, aligned to 32
+        Assert.assertEquals(32, MemoryReport.estimateShallowSize(Fields.class));
+        Assert.assertEquals(16, MemoryReport.estimateShallowSize(Object.class));
+    }
+
+    @Test
+    public void report() {
+        final Factory factory = Factory.createFactory();
+        factory.whenRequestedInstanceOf(Runnable.class).thenInstantiate(Thread.class);
+        factory.whenRequestedInstanceOf(String.class).ifNamed("one").thenReturn("1");
+        factory.whenRequestedInstanceOf(String.class).ifNamed("two").thenReturn("2");
+        factory.whenRequestedInstanceOf(int.class).ifNamed("three").thenReturnInt(3);
+        final MemoryReport report = factory.memoryReport();
+        // The factory itself is bound too
+        Assert.assertEquals(5, report.getBindingCount());
+        Assert.assertEquals(1, report.getBinderCount("Instantiate"));
+        Assert.assertEquals(3, report.getBinderCount("Singleton"));
+        Assert.assertEquals(1, report.getBinderCount("Primitive"));
+        Assert.assertEquals(0, report.getBinderCount("Unknown"));
+        Assert.assertEquals(3 * MemoryReport.estimateShallowSize(BinderSingleton.class),
+                            report.getBinderBytes("Singleton"));
+        Assert.assertTrue(report.getTableBytes() > 0);
+        Assert.assertTrue(report.getTotalBytes() > report.getTableBytes());
+        Assert.assertTrue(report.toString().contains("Singleton=3/"));
+    }
+
+    @Test
+    public void footprint() throws InterruptedException {
+        final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean);
+        final com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+        Assume.assumeTrue(allocationBean.isThreadAllocatedMemorySupported());
+        // The estimate assumes the compressed references
+        final HotSpotDiagnosticMXBean diagnosticBean =
+                ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+        Assume.assumeTrue(diagnosticBean != null &&
+                                  "true".equals(diagnosticBean.getVMOption("UseCompressedOops").getValue()));
+        allocationBean.setThreadAllocatedMemoryEnabled(true);
+        final String[] names = new String[BINDINGS];
+        for (int index = 0; index < BINDINGS; index++) {
+            names[index] = "name" + index;
+        }
+        final Object value = new Object();
+        // The factory is only referenced by the holder, so it can be dropped to measure what it retains
+        final Factory[] holder = new Factory[1];
+        final long threadId = Thread.currentThread().getId();
+        final long before = allocationBean.getThreadAllocatedBytes(threadId);
+        defineBindings(holder, names, value);
+        final long allocated = allocationBean.getThreadAllocatedBytes(threadId) - before;
+        final MemoryReport report = holder[0].memoryReport();
+        Assert.assertEquals(BINDINGS + 1, report.getBindingCount());
+        final long withFactory = measureRetainedHeap();
+        holder[0] = null;
+        final long retained = withFactory - measureRetainedHeap();
+        Assert.assertEquals(BINDINGS, names.length);
+        Assert.assertNotNull(value);
+        // The estimate matches what the factory retains (its few other objects and the heap noise are within 10%)
+        final long totalBytes = report.getTotalBytes();
+        Assert.assertTrue("Estimated " + totalBytes + " bytes, retained " + retained + " bytes",
+                          Math.abs(totalBytes - retained) <= retained / 10);
+        // The binding costs its binder, the slots of the table (including the outgrown tables) and the short living
+        // builder objects only
+        Assert.assertTrue("Allocated " + allocated / BINDINGS + " bytes per binding", allocated / BINDINGS < 256);
+    }
+
+    /**
+     * Creates the factory with the binding for every name.
+     *
+     * @param holder
+     *         The holder to store the factory to. Never {@code null}.
+     * @param names
+     *         The binding names. Never {@code null}.
+     * @param value
+     *         The value of all the bindings. Never {@code null}.
+     */
+    private static void defineBindings(final Factory[] holder, final String[] names, final Object value) {
+        final Factory factory = Factory.createFactory();
+        for (final String name : names) {
+            factory.whenRequestedInstanceOf(Object.class).ifNamed(name).thenReturn(value);
+        }
+        holder[0] = factory;
+    }
+
+    /**
+     * Measures the heap in use once the garbage is collected.
+     *
+     * @return The used heap in bytes.
+     * @throws InterruptedException
+     *         When interrupted while waiting for the references to be processed.
+     */
+    private static long measureRetainedHeap() throws InterruptedException {
+        final Runtime runtime = Runtime.getRuntime();
+        long used = -1;
+        // Repeated until stable, as the garbage released by the reference processing (at the other threads) takes
+        // more collections
+        for (int attempt = 0, stable = 0; attempt < 100 && stable < 3; attempt++) {
+            System.gc();
+            System.runFinalization();
+            Thread.sleep(10);
+            final long current = runtime.totalMemory() - runtime.freeMemory();
+            stable = current == used ? stable + 1 : 0;
+            used = current;
+        }
+        return used;
+    }
+}
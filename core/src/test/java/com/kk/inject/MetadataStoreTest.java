@@ -0,0 +1,126 @@
+package com.kk.inject;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Tests the {@link MetadataStore} class.
+ */
+public class MetadataStoreTest {
+
+    private static final String VERSION = "1.0";
+
+    private static class Injected {
+
+        @Inject String mInjected;
+        String mNotInjected;
+
+        @Inject
+        Injected(final Integer value) {
+        }
+
+        Injected() {
+        }
+
+        @Inject
+        void setValue(final Long value) {
+        }
+
+        @Provides
+        String provide() {
+            return null;
+        }
+
+        void notInjected() {
+        }
+    }
+
+    private static class Changed {
+
+        @Inject String mRemoved;
+
+        @Inject
+        void setValue(final Short value) {
+        }
+    }
+
+    private File mFile;
+
+    @Before
+    public void createFile() throws IOException {
+        mFile = File.createTempFile("metadata", ".cache");
+        Assert.assertTrue(mFile.delete());
+    }
+
+    @After
+    public void deleteFile() {
+        mFile.delete();
+    }
+
+    @Test
+    public void missingFile() {
+        Assert.assertNull(MetadataStore.load(mFile, VERSION));
+    }
+
+    @Test
+    public void saveAndLoad() throws IOException {
+        final InjectionMetadata scanned = InjectionMetadata.scan(Injected.class);
+        MetadataStore.save(mFile, VERSION, Collections.singletonList(scanned));
+        final MetadataStore store = MetadataStore.load(mFile, VERSION);
+        Assert.assertNotNull(store);
+        Assert.assertEquals(1, store.size());
+        final InjectionMetadata restored = store.resolve(Injected.class);
+        Assert.assertNotNull(restored);
+        Assert.assertEquals(scanned.getConstructor(), restored.getConstructor());
+        Assert.assertEquals(Arrays.asList(scanned.getFields()), Arrays.asList(restored.getFields()));
+        Assert.assertEquals(Arrays.asList(scanned.getMethods()), Arrays.asList(restored.getMethods()));
+        Assert.assertEquals(Arrays.asList(scanned.getProviderMethods()),
+                            Arrays.asList(restored.getProviderMethods()));
+        Assert.assertEquals(1, restored.getFields().length);
+        Assert.assertEquals(1, restored.getMethods().length);
+        Assert.assertEquals(1, restored.getProviderMethods().length);
+        Assert.assertNull(store.resolve(String.class));
+    }
+
+    @Test
+    public void missingMember() throws IOException, NoSuchFieldException, NoSuchMethodException {
+        // Saved as if the injected class had the members meanwhile removed
+        final InjectionMetadata missingField = new InjectionMetadata(
+                Injected.class, null, new Field[]{Changed.class.getDeclaredField("mRemoved")}, new Method[0],
+                new Method[0]);
+        MetadataStore.save(mFile, VERSION, Collections.singletonList(missingField));
+        Assert.assertNull(MetadataStore.load(mFile, VERSION).resolve(Injected.class));
+        final InjectionMetadata changedMethod = new InjectionMetadata(
+                Injected.class, null, new Field[0],
+                new Method[]{Changed.class.getDeclaredMethod("setValue", Short.class)}, new Method[0]);
+        MetadataStore.save(mFile, VERSION, Collections.singletonList(changedMethod));
+        Assert.assertNull(MetadataStore.load(mFile, VERSION).resolve(Injected.class));
+    }
+
+    @Test
+    public void differentVersion() throws IOException {
+        MetadataStore.save(mFile, VERSION, Collections.singletonList(InjectionMetadata.scan(Injected.class)));
+        Assert.assertNull(MetadataStore.load(mFile, "2.0"));
+    }
+
+    @Test
+    public void corrupted() throws IOException {
+        final FileOutputStream output = new FileOutputStream(mFile);
+        try {
+            output.write(new byte[]{0x4B, 0x4B, 0x4D, 0x43, 0, 0, 0, 1, 0x7F});
+        } finally {
+            output.close();
+        }
+        Assert.assertNull(MetadataStore.load(mFile, VERSION));
+    }
+}
@@ -0,0 +1,81 @@
+package com.kk.inject;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tests the {@link ModuleIndex} class.
+ */
+public class ModuleIndexTest {
+
+    private static class IndexedModule extends Module {
+
+        @Override
+        protected void defineBindings() {
+        }
+
+        @Provides
+        String provideName() {
+            return null;
+        }
+
+        @Provides
+        String provideGreeting(final int count, final String[] names, final long[][] values) {
+            return null;
+        }
+
+        String notProvided() {
+            return null;
+        }
+    }
+
+    private static ModuleIndex createIndex(final String index) throws IOException {
+        final Map<String, String[]> modules = new HashMap<>();
+        ModuleIndex.parse(new BufferedReader(new StringReader(index)), modules);
+        return new ModuleIndex(modules);
+    }
+
+    @Test
+    public void resolve() throws Exception {
+        final ModuleIndex index = createIndex(IndexedModule.class.getName() + "\tprovideName()" +
+                                                      "\tprovideGreeting(int,[Ljava.lang.String;,[[J)\n");
+        final Method[] methods = index.resolve(IndexedModule.class);
+        Assert.assertNotNull(methods);
+        Assert.assertEquals(2, methods.length);
+        Assert.assertEquals(IndexedModule.class.getDeclaredMethod("provideName"), methods[0]);
+        Assert.assertEquals(IndexedModule.class.getDeclaredMethod("provideGreeting",
+                                                                  int.class,
+                                                                  String[].class,
+                                                                  long[][].class), methods[1]);
+    }
+
+    @Test
+    public void moduleWithoutProviders() throws Exception {
+        final ModuleIndex index = createIndex(IndexedModule.class.getName() + "\n");
+        final Method[] methods = index.resolve(IndexedModule.class);
+        Assert.assertNotNull(methods);
+        Assert.assertEquals(0, methods.length);
+    }
+
+    @Test
+    public void notIndexed() throws Exception {
+        Assert.assertNull(createIndex("").resolve(IndexedModule.class));
+    }
+
+    @Test
+    public void stale() throws Exception {
+        Assert.assertNull(createIndex(IndexedModule.class.getName() + "\tprovideOther()\n")
+                                  .resolve(IndexedModule.class));
+        Assert.assertNull(createIndex(IndexedModule.class.getName() + "\tprovideName(com.kk.Missing)\n")
+                                  .resolve(IndexedModule.class));
+        Assert.assertNull(createIndex(IndexedModule.class.getName() + "\tprovideName()\tnotProvided()\n")
+                                  .resolve(IndexedModule.class));
+    }
+}
@@ -0,0 +1,26 @@
+package com.kk.inject;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Tests the {@link ParallelResolver} class.
+ */
+public class ParallelResolverTest {
+
+    @Test
+    public void sharedPool() {
+        final ForkJoinPool pool = ParallelResolver.getPool();
+        final Factory factory1 = Factory.createFactory();
+        final Factory factory2 = Factory.createFactory();
+        factory1.setParallelResolution(true);
+        factory2.setParallelResolution(true);
+        factory1.setParallelResolution(false);
+        factory2.setParallelResolution(false);
+        // Disabling the parallel resolution does not shut the shared pool down
+        Assert.assertSame(pool, ParallelResolver.getPool());
+        Assert.assertFalse(pool.isShutdown());
+    }
+}
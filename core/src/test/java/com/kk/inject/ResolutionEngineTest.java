@@ -0,0 +1,139 @@
+package com.kk.inject;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * Tests the {@link ResolutionEngine} class.
+ */
+public class ResolutionEngineTest {
+
+    private static final InjectionPoint[] POINT = {new InjectionPoint(Integer.class, Integer.class, new Annotation[0])};
+
+    /**
+     * Binder resolving its number as the number of the next binder plus one.
+     */
+    private static class ChainBinder extends Binder<Integer> {
+
+        Binder<?> mNext;
+
+        ChainBinder(@NotNull final Factory factory, final Binder<?> next) {
+            super(factory);
+            mNext = next;
+        }
+
+        @Override
+        Integer get(@NotNull final Object... parameters) {
+            if (mNext == null) {
+                return 0;
+            }
+            // Resolving recursively would overflow the stack for the deep chains
+            return (Integer) mNext.get() + 1;
+        }
+
+        @Nullable
+        @Override
+        InjectionPoint[] getDependencies() {
+            return mNext == null ? null : POINT;
+        }
+
+        @Nullable
+        @Override
+        Binder<?>[] getLinkedDependencies() {
+            return new Binder<?>[]{mNext};
+        }
+
+        @NotNull
+        @Override
+        Integer complete(@NotNull final Object[] parameters) {
+            return (Integer) parameters[0] + 1;
+        }
+
+        @Override
+        Binder<Integer> fork(@NotNull final Factory factory) {
+            return new ChainBinder(factory, mNext);
+        }
+    }
+
+    @Test
+    public void shallow() {
+        final Factory factory = Factory.createFactory();
+        final ChainBinder leaf = new ChainBinder(factory, null);
+        final Object[] values = ResolutionEngine.collect(factory, POINT, new Binder<?>[]{leaf});
+        Assert.assertEquals(0, values[0]);
+    }
+
+    @Test
+    public void deepChain() {
+        final Factory factory = Factory.createFactory();
+        final int depth = 100000;
+        Binder<?> binder = new ChainBinder(factory, null);
+        for (int index = 0; index < depth; index++) {
+            binder = new ChainBinder(factory, binder);
+        }
+        final Object[] values = ResolutionEngine.collect(factory, POINT, new Binder<?>[]{binder});
+        Assert.assertEquals(depth, values[0]);
+        Assert.assertEquals(0, ResolutionPath.current().getDepth());
+    }
+
+    @Test
+    public void cycle() {
+        final Factory factory = Factory.createFactory();
+        final ChainBinder first = new ChainBinder(factory, null);
+        Binder<?> binder = first;
+        for (int index = 0; index < 1000; index++) {
+            binder = new ChainBinder(factory, binder);
+        }
+        first.mNext = binder;
+        try {
+            ResolutionEngine.collect(factory, POINT, new Binder<?>[]{binder});
+            Assert.fail();
+        } catch (InjectException e) {
+            Assert.assertTrue(e.getMessage().startsWith("Circular dependency"));
+        }
+        // The abandoned frames left the path
+        Assert.assertEquals(0, ResolutionPath.current().getDepth());
+    }
+
+    /**
+     * Binder reporting its dependency but not completing from it.
+     */
+    private static class NotCompletingBinder extends Binder<Integer> {
+
+        NotCompletingBinder(@NotNull final Factory factory) {
+            super(factory);
+        }
+
+        @Override
+        Integer get(@NotNull final Object... parameters) {
+            return 42;
+        }
+
+        @Nullable
+        @Override
+        InjectionPoint[] getDependencies() {
+            return POINT;
+        }
+
+        @Nullable
+        @Override
+        Binder<?>[] getLinkedDependencies() {
+            return new Binder<?>[]{new ChainBinder(mFactory, null)};
+        }
+
+        @Override
+        Binder<Integer> fork(@NotNull final Factory factory) {
+            return new NotCompletingBinder(factory);
+        }
+    }
+
+    @Test
+    public void completeByDefault() {
+        final Factory factory = Factory.createFactory();
+        final Binder<?> binder = new NotCompletingBinder(factory);
+        final Object[] values = ResolutionEngine.collect(factory, POINT, new Binder<?>[]{binder});
+        Assert.assertEquals(42, values[0]);
+    }
+}
@@ -0,0 +1,63 @@
+package com.kk.inject;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * Tests the {@link ResolutionPath} class.
+ */
+public class ResolutionPathTest {
+
+    private static Binder<?> createBinder(final String name) {
+        return new BinderSingleton<String>(Mockito.mock(Factory.class), name) {
+            @Override
+            public String toString() {
+                return name;
+            }
+        };
+    }
+
+    @Test
+    public void enterAndExit() {
+        final ResolutionPath path = new ResolutionPath();
+        final Binder<?> a = createBinder("A");
+        final Binder<?> b = createBinder("B");
+        path.enter(a);
+        path.enter(b);
+        Assert.assertEquals(2, path.getDepth());
+        path.exit();
+        path.exit();
+        Assert.assertEquals(0, path.getDepth());
+        path.enter(a);
+        path.exit();
+    }
+
+    @Test
+    public void collidingIndexes() {
+        // The mocked factory assigns the same index to all binders
+        final ResolutionPath path = new ResolutionPath();
+        for (int index = 0; index < 100; index++) {
+            path.enter(createBinder("B" + index));
+        }
+        Assert.assertEquals(100, path.getDepth());
+    }
+
+    @Test
+    public void cycle() {
+        final ResolutionPath path = new ResolutionPath();
+        final Binder<?> a = createBinder("A");
+        final Binder<?> b = createBinder("B");
+        final Binder<?> c = createBinder("C");
+        path.enter(a);
+        path.enter(b);
+        path.enter(c);
+        try {
+            path.enter(b);
+            Assert.fail();
+        } catch (InjectException e) {
+            Assert.assertEquals("Circular dependency B -> C -> B", e.getMessage());
+        }
+        Assert.assertEquals(3, path.getDepth());
+    }
+}
@@ -0,0 +1,55 @@
+package com.kk.inject;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the {@link SignatureCache} class.
+ */
+public class SignatureCacheTest {
+
+    @Test
+    public void empty() {
+        final SignatureCache<String> cache = new SignatureCache<>();
+        Assert.assertNull(cache.find(new Object[]{"Hello"}));
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void sameClasses() {
+        final SignatureCache<String> cache = new SignatureCache<>();
+        cache.put(new Object[]{"Hello", 1}, "member");
+        Assert.assertEquals("member", cache.find(new Object[]{"World", 2}));
+    }
+
+    @Test
+    public void differentClasses() {
+        final SignatureCache<String> cache = new SignatureCache<>();
+        cache.put(new Object[]{"Hello", 1}, "member");
+        Assert.assertNull(cache.find(new Object[]{"World", 2L}));
+        Assert.assertNull(cache.find(new Object[]{"World"}));
+        Assert.assertNull(cache.find(new Object[]{"World", null}));
+    }
+
+    @Test
+    public void nullParameter() {
+        final SignatureCache<String> cache = new SignatureCache<>();
+        cache.put(new Object[]{null}, "member");
+        Assert.assertEquals("member", cache.find(new Object[]{null}));
+        Assert.assertNull(cache.find(new Object[]{"Hello"}));
+    }
+
+    @Test
+    public void oldestDropped() {
+        final SignatureCache<String> cache = new SignatureCache<>();
+        cache.put(new Object[]{(byte) 0}, "first");
+        for (int index = 1; index < SignatureCache.MAX_ENTRIES; index++) {
+            cache.put(new Object[]{index, index}, "next");
+        }
+        Assert.assertEquals("first", cache.find(new Object[]{(byte) 1}));
+        cache.put(new Object[]{"Hello"}, "last");
+        Assert.assertEquals(SignatureCache.MAX_ENTRIES, cache.size());
+        Assert.assertNull(cache.find(new Object[]{(byte) 1}));
+        Assert.assertEquals("last", cache.find(new Object[]{"World"}));
+    }
+}
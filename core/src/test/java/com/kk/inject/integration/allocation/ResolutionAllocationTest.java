@@ -0,0 +1,112 @@
+package com.kk.inject.integration.allocation;
+
+import com.kk.inject.Factory;
+import com.kk.inject.Inject;
+import com.kk.inject.Module;
+import com.kk.inject.Provides;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Tests the number of bytes allocated per the instance resolution, so the regressions of the steady state paths are
+ * caught.
+ */
+public class ResolutionAllocationTest {
+
+    private static final int CALLS = 10000;
+
+    public interface Service {}
+
+    public static class ServiceImpl implements Service {}
+
+    public static class Prototype {}
+
+    public static class Provided {
+
+        final Service mService;
+
+        Provided(final Service service) {
+            mService = service;
+        }
+    }
+
+    public static class Consumer {
+
+        @Inject Service mService;
+    }
+
+    public static class AllocationModule extends Module {
+
+        @Override
+        protected void defineBindings() {
+            whenRequestedInstanceOf(Service.class).thenReturn(new ServiceImpl());
+            whenRequestedInstanceOf(Prototype.class).thenInstantiate(Prototype.class);
+            whenRequestedInstanceOf(Consumer.class).singleton().thenInstantiate(Consumer.class);
+        }
+
+        @Provides
+        Provided provideProvided(final Service service) {
+            return new Provided(service);
+        }
+    }
+
+    private com.sun.management.ThreadMXBean mAllocationBean;
+    private Factory                         mFactory;
+
+    @Before
+    public void setUp() {
+        final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean);
+        mAllocationBean = (com.sun.management.ThreadMXBean) threadBean;
+        Assume.assumeTrue(mAllocationBean.isThreadAllocatedMemorySupported());
+        mAllocationBean.setThreadAllocatedMemoryEnabled(true);
+        mFactory = Factory.createFactory();
+        mFactory.register(new AllocationModule());
+    }
+
+    /**
+     * Measures the bytes allocated per the call of the factory, after the warm up.
+     */
+    private long measure(final Class<?> clazz) {
+        for (int index = 0; index < CALLS; index++) {
+            mFactory.get(clazz);
+        }
+        final long threadId = Thread.currentThread().getId();
+        final long before = mAllocationBean.getThreadAllocatedBytes(threadId);
+        for (int index = 0; index < CALLS; index++) {
+            mFactory.get(clazz);
+        }
+        final long allocated = mAllocationBean.getThreadAllocatedBytes(threadId) - before;
+        return allocated / CALLS;
+    }
+
+    @Test
+    public void singleton() {
+        Assert.assertEquals(0, measure(Service.class));
+    }
+
+    @Test
+    public void instantiatedSingleton() {
+        Assert.assertEquals(0, measure(Consumer.class));
+    }
+
+    @Test
+    public void prototype() {
+        // Just the instance
+        final long perCall = measure(Prototype.class);
+        Assert.assertTrue("Allocated " + perCall + " bytes per call", perCall < 32);
+    }
+
+    @Test
+    public void provider() {
+        // The instance and the parameters array
+        final long perCall = measure(Provided.class);
+        Assert.assertTrue("Allocated " + perCall + " bytes per call", perCall < 64);
+    }
+}
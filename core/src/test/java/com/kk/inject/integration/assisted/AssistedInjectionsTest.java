@@ -0,0 +1,150 @@
+package com.kk.inject.integration.assisted;
+
+import com.kk.inject.Assisted;
+import com.kk.inject.Factory;
+import com.kk.inject.Inject;
+import com.kk.inject.InjectException;
+import com.kk.inject.Module;
+import com.kk.inject.Named;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the assisted injections.
+ */
+public class AssistedInjectionsTest {
+
+    private static final String GREETING = "Hello";
+
+    @Before
+    public void resetSingletonFactory() {
+        Factory.resetFactoryDefinition();
+        Factory.resetSingletonFactory();
+    }
+
+    public static class User {
+
+        private final String mGreeting;
+        private final String mName;
+        private final int    mAge;
+
+        @Inject
+        User(@Named("greeting") final String greeting, @Assisted final String name, @Assisted final int age) {
+            mGreeting = greeting;
+            mName = name;
+            mAge = age;
+        }
+
+        User(@Assisted final String name) {
+            this(null, name, 0);
+        }
+
+        String greet() {
+            return mGreeting + " " + mName + " (" + mAge + ")";
+        }
+    }
+
+    public interface UserFactory {
+
+        User create(String name, int age);
+
+        User create(String name);
+    }
+
+    public static class Screen {
+
+        @Inject UserFactory mUserFactory;
+    }
+
+    public static class AssistedModule extends Module {
+
+        @Override
+        protected void defineBindings() {
+            whenRequestedInstanceOf(String.class).ifNamed("greeting").thenReturn(GREETING);
+            whenRequestedInstanceOf(UserFactory.class).thenImplementAssisted();
+        }
+    }
+
+    public static class Node {
+
+        @Inject
+        Node(@Assisted final String name, final Child child) {
+        }
+    }
+
+    public static class Child {
+
+        @Inject
+        Child(final NodeFactory nodeFactory) {
+            nodeFactory.create("child");
+        }
+    }
+
+    public interface NodeFactory {
+
+        Node create(String name);
+    }
+
+    public static class CircularModule extends Module {
+
+        @Override
+        protected void defineBindings() {
+            whenRequestedInstanceOf(Child.class).thenInstantiate(Child.class);
+            whenRequestedInstanceOf(NodeFactory.class).thenImplementAssisted();
+        }
+    }
+
+    @Test
+    public void assisted() {
+        Factory.registerModule(new AssistedModule());
+        final UserFactory userFactory = Factory.getInstance(UserFactory.class);
+        Assert.assertEquals("Hello John Doe (42)", userFactory.create("John Doe", 42).greet());
+        Assert.assertEquals("null Jane Doe (0)", userFactory.create("Jane Doe").greet());
+        Assert.assertSame(userFactory, Factory.getInstance(UserFactory.class));
+        Assert.assertTrue(userFactory.equals(userFactory));
+    }
+
+    @Test
+    public void assistedInjected() {
+        Factory.registerModule(new AssistedModule());
+        final Screen screen = new Screen();
+        Factory.injectInstance(screen);
+        Assert.assertEquals("Hello John Doe (42)", screen.mUserFactory.create("John Doe", 42).greet());
+    }
+
+    public interface BrokenFactory {
+
+        User create(Long id);
+    }
+
+    public static class BrokenModule extends Module {
+
+        @Override
+        protected void defineBindings() {
+            whenRequestedInstanceOf(BrokenFactory.class).thenImplementAssisted();
+        }
+    }
+
+    @Test(expected = InjectException.class)
+    public void noMatchingConstructor() {
+        Factory.registerModule(new BrokenModule());
+        Factory.getInstance(BrokenFactory.class);
+    }
+
+    @Test
+    public void circular() {
+        Factory.registerModule(new CircularModule());
+        final NodeFactory nodeFactory = Factory.getInstance(NodeFactory.class);
+        try {
+            nodeFactory.create("root");
+            Assert.fail();
+        } catch (InjectException e) {
+            // Expected: reported as the circular dependency instead of overflowing the stack
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                Assert.assertFalse(cause instanceof StackOverflowError);
+            }
+        }
+    }
+}
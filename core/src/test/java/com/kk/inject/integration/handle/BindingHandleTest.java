@@ -0,0 +1,103 @@
+package com.kk.inject.integration.handle;
+
+import com.kk.inject.BindingHandle;
+import com.kk.inject.Factory;
+import com.kk.inject.InjectException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests the binding handles.
+ */
+public class BindingHandleTest {
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Secondary {}
+
+    public static class Prototype {}
+
+    @Test
+    public void resolves() {
+        final Factory factory = Factory.createFactory();
+        factory.whenRequestedInstanceOf(String.class).thenReturn("value");
+        factory.whenRequestedInstanceOf(Prototype.class).thenInstantiate(Prototype.class);
+        final BindingHandle<String> value = factory.handle(String.class);
+        final BindingHandle<Prototype> prototype = factory.handle(Prototype.class);
+        Assert.assertEquals("value", value.get());
+        Assert.assertNotSame(prototype.get(), prototype.get());
+        Assert.assertSame(factory, factory.handle(Factory.class).get());
+    }
+
+    @Test
+    public void namedAndQualified() {
+        final Factory factory = Factory.createFactory();
+        factory.whenRequestedInstanceOf(String.class).thenReturn("plain");
+        factory.whenRequestedInstanceOf(String.class).ifNamed("name").thenReturn("named");
+        factory.whenRequestedInstanceOf(String.class).ifAnnotatedWith(Secondary.class).thenReturn("qualified");
+        Assert.assertEquals("plain", factory.handle(String.class, null, null).get());
+        Assert.assertEquals("named", factory.handle(String.class, "name", null).get());
+        Assert.assertEquals("qualified", factory.handle(String.class, null, Secondary.class).get());
+    }
+
+    @Test
+    public void rebound() {
+        final Factory factory = Factory.createFactory();
+        factory.whenRequestedInstanceOf(String.class).thenReturn("first");
+        final BindingHandle<String> handle = factory.handle(String.class);
+        Assert.assertEquals("first", handle.get());
+        factory.whenRequestedInstanceOf(String.class).thenReturn("second");
+        Assert.assertEquals("second", handle.get());
+    }
+
+    @Test
+    public void reset() {
+        final Factory factory = Factory.createFactory();
+        factory.whenRequestedInstanceOf(String.class).thenReturn("value");
+        final BindingHandle<String> handle = factory.handle(String.class);
+        factory.reset();
+        try {
+            handle.get();
+            Assert.fail();
+        } catch (InjectException e) {
+            // Expected
+        }
+        factory.whenRequestedInstanceOf(String.class).thenReturn("again");
+        Assert.assertEquals("again", handle.get());
+    }
+
+    @Test(expected = InjectException.class)
+    public void missingBinding() {
+        Factory.createFactory().handle(Prototype.class);
+    }
+
+    @Test
+    public void concurrent() throws InterruptedException {
+        final Factory factory = Factory.createFactory();
+        factory.whenRequestedInstanceOf(Prototype.class).thenInstantiate(Prototype.class);
+        final BindingHandle<Prototype> handle = factory.handle(Prototype.class);
+        final AtomicInteger resolved = new AtomicInteger();
+        final Thread[] threads = new Thread[4];
+        for (int index = 0; index < threads.length; index++) {
+            threads[index] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int call = 0; call < 1000; call++) {
+                        if (handle.get() != null) {
+                            resolved.incrementAndGet();
+                        }
+                    }
+                }
+            });
+            threads[index].start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertEquals(4000, resolved.get());
+    }
+}
@@ -0,0 +1,134 @@
+package com.kk.inject.integration.multiple.factories;
+
+import com.kk.inject.Factory;
+import com.kk.inject.Inject;
+import com.kk.inject.InjectException;
+import com.kk.inject.Module;
+import com.kk.inject.Named;
+import com.kk.inject.Provides;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the forked factories.
+ */
+public class ForkedFactoriesTest {
+
+    public interface Service {}
+
+    private static class ServiceImpl implements Service {}
+
+    private static class Tenant {
+
+        @Inject @Named("tenant") String mName;
+        @Inject @Named("greeting") String mGreeting;
+        @Inject Service mService;
+        @Inject Factory mFactory;
+    }
+
+    public static class TemplateModule extends Module {
+
+        @Override
+        protected void defineBindings() {
+            whenRequestedInstanceOf(Service.class).addForClass(ServiceImpl.class)
+                                                  .singleton()
+                                                  .thenInstantiate(ServiceImpl.class);
+            whenRequestedInstanceOf(String.class).ifNamed("tenant").thenReturn("template");
+        }
+
+        @Provides
+        @Named("greeting")
+        String provideGreeting(@Named("tenant") final String name) {
+            return "Hello " + name;
+        }
+    }
+
+    private static String greet(final Factory factory) {
+        return factory.inject(new Tenant()).mGreeting;
+    }
+
+    private static Factory createTemplate() {
+        final Factory template = Factory.createFactory();
+        template.register(new TemplateModule());
+        return template;
+    }
+
+    @Test
+    public void ownSingletons() {
+        final Factory template = createTemplate();
+        final Factory fork1 = template.fork();
+        final Factory fork2 = template.fork();
+        final Service service = template.get(Service.class);
+        final Service service1 = fork1.get(Service.class);
+        final Service service2 = fork2.get(Service.class);
+        Assert.assertNotSame(service, service1);
+        Assert.assertNotSame(service, service2);
+        Assert.assertNotSame(service1, service2);
+        Assert.assertSame(service1, fork1.get(Service.class));
+        // The binder shared by multiple classes stays shared in the fork
+        Assert.assertSame(service1, fork1.get(ServiceImpl.class));
+    }
+
+    @Test
+    public void overrides() {
+        final Factory template = createTemplate();
+        final Factory fork1 = template.fork();
+        final Factory fork2 = template.fork();
+        fork1.whenRequestedInstanceOf(String.class).ifNamed("tenant").thenReturn("first");
+        Assert.assertEquals("Hello first", greet(fork1));
+        Assert.assertEquals("Hello template", greet(fork2));
+        Assert.assertEquals("Hello template", greet(template));
+    }
+
+    @Test
+    public void templateChangedAfterFork() {
+        final Factory template = createTemplate();
+        final Factory fork = template.fork();
+        template.whenRequestedInstanceOf(String.class).ifNamed("tenant").thenReturn("changed");
+        template.whenRequestedInstanceOf(Integer.class).thenReturn(42);
+        Assert.assertEquals("Hello changed", greet(template));
+        Assert.assertEquals("Hello template", greet(fork));
+        try {
+            fork.get(Integer.class);
+            Assert.fail();
+        } catch (InjectException e) {
+            // Expected
+        }
+    }
+
+    @Test
+    public void injectsFork() {
+        final Factory template = createTemplate();
+        final Factory fork = template.fork();
+        final Tenant tenant = fork.inject(new Tenant());
+        Assert.assertSame(fork, tenant.mFactory);
+        Assert.assertSame(fork.get(Service.class), tenant.mService);
+        Assert.assertEquals("template", tenant.mName);
+    }
+
+    @Test
+    public void forkOfFork() {
+        final Factory template = createTemplate();
+        final Factory fork = template.fork();
+        fork.whenRequestedInstanceOf(String.class).ifNamed("tenant").thenReturn("fork");
+        final Factory forkOfFork = fork.fork();
+        Assert.assertEquals("Hello fork", greet(forkOfFork));
+        Assert.assertNotSame(fork.get(Service.class), forkOfFork.get(Service.class));
+        Assert.assertSame(forkOfFork, forkOfFork.get(Factory.class));
+    }
+
+    @Test
+    public void resetFork() {
+        final Factory template = createTemplate();
+        final Factory fork = template.fork();
+        fork.reset();
+        Assert.assertNotNull(template.get(Service.class));
+        try {
+            fork.get(Service.class);
+            Assert.fail();
+        } catch (InjectException e) {
+            // Expected
+        }
+    }
+}
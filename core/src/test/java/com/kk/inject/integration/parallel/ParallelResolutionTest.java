@@ -0,0 +1,139 @@
+package com.kk.inject.integration.parallel;
+
+import com.kk.inject.Factory;
+import com.kk.inject.Inject;
+import com.kk.inject.Module;
+import com.kk.inject.Singleton;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests the parallel resolution of the constructor parameters.
+ */
+public class ParallelResolutionTest {
+
+    private static final CountDownLatch sLatch = new CountDownLatch(1);
+
+    @Singleton
+    private static class Shared {}
+
+    private static class Config {}
+
+    private static class Waiting {
+
+        final Shared  mShared;
+        final boolean mReleased;
+        @Inject private Config mConfig;
+
+        @Inject
+        public Waiting(final Shared shared) throws InterruptedException {
+            mShared = shared;
+            mReleased = sLatch.await(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private static class Releasing {
+
+        final Shared mShared;
+        @Inject private Config mConfig;
+
+        @Inject
+        public Releasing(final Shared shared) {
+            mShared = shared;
+            sLatch.countDown();
+        }
+    }
+
+    private static class Root {
+
+        final Waiting   mWaiting;
+        final Releasing mReleasing;
+
+        @Inject
+        public Root(final Waiting waiting, final Releasing releasing) {
+            mWaiting = waiting;
+            mReleasing = releasing;
+        }
+    }
+
+    private static class Slow {
+
+        static final    CountDownLatch sStarted = new CountDownLatch(1);
+        static volatile boolean        sFinished;
+
+        @Inject
+        public Slow() throws InterruptedException {
+            sStarted.countDown();
+            Thread.sleep(200);
+            sFinished = true;
+        }
+    }
+
+    private static class Failing {
+
+        @Inject
+        public Failing() throws InterruptedException {
+            Slow.sStarted.await(5, TimeUnit.SECONDS);
+            throw new IllegalStateException("Failing");
+        }
+    }
+
+    private static class FailingRoot {
+
+        @Inject
+        public FailingRoot(final Slow slow, final Failing failing) {
+        }
+    }
+
+    public static class ParallelModule extends Module {
+
+        @Override
+        protected void defineBindings() {
+            whenRequestedInstanceOf(Shared.class).thenInstantiate(Shared.class);
+            whenRequestedInstanceOf(Config.class).thenInstantiate(Config.class);
+            whenRequestedInstanceOf(Waiting.class).thenInstantiate(Waiting.class);
+            whenRequestedInstanceOf(Releasing.class).thenInstantiate(Releasing.class);
+            whenRequestedInstanceOf(Root.class).thenInstantiate(Root.class);
+            whenRequestedInstanceOf(Slow.class).thenInstantiate(Slow.class);
+            whenRequestedInstanceOf(Failing.class).thenInstantiate(Failing.class);
+            whenRequestedInstanceOf(FailingRoot.class).thenInstantiate(FailingRoot.class);
+        }
+    }
+
+    @Test
+    public void parallel() {
+        final Factory factory = Factory.createFactory();
+        factory.register(new ParallelModule());
+        factory.setParallelResolution(true);
+        try {
+            final Root root = factory.get(Root.class);
+            Assert.assertTrue(root.mWaiting.mReleased);
+            Assert.assertSame(root.mWaiting.mShared, root.mReleasing.mShared);
+            Assert.assertSame(factory.get(Shared.class), root.mWaiting.mShared);
+            Assert.assertNotNull(root.mWaiting.mConfig);
+            Assert.assertNotNull(root.mReleasing.mConfig);
+        } finally {
+            factory.setParallelResolution(false);
+        }
+    }
+
+    @Test
+    public void failingParameter() {
+        final Factory factory = Factory.createFactory();
+        factory.register(new ParallelModule());
+        factory.setParallelResolution(true);
+        try {
+            factory.get(FailingRoot.class);
+            Assert.fail();
+        } catch (RuntimeException e) {
+            // Expected: the failure of the calling thread share, the worker task is no longer running
+            Assert.assertTrue(Slow.sFinished);
+        } finally {
+            factory.setParallelResolution(false);
+        }
+    }
+}
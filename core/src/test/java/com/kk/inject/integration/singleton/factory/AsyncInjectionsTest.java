@@ -0,0 +1,246 @@
+package com.kk.inject.integration.singleton.factory;
+
+import com.kk.inject.Factory;
+import com.kk.inject.Inject;
+import com.kk.inject.InjectException;
+import com.kk.inject.Module;
+import com.kk.inject.Provides;
+import com.kk.inject.Singleton;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests the asynchronous injections.
+ */
+public class AsyncInjectionsTest {
+
+    private static final String REPORT = "Loaded report";
+
+    @Before
+    public void resetSingletonFactory() {
+        Factory.resetFactoryDefinition();
+        Factory.resetSingletonFactory();
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Concurrent providers
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private static class Waiting {
+
+        final boolean mReleased;
+
+        Waiting(final boolean released) {
+            mReleased = released;
+        }
+    }
+
+    private static class Releasing {}
+
+    public static class ConcurrentModule extends Module {
+
+        private final CountDownLatch mLatch = new CountDownLatch(1);
+
+        @Provides
+        private Waiting getWaiting() throws InterruptedException {
+            return new Waiting(mLatch.await(5, TimeUnit.SECONDS));
+        }
+
+        @Provides
+        private Releasing getReleasing() {
+            mLatch.countDown();
+            return new Releasing();
+        }
+    }
+
+    @Test
+    public void concurrentProviders() throws Exception {
+        final Factory factory = Factory.getSingleton();
+        factory.register(new ConcurrentModule());
+        final Future<Waiting> waiting = factory.getAsync(Waiting.class);
+        final Future<Releasing> releasing = factory.getAsync(Releasing.class);
+        Assert.assertNotNull(releasing.get(5, TimeUnit.SECONDS));
+        Assert.assertTrue(waiting.get(5, TimeUnit.SECONDS).mReleased);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Future provider and injection
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private static class Report {
+
+        final String mText;
+
+        Report(final String text) {
+            mText = text;
+        }
+    }
+
+    private static class ReportViewer {
+
+        @Inject private Future<Report> mReport;
+        private         Future<Report> mSetReport;
+
+        @Inject
+        public void setReport(final Future<Report> report) {
+            mSetReport = report;
+        }
+    }
+
+    public static class FutureModule extends Module {
+
+        @Provides
+        private Future<Report> loadReport() {
+            final FutureTask<Report> task = new FutureTask<>(new Callable<Report>() {
+                @Override
+                public Report call() {
+                    return new Report(REPORT);
+                }
+            });
+            new Thread(task).start();
+            return task;
+        }
+
+        @Override
+        protected void defineBindings() {
+            whenRequestedInstanceOf(ReportViewer.class).thenInstantiate(ReportViewer.class);
+        }
+    }
+
+    @Test
+    public void futureProvider() throws Exception {
+        Factory.registerModule(new FutureModule());
+        Assert.assertEquals(REPORT, Factory.getInstance(Report.class).mText);
+        Assert.assertEquals(REPORT, Factory.getSingleton().getAsync(Report.class).get(5, TimeUnit.SECONDS).mText);
+        final ReportViewer viewer = Factory.getInstance(ReportViewer.class);
+        Assert.assertEquals(REPORT, viewer.mReport.get(5, TimeUnit.SECONDS).mText);
+        Assert.assertEquals(REPORT, viewer.mSetReport.get(5, TimeUnit.SECONDS).mText);
+    }
+
+    @Test
+    public void asyncInstantiation() throws Exception {
+        Factory.registerModule(new FutureModule());
+        final ReportViewer viewer = Factory.getSingleton().getAsync(ReportViewer.class).get(5, TimeUnit.SECONDS);
+        Assert.assertEquals(REPORT, viewer.mReport.get(5, TimeUnit.SECONDS).mText);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Future provider using the factory
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    public static class FactoryUsingModule extends Module {
+
+        @Provides
+        private String getText() {
+            return REPORT;
+        }
+
+        @Provides
+        private Future<Report> loadReport() {
+            // The future is completed by another thread using the factory
+            final FutureTask<Report> task = new FutureTask<>(new Callable<Report>() {
+                @Override
+                public Report call() {
+                    return new Report(Factory.getInstance(String.class));
+                }
+            });
+            new Thread(task).start();
+            return task;
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void futureProviderUsingFactory() {
+        Factory.registerModule(new FactoryUsingModule());
+        Assert.assertEquals(REPORT, Factory.getInstance(Report.class).mText);
+    }
+
+    @Singleton
+    private static class Dashboard {
+
+        final Report mReport;
+
+        @Inject
+        public Dashboard(final Report report) {
+            mReport = report;
+        }
+    }
+
+    public static class TextModule extends Module {
+
+        @Provides
+        private String getText() {
+            return REPORT;
+        }
+    }
+
+    public static class RegisteringModule extends Module {
+
+        @Provides
+        private Future<Report> loadReport() {
+            // The future is completed by another thread defining the bindings meanwhile
+            final FutureTask<Report> task = new FutureTask<>(new Callable<Report>() {
+                @Override
+                public Report call() {
+                    Factory.getSingleton().register(new TextModule());
+                    return new Report(Factory.getInstance(String.class));
+                }
+            });
+            new Thread(task).start();
+            return task;
+        }
+
+        @Override
+        protected void defineBindings() {
+            whenRequestedInstanceOf(Dashboard.class).thenInstantiate(Dashboard.class);
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void futureProviderRegistering() {
+        Factory.registerModule(new RegisteringModule());
+        // Awaited before the factory is locked, so the factory is not being injected meanwhile
+        final Dashboard dashboard = Factory.getInstance(Dashboard.class);
+        Assert.assertEquals(REPORT, dashboard.mReport.mText);
+        Assert.assertSame(dashboard, Factory.getInstance(Dashboard.class));
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Future subclass provider
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    public static class FutureTaskModule extends Module {
+
+        @Provides
+        private FutureTask<Report> createReportTask() {
+            return new FutureTask<>(new Callable<Report>() {
+                @Override
+                public Report call() {
+                    return new Report(REPORT);
+                }
+            });
+        }
+    }
+
+    @Test
+    public void futureSubclassProvider() {
+        Factory.registerModule(new FutureTaskModule());
+        // Provided as it is (not awaited)
+        final FutureTask<?> task = Factory.getInstance(FutureTask.class);
+        Assert.assertFalse(task.isDone());
+        try {
+            Factory.getInstance(Report.class);
+            Assert.fail();
+        } catch (InjectException e) {
+            // Expected: no binding for the report
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.kk.inject.integration.singleton.factory;
+
+import com.kk.inject.Cached;
+import com.kk.inject.Factory;
+import com.kk.inject.Module;
+import com.kk.inject.Provides;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Tests the cached injections.
+ */
+public class CachedInjectionsTest {
+
+    private static final long EXPIRE_AFTER = 50;
+
+    @Before
+    public void resetSingletonFactory() {
+        Factory.resetFactoryDefinition();
+        Factory.resetSingletonFactory();
+        Factory.getSingleton().setExecutor(new Executor() {
+            @Override
+            public void execute(final Runnable command) {
+                command.run();
+            }
+        });
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Cached provider
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private static class Snapshot {
+
+        final int    mVersion;
+        final String mKey;
+
+        Snapshot(final int version, final String key) {
+            mVersion = version;
+            mKey = key;
+        }
+    }
+
+    public static class SnapshotModule extends Module {
+
+        private int mVersion;
+
+        @Provides
+        @Cached(expireAfter = EXPIRE_AFTER)
+        private Snapshot getSnapshot() {
+            return new Snapshot(++mVersion, null);
+        }
+    }
+
+    @Test
+    public void cachedProvider() throws InterruptedException {
+        Factory.registerModule(new SnapshotModule());
+        final Snapshot snapshot1 = Factory.getInstance(Snapshot.class);
+        Assert.assertEquals(1, snapshot1.mVersion);
+        Assert.assertSame(snapshot1, Factory.getInstance(Snapshot.class));
+        Thread.sleep(EXPIRE_AFTER * 2);
+        // Stale one is still served while refreshing
+        Assert.assertSame(snapshot1, Factory.getInstance(Snapshot.class));
+        final Snapshot snapshot2 = Factory.getInstance(Snapshot.class);
+        Assert.assertEquals(2, snapshot2.mVersion);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Cached per parameters
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    public static class KeyedModule extends Module {
+
+        private int mVersion;
+
+        @Provides
+        @Cached(expireAfter = EXPIRE_AFTER * 100, maxSize = 2)
+        private Snapshot getSnapshot(final String key) {
+            return new Snapshot(++mVersion, key);
+        }
+    }
+
+    @Test
+    public void cachedPerParameters() {
+        Factory.registerModule(new KeyedModule());
+        final Snapshot a1 = Factory.getInstance(Snapshot.class, "a");
+        final Snapshot b1 = Factory.getInstance(Snapshot.class, "b");
+        Assert.assertEquals("a", a1.mKey);
+        Assert.assertEquals("b", b1.mKey);
+        Assert.assertSame(b1, Factory.getInstance(Snapshot.class, "b"));
+        Assert.assertSame(a1, Factory.getInstance(Snapshot.class, "a"));
+        // The least recently used one (b) is evicted
+        Factory.getInstance(Snapshot.class, "c");
+        Assert.assertSame(a1, Factory.getInstance(Snapshot.class, "a"));
+        Assert.assertNotSame(b1, Factory.getInstance(Snapshot.class, "b"));
+    }
+}
@@ -0,0 +1,159 @@
+package com.kk.inject.integration.singleton.factory;
+
+import com.kk.inject.Factory;
+import com.kk.inject.Inject;
+import com.kk.inject.InjectException;
+import com.kk.inject.Module;
+import com.kk.inject.Named;
+import com.kk.inject.Provides;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the detection of the circular dependencies.
+ */
+public class CircularDependencyTest {
+
+    @Before
+    public void resetSingletonFactory() {
+        Factory.resetFactoryDefinition();
+        Factory.resetSingletonFactory();
+    }
+
+    public static class Engine {
+
+        @Inject
+        Engine(final Car car) {
+        }
+    }
+
+    public static class Car {
+
+        @Inject
+        Car(final Engine engine) {
+        }
+    }
+
+    public static class Garage {
+
+        @Inject
+        Garage(final Car car) {
+        }
+    }
+
+    public static class Station {
+
+        @Inject
+        Station(final Platform platform, final Track track) {
+        }
+    }
+
+    public static class Platform {
+
+        @Inject
+        Platform(final Station station) {
+        }
+    }
+
+    public static class Track {}
+
+    public static class Chain {
+
+        final Chain mNext;
+
+        Chain(final Chain next) {
+            mNext = next;
+        }
+    }
+
+    public static class ConstructorModule extends Module {
+
+        @Override
+        protected void defineBindings() {
+            whenRequestedInstanceOf(Engine.class).thenInstantiate(Engine.class);
+            whenRequestedInstanceOf(Car.class).singleton().thenInstantiate(Car.class);
+            whenRequestedInstanceOf(Garage.class).thenInstantiate(Garage.class);
+        }
+    }
+
+    public static class ProviderModule extends Module {
+
+        @Override
+        protected void defineBindings() {
+        }
+
+        @Provides
+        @Named("first")
+        String provideFirst(@Named("second") final String second) {
+            return second;
+        }
+
+        @Provides
+        @Named("second")
+        String provideSecond(@Named("first") final String first) {
+            return first;
+        }
+
+        @Provides
+        Chain provideChain() {
+            return new Chain(null);
+        }
+    }
+
+    @Test
+    public void constructorCycle() {
+        Factory.registerModule(new ConstructorModule());
+        try {
+            Factory.getInstance(Garage.class);
+            Assert.fail();
+        } catch (InjectException e) {
+            Assert.assertEquals("Circular dependency " + Car.class.getName() + " -> " + Engine.class.getName() +
+                                        " -> " + Car.class.getName(), e.getMessage());
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void parallelCycle() {
+        // The cycle continues at the worker thread resolving the platform, while the station is locked by the caller
+        final Factory factory = Factory.createFactory();
+        factory.setParallelResolution(true);
+        factory.whenRequestedInstanceOf(Station.class).singleton().thenInstantiate(Station.class);
+        factory.whenRequestedInstanceOf(Platform.class).thenInstantiate(Platform.class);
+        factory.whenRequestedInstanceOf(Track.class).thenInstantiate(Track.class);
+        try {
+            factory.get(Station.class);
+            Assert.fail();
+        } catch (InjectException e) {
+            Assert.assertEquals("Circular dependency " + Station.class.getName() + " -> " + Platform.class.getName() +
+                                        " -> " + Station.class.getName(), e.getMessage());
+        } finally {
+            factory.setParallelResolution(false);
+        }
+    }
+
+    @Test
+    public void providerCycle() {
+        Factory.registerModule(new ProviderModule());
+        final String module = ProviderModule.class.getName();
+        final Factory factory = Factory.getSingleton();
+        try {
+            factory.inject(new Object() {
+                @Inject @Named("first") String mFirst;
+            });
+            Assert.fail();
+        } catch (InjectException e) {
+            Assert.assertEquals("Circular dependency " + module + ".provideFirst() -> " + module +
+                                        ".provideSecond() -> " + module + ".provideFirst()", e.getMessage());
+        }
+    }
+
+    @Test
+    public void noCycle() {
+        Factory.registerModule(new ProviderModule());
+        // The same binder resolved repeatedly (not recursively) is fine
+        Assert.assertNotNull(Factory.getInstance(Chain.class));
+        Assert.assertNotNull(Factory.getInstance(Chain.class));
+    }
+}
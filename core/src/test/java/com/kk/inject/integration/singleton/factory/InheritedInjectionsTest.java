@@ -0,0 +1,104 @@
+package com.kk.inject.integration.singleton.factory;
+
+import com.kk.inject.Factory;
+import com.kk.inject.Inject;
+import com.kk.inject.Module;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the injections of the members declared by the base classes.
+ */
+public class InheritedInjectionsTest {
+
+    private static final String USER_NAME = "Inherited user";
+    private static final String PASSWORD  = "Inherited password";
+
+    @Before
+    public void resetSingletonFactory() {
+        Factory.resetFactoryDefinition();
+        Factory.resetSingletonFactory();
+    }
+
+    private static class BaseScreen {
+
+        @Inject @UserName String mBaseUserName;
+        String mOrder = "";
+        int    mPasswordSetCount;
+        int    mOverriddenCount;
+
+        @Inject
+        void setPassword(@Password final String password) {
+            mPasswordSetCount++;
+            mOrder += "base";
+        }
+
+        @Inject
+        void setOverridden(@Password final String password) {
+            mOverriddenCount++;
+        }
+
+        @Inject
+        void setOverriddenAndInjected(@Password final String password) {
+            mOverriddenCount += 10;
+        }
+    }
+
+    private static class MiddleScreen extends BaseScreen {
+
+        @Inject @Password String mMiddlePassword;
+
+        @Override
+        void setOverridden(final String password) {
+            mOverriddenCount += 100;
+        }
+    }
+
+    private static class Screen extends MiddleScreen {
+
+        @Inject @UserName String mUserName;
+
+        @Inject
+        void setUserName(@UserName final String userName) {
+            mOrder += "+screen";
+        }
+
+        @Inject
+        @Override
+        void setOverriddenAndInjected(@Password final String password) {
+            mOverriddenCount += 1000;
+        }
+    }
+
+    public static class InheritedModule extends Module {
+
+        @Override
+        protected void defineBindings() {
+            whenRequestedInstanceOf(String.class).ifAnnotatedWith(UserName.class).thenReturn(USER_NAME);
+            whenRequestedInstanceOf(String.class).ifAnnotatedWith(Password.class).thenReturn(PASSWORD);
+        }
+    }
+
+    @Test
+    public void inherited() {
+        Factory.registerModule(new InheritedModule());
+        final Screen screen = Factory.injectInstance(new Screen());
+        Assert.assertEquals(USER_NAME, screen.mBaseUserName);
+        Assert.assertEquals(PASSWORD, screen.mMiddlePassword);
+        Assert.assertEquals(USER_NAME, screen.mUserName);
+        Assert.assertEquals(1, screen.mPasswordSetCount);
+        Assert.assertEquals("base+screen", screen.mOrder);
+        // Overridden without annotation: not injected, overridden with annotation: injected once
+        Assert.assertEquals(1000, screen.mOverriddenCount);
+    }
+
+    @Test
+    public void baseOnly() {
+        Factory.registerModule(new InheritedModule());
+        final BaseScreen screen = Factory.injectInstance(new BaseScreen());
+        Assert.assertEquals(USER_NAME, screen.mBaseUserName);
+        Assert.assertEquals(11, screen.mOverriddenCount);
+    }
+}
@@ -0,0 +1,156 @@
+package com.kk.inject.integration.singleton.factory;
+
+import com.kk.inject.Factory;
+import com.kk.inject.Inject;
+import com.kk.inject.InjectException;
+import com.kk.inject.Module;
+import com.kk.inject.ReferenceStrength;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the lazy singleton injections.
+ */
+public class LazyInjectionsTest {
+
+    private static final String USER_NAME = "Lazy user";
+
+    private static int sInstantiated;
+
+    @Before
+    public void resetSingletonFactory() {
+        Factory.resetFactoryDefinition();
+        Factory.resetSingletonFactory();
+        sInstantiated = 0;
+    }
+
+    private interface ServiceI {
+
+        String getUserName();
+
+        void fail();
+    }
+
+    private static class Service implements ServiceI {
+
+        @Inject @UserName private String mUserName;
+
+        Service() {
+            sInstantiated++;
+        }
+
+        @Override
+        public String getUserName() {
+            return mUserName;
+        }
+
+        @Override
+        public void fail() {
+            throw new IllegalStateException();
+        }
+    }
+
+    private static class Screen {
+
+        @Inject private ServiceI mService;
+    }
+
+    public static class LazyModule extends Module {
+
+        @Override
+        protected void defineBindings() {
+            whenRequestedInstanceOf(String.class).ifAnnotatedWith(UserName.class).thenReturn(USER_NAME);
+            whenRequestedInstanceOf(ServiceI.class).singleton().lazy().thenInstantiate(Service.class);
+        }
+    }
+
+    @Test
+    public void lazy() {
+        Factory.registerModule(new LazyModule());
+        final ServiceI service = Factory.getInstance(ServiceI.class);
+        Assert.assertSame(service, Factory.getInstance(ServiceI.class));
+        Assert.assertEquals(0, sInstantiated);
+        Assert.assertEquals(USER_NAME, service.getUserName());
+        Assert.assertEquals(USER_NAME, service.getUserName());
+        Assert.assertEquals(1, sInstantiated);
+        Assert.assertTrue(service.equals(service));
+    }
+
+    @Test
+    public void objectMethods() {
+        Factory.registerModule(new LazyModule());
+        final ServiceI service = Factory.getInstance(ServiceI.class);
+        Assert.assertEquals(System.identityHashCode(service), service.hashCode());
+        Assert.assertNotNull(service.toString());
+        Assert.assertFalse(service.equals(new Object()));
+        // Answered by the proxy, so the real singleton is still not instantiated
+        Assert.assertEquals(0, sInstantiated);
+        Assert.assertEquals(USER_NAME, service.getUserName());
+        Assert.assertEquals(1, sInstantiated);
+    }
+
+    public static class WeakLazyModule extends Module {
+
+        @Override
+        protected void defineBindings() {
+            whenRequestedInstanceOf(String.class).ifAnnotatedWith(UserName.class).thenReturn(USER_NAME);
+            whenRequestedInstanceOf(ServiceI.class).singleton(ReferenceStrength.WEAK).lazy()
+                                                   .thenInstantiate(Service.class);
+        }
+    }
+
+    @Test
+    public void weakLazy() {
+        Factory.registerModule(new WeakLazyModule());
+        final ServiceI service = Factory.getInstance(ServiceI.class);
+        Assert.assertEquals(0, sInstantiated);
+        Assert.assertEquals(USER_NAME, service.getUserName());
+        Assert.assertEquals(USER_NAME, service.getUserName());
+        Assert.assertEquals(1, sInstantiated);
+    }
+
+    @Test
+    public void lazyInjected() {
+        Factory.registerModule(new LazyModule());
+        final Screen screen = Factory.injectInstance(new Screen());
+        Assert.assertEquals(0, sInstantiated);
+        Assert.assertEquals(USER_NAME, screen.mService.getUserName());
+        Assert.assertEquals(1, sInstantiated);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void exceptionPropagated() {
+        Factory.registerModule(new LazyModule());
+        Factory.getInstance(ServiceI.class).fail();
+    }
+
+    public static class NotSingletonModule extends Module {
+
+        @Override
+        protected void defineBindings() {
+            whenRequestedInstanceOf(ServiceI.class).lazy().thenInstantiate(Service.class);
+        }
+    }
+
+    @Test(expected = InjectException.class)
+    public void notSingleton() {
+        Factory.registerModule(new NotSingletonModule());
+        Factory.getInstance(ServiceI.class);
+    }
+
+    public static class NotInterfaceModule extends Module {
+
+        @Override
+        protected void defineBindings() {
+            whenRequestedInstanceOf(Service.class).singleton().lazy().thenInstantiate(Service.class);
+        }
+    }
+
+    @Test(expected = InjectException.class)
+    public void notInterface() {
+        Factory.registerModule(new NotInterfaceModule());
+        Factory.getInstance(Service.class);
+    }
+}
@@ -285,4 +285,41 @@ public class ModuleProviderInjectionsTest {
         final AnnotatedProviderUserI user = Factory.getInstance(AnnotatedProviderUserI.class);
         Assert.assertEquals(USER_NAME, user.getUserName());
     }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Tests the provider parameters follow the changed bindings
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private interface RebindProviderUserI {
+
+        String getUserName();
+    }
+
+    public static class RebindProviderM extends Module {
+
+        @Provides
+        private RebindProviderUserI getUser(@Named(NAME_USER_NAME) final String userName) {
+            return new RebindProviderUserI() {
+                @Override
+                public String getUserName() {
+                    return userName;
+                }
+            };
+        }
+
+        @Override
+        protected void defineBindings() {
+            whenRequestedInstanceOf(String.class).ifNamed(NAME_USER_NAME).thenReturn(USER_NAME);
+        }
+    }
+
+    @Test
+    public void rebindProviderParameter() {
+        final Factory factory = Factory.createFactory();
+        factory.register(new RebindProviderM());
+        Assert.assertEquals(USER_NAME, factory.get(RebindProviderUserI.class).getUserName());
+        Assert.assertEquals(USER_NAME, factory.get(RebindProviderUserI.class).getUserName());
+        factory.whenRequestedInstanceOf(String.class).ifNamed(NAME_USER_NAME).thenReturn("Jane Doe");
+        Assert.assertEquals("Jane Doe", factory.get(RebindProviderUserI.class).getUserName());
+    }
 }
@@ -0,0 +1,176 @@
+package com.kk.inject.integration.singleton.factory;
+
+import com.kk.inject.Factory;
+import com.kk.inject.Inject;
+import com.kk.inject.InjectException;
+import com.kk.inject.Module;
+import com.kk.inject.Named;
+import com.kk.inject.PoolStatistics;
+import com.kk.inject.Poolable;
+import com.kk.inject.Singleton;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the pooled injections.
+ */
+public class PooledInjectionsTest {
+
+    private static final String USER_NAME = "Pooled user";
+
+    @Before
+    public void resetSingletonFactory() {
+        Factory.resetFactoryDefinition();
+        Factory.resetSingletonFactory();
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Pooled
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private interface ParserI {
+
+        String getUserName();
+
+        int getUsed();
+
+        void use();
+    }
+
+    private static class Parser implements ParserI, Poolable {
+
+        @Inject @UserName private String mUserName;
+        private                   int    mUsed;
+
+        @Override
+        public String getUserName() {
+            return mUserName;
+        }
+
+        @Override
+        public int getUsed() {
+            return mUsed;
+        }
+
+        @Override
+        public void use() {
+            mUsed++;
+        }
+
+        @Override
+        public void reset() {
+            mUsed = 0;
+        }
+    }
+
+    public static class PooledModule extends Module {
+
+        @Override
+        protected void defineBindings() {
+            whenRequestedInstanceOf(String.class).ifAnnotatedWith(UserName.class).thenReturn(USER_NAME);
+            whenRequestedInstanceOf(ParserI.class).pooled(1).thenInstantiate(Parser.class);
+        }
+    }
+
+    @Test
+    public void pooled() {
+        Factory.registerModule(new PooledModule());
+        final ParserI parser1 = Factory.getInstance(ParserI.class);
+        Assert.assertEquals(USER_NAME, parser1.getUserName());
+        parser1.use();
+        Assert.assertTrue(Factory.releaseInstance(ParserI.class, parser1));
+        final ParserI parser2 = Factory.getInstance(ParserI.class);
+        Assert.assertSame(parser1, parser2);
+        Assert.assertEquals(0, parser2.getUsed());
+        Assert.assertEquals(USER_NAME, parser2.getUserName());
+        final ParserI parser3 = Factory.getInstance(ParserI.class);
+        Assert.assertNotSame(parser2, parser3);
+        Assert.assertTrue(Factory.releaseInstance(ParserI.class, parser2));
+        Assert.assertFalse(Factory.releaseInstance(ParserI.class, parser3));
+        final PoolStatistics statistics = Factory.getSingleton().getPoolStatistics(ParserI.class);
+        Assert.assertNotNull(statistics);
+        Assert.assertEquals(1, statistics.getHits());
+        Assert.assertEquals(2, statistics.getMisses());
+        Assert.assertEquals(1, statistics.getIdle());
+    }
+
+    public static class NamedPooledModule extends Module {
+
+        @Override
+        protected void defineBindings() {
+            whenRequestedInstanceOf(String.class).ifAnnotatedWith(UserName.class).thenReturn(USER_NAME);
+            whenRequestedInstanceOf(ParserI.class).ifNamed("named").pooled(1).thenInstantiate(Parser.class);
+            whenRequestedInstanceOf(ParserI.class).ifAnnotatedWith(UserName.class).pooled(1).thenInstantiate(Parser.class);
+        }
+    }
+
+    private static class Consumer {
+
+        @Inject @Named("named") ParserI mNamedParser;
+        @Inject @UserName ParserI        mQualifiedParser;
+    }
+
+    @Test
+    public void namedAndQualifiedPooled() {
+        Factory.registerModule(new NamedPooledModule());
+        final Factory factory = Factory.getSingleton();
+        factory.whenRequestedInstanceOf(Consumer.class).thenInstantiate(Consumer.class);
+        final Consumer consumer = factory.get(Consumer.class);
+        Assert.assertNotSame(consumer.mNamedParser, consumer.mQualifiedParser);
+        // Each instance only goes back to the pool it came from
+        Assert.assertFalse(factory.release(ParserI.class, null, UserName.class, consumer.mNamedParser));
+        Assert.assertTrue(factory.release(ParserI.class, "named", null, consumer.mNamedParser));
+        Assert.assertTrue(factory.release(ParserI.class, null, UserName.class, consumer.mQualifiedParser));
+        final PoolStatistics named = factory.getPoolStatistics(ParserI.class, "named", null);
+        Assert.assertNotNull(named);
+        Assert.assertEquals(1, named.getMisses());
+        Assert.assertEquals(1, named.getIdle());
+        final PoolStatistics qualified = factory.getPoolStatistics(ParserI.class, null, UserName.class);
+        Assert.assertNotNull(qualified);
+        Assert.assertEquals(1, qualified.getIdle());
+        Assert.assertSame(consumer.mNamedParser, factory.get(Consumer.class).mNamedParser);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Not pooled
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    public static class NotPooledModule extends Module {
+
+        @Override
+        protected void defineBindings() {
+            whenRequestedInstanceOf(String.class).ifAnnotatedWith(UserName.class).thenReturn(USER_NAME);
+            whenRequestedInstanceOf(ParserI.class).thenInstantiate(Parser.class);
+        }
+    }
+
+    @Test
+    public void notPooled() {
+        Factory.registerModule(new NotPooledModule());
+        final ParserI parser = Factory.getInstance(ParserI.class);
+        Assert.assertFalse(Factory.releaseInstance(ParserI.class, parser));
+        Assert.assertNull(Factory.getSingleton().getPoolStatistics(ParserI.class));
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Pooled singleton
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    @Singleton
+    private static class SingletonParser extends Parser {}
+
+    public static class PooledSingletonModule extends Module {
+
+        @Override
+        protected void defineBindings() {
+            whenRequestedInstanceOf(ParserI.class).pooled(2).thenInstantiate(SingletonParser.class);
+        }
+    }
+
+    @Test(expected = InjectException.class)
+    public void pooledSingleton() {
+        Factory.registerModule(new PooledSingletonModule());
+    }
+}
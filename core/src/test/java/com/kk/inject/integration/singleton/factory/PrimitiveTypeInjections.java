@@ -2,6 +2,7 @@ package com.kk.inject.integration.singleton.factory;
 
 import com.kk.inject.Factory;
 import com.kk.inject.Inject;
+import com.kk.inject.InjectException;
 import com.kk.inject.Module;
 import com.kk.inject.Named;
 import com.kk.inject.Provides;
@@ -456,4 +457,45 @@ public class PrimitiveTypeInjections {
         final CharI charI1 = Factory.getInstance(CharI.class);
         Assert.assertEquals("ABC", charI1.getResult());
     }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Typed accessors
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    public static class TypedM extends Module {
+
+        @Provides
+        @Named(NAME_OP_C)
+        private int getC() {
+            return 3;
+        }
+
+        @Override
+        protected void defineBindings() {
+            whenRequestedInstanceOf(int.class).ifNamed(NAME_OP_A).thenReturnInt(1);
+            whenRequestedInstanceOf(Long.class).ifNamed(NAME_OP_B).thenReturnLong(2);
+        }
+    }
+
+    @Test
+    public void typedAccessors() {
+        Factory.addModuleClass(TypedM.class);
+        final Factory factory = Factory.getSingleton();
+        Assert.assertEquals(1, factory.getInt(NAME_OP_A));
+        Assert.assertEquals(2L, factory.getLong(NAME_OP_B));
+        Assert.assertEquals(3, factory.getInt(NAME_OP_C));
+    }
+
+    public static class MismatchM extends Module {
+
+        @Override
+        protected void defineBindings() {
+            whenRequestedInstanceOf(int.class).thenReturnLong(1);
+        }
+    }
+
+    @Test(expected = InjectException.class)
+    public void typeMismatch() {
+        Factory.registerModule(new MismatchM());
+    }
 }
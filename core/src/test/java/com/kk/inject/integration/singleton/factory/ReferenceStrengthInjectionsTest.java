@@ -0,0 +1,83 @@
+package com.kk.inject.integration.singleton.factory;
+
+import com.kk.inject.Factory;
+import com.kk.inject.Module;
+import com.kk.inject.ReferenceStrength;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * Tests the singletons held with different reference strengths.
+ */
+public class ReferenceStrengthInjectionsTest {
+
+    @Before
+    public void resetSingletonFactory() {
+        Factory.resetFactoryDefinition();
+        Factory.resetSingletonFactory();
+    }
+
+    private interface CacheI {}
+
+    private static class Cache implements CacheI {}
+
+    /**
+     * Drops the singleton from the caller and waits until the garbage collector reclaims it.
+     *
+     * @return If reclaimed then {@code true} else {@code false}.
+     */
+    private static boolean awaitReclaimed() {
+        final WeakReference<CacheI> reference = new WeakReference<>(Factory.getInstance(CacheI.class));
+        for (int attempt = 0; attempt < 50 && reference.get() != null; attempt++) {
+            System.gc();
+        }
+        return reference.get() == null;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Weak
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    public static class WeakModule extends Module {
+
+        @Override
+        protected void defineBindings() {
+            whenRequestedInstanceOf(CacheI.class).singleton(ReferenceStrength.WEAK).thenInstantiate(Cache.class);
+        }
+    }
+
+    @Test
+    public void weak() {
+        Factory.registerModule(new WeakModule());
+        Assert.assertSame(Factory.getInstance(CacheI.class), Factory.getInstance(CacheI.class));
+        Assert.assertEquals(0, Factory.getSingleton().getRebuildCount(CacheI.class));
+        Assert.assertTrue(awaitReclaimed());
+        final CacheI cache2 = Factory.getInstance(CacheI.class);
+        Assert.assertNotNull(cache2);
+        Assert.assertSame(cache2, Factory.getInstance(CacheI.class));
+        Assert.assertEquals(1, Factory.getSingleton().getRebuildCount(CacheI.class));
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Strong
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    public static class StrongModule extends Module {
+
+        @Override
+        protected void defineBindings() {
+            whenRequestedInstanceOf(CacheI.class).singleton(ReferenceStrength.STRONG).thenInstantiate(Cache.class);
+        }
+    }
+
+    @Test
+    public void strong() {
+        Factory.registerModule(new StrongModule());
+        Assert.assertFalse(awaitReclaimed());
+        Assert.assertEquals(0, Factory.getSingleton().getRebuildCount(CacheI.class));
+    }
+}
@@ -0,0 +1,63 @@
+package com.kk.inject.integration.singleton.factory;
+
+import com.kk.inject.Factory;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Tests the concurrent access to the singleton factory.
+ */
+public class SingletonFactoryAccessTest {
+
+    private static final int THREADS = 8;
+
+    @Before
+    public void resetSingletonFactory() {
+        Factory.resetFactoryDefinition();
+        Factory.resetSingletonFactory();
+    }
+
+    @Test
+    public void sameFactoryForAllThreads() throws InterruptedException {
+        final Factory[] factories = new Factory[THREADS];
+        final CountDownLatch start = new CountDownLatch(1);
+        final Thread[] threads = new Thread[THREADS];
+        for (int index = 0; index < THREADS; index++) {
+            final int slot = index;
+            threads[index] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    factories[slot] = Factory.getSingleton();
+                }
+            });
+            threads[index].start();
+        }
+        start.countDown();
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        for (final Factory factory : factories) {
+            Assert.assertSame(Factory.getSingleton(), factory);
+        }
+    }
+
+    @Test
+    public void resetCreatesNewFactory() {
+        final Factory factory = Factory.getSingleton();
+        factory.whenRequestedInstanceOf(String.class).thenReturn("value");
+        Assert.assertEquals("value", Factory.getInstance(String.class));
+        Factory.resetSingletonFactory();
+        final Factory newFactory = Factory.getSingleton();
+        Assert.assertNotSame(factory, newFactory);
+        Assert.assertSame(newFactory, Factory.getInstance(Factory.class));
+    }
+}
@@ -0,0 +1,24 @@
+package com.kk.inject.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * The construction of the single instance by its binder (by the constructor or by the module provider method).
+ * <p/>
+ * Only the slow constructions are recorded by default, set the threshold to zero to record all of them.
+ */
+@Name("com.kk.inject.Construction")
+@Label("Injection Construction")
+@Description("Construction of the instance by the constructor or by the module provider method")
+@Category("KkInject")
+@Threshold("10 ms")
+@StackTrace(false)
+final class ConstructionEvent extends jdk.jfr.Event {
+
+    @Name("constructedClass") @Label("Class") Class<?> mConstructedClass;
+}
@@ -0,0 +1,217 @@
+package com.kk.inject.jfr;
+
+import com.kk.inject.Factory;
+import com.kk.inject.InjectionMonitor;
+import com.kk.inject.NotNull;
+import com.kk.inject.Nullable;
+
+import java.lang.annotation.Annotation;
+
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * Monitor emitting the injection work as the Java Flight Recorder events.
+ * <p/>
+ * Install it once (see {@link #install()}); the events are then recorded whenever the recording with them enabled
+ * runs. With out any recording running, the events are not even allocated: The recording state is tracked by the
+ * flight recorder listener, so checking it is just reading the flag.
+ */
+public final class JfrInjectionMonitor extends InjectionMonitor {
+
+    private static volatile boolean sRecording;
+
+    static {
+        FlightRecorder.addListener(new RecordingStateListener());
+    }
+
+    /**
+     * Constructs the monitor.
+     */
+    public JfrInjectionMonitor() {
+    }
+
+    /**
+     * Installs the monitor for all the factories.
+     */
+    public static void install() {
+        Factory.setInjectionMonitor(new JfrInjectionMonitor());
+    }
+
+    /**
+     * Uninstalls the monitor (any other monitor installed meanwhile too).
+     */
+    public static void uninstall() {
+        Factory.setInjectionMonitor(null);
+    }
+
+    /**
+     * Checks whether any recording is running.
+     *
+     * @return If any recording is running then {@code true} else {@code false}.
+     */
+    static boolean isRecording() {
+        return sRecording;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Nullable
+    @Override
+    public Object resolutionStarted(@NotNull final Class<?> clazz,
+                                    @Nullable final String name,
+                                    @Nullable final Class<? extends Annotation> annotation) {
+        if (!sRecording) {
+            return null;
+        }
+        final ResolutionEvent event = new ResolutionEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.mBindingClass = clazz;
+        event.mName = name;
+        event.mQualifier = annotation;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void resolutionFinished(@Nullable final Object context, final boolean succeeded) {
+        if (context != null) {
+            final ResolutionEvent event = (ResolutionEvent) context;
+            event.end();
+            if (event.shouldCommit()) {
+                event.mSucceeded = succeeded;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Nullable
+    @Override
+    public Object constructionStarted(@NotNull final Class<?> clazz) {
+        if (!sRecording) {
+            return null;
+        }
+        final ConstructionEvent event = new ConstructionEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.mConstructedClass = clazz;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void constructionFinished(@Nullable final Object context) {
+        if (context != null) {
+            final ConstructionEvent event = (ConstructionEvent) context;
+            event.end();
+            if (event.shouldCommit()) {
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void singletonCreated(@NotNull final Class<?> clazz) {
+        if (!sRecording) {
+            return;
+        }
+        final SingletonCreatedEvent event = new SingletonCreatedEvent();
+        if (event.shouldCommit()) {
+            event.mSingletonClass = clazz;
+            event.commit();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Nullable
+    @Override
+    public Object metadataScanStarted(@NotNull final Class<?> clazz) {
+        if (!sRecording) {
+            return null;
+        }
+        final MetadataScanEvent event = new MetadataScanEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.mScannedClass = clazz;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void metadataScanFinished(@Nullable final Object context) {
+        if (context != null) {
+            final MetadataScanEvent event = (MetadataScanEvent) context;
+            event.end();
+            if (event.shouldCommit()) {
+                event.commit();
+            }
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Internals
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Tracks whether any recording is running.
+     */
+    private static final class RecordingStateListener implements FlightRecorderListener {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void recorderInitialized(@NotNull final FlightRecorder recorder) {
+            update(recorder);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void recordingStateChanged(@NotNull final Recording recording) {
+            update(FlightRecorder.getFlightRecorder());
+        }
+
+        /**
+         * Updates the recording state.
+         *
+         * @param recorder
+         *         The flight recorder. Never {@code null}.
+         */
+        private static void update(@NotNull final FlightRecorder recorder) {
+            boolean recording = false;
+            for (final Recording each : recorder.getRecordings()) {
+                if (each.getState() == RecordingState.RUNNING) {
+                    recording = true;
+                    break;
+                }
+            }
+            sRecording = recording;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.kk.inject.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The reflection scan of the class whose injection metadata were not cached.
+ */
+@Name("com.kk.inject.MetadataScan")
+@Label("Injection Metadata Scan")
+@Description("Reflection scan of the class missing in the metadata cache")
+@Category("KkInject")
+@StackTrace(false)
+final class MetadataScanEvent extends jdk.jfr.Event {
+
+    @Name("scannedClass") @Label("Class") Class<?> mScannedClass;
+}
@@ -0,0 +1,27 @@
+package com.kk.inject.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * The resolution of the instance requested by the application, including all its dependencies and injections.
+ * <p/>
+ * Only the slow resolutions are recorded by default, set the threshold to zero to record all of them.
+ */
+@Name("com.kk.inject.Resolution")
+@Label("Injection Resolution")
+@Description("Resolution of the instance requested from the factory")
+@Category("KkInject")
+@Threshold("10 ms")
+@StackTrace(true)
+final class ResolutionEvent extends jdk.jfr.Event {
+
+    @Name("bindingClass") @Label("Class") Class<?> mBindingClass;
+    @Name("name") @Label("Name") String mName;
+    @Name("qualifier") @Label("Qualifier") Class<?> mQualifier;
+    @Name("succeeded") @Label("Succeeded") boolean mSucceeded;
+}
@@ -0,0 +1,20 @@
+package com.kk.inject.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The creation of the singleton instance (also the re-creation of the reclaimed one).
+ */
+@Name("com.kk.inject.SingletonCreated")
+@Label("Injection Singleton Created")
+@Description("Creation of the singleton instance")
+@Category("KkInject")
+@StackTrace(false)
+final class SingletonCreatedEvent extends jdk.jfr.Event {
+
+    @Name("singletonClass") @Label("Class") Class<?> mSingletonClass;
+}
@@ -0,0 +1,109 @@
+package com.kk.inject.jfr;
+
+import com.kk.inject.Factory;
+import com.kk.inject.Inject;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Tests the {@link JfrInjectionMonitor} class.
+ */
+public class JfrInjectionMonitorTest {
+
+    public static class Engine {}
+
+    public static class Car {
+
+        @Inject Engine mEngine;
+    }
+
+    @Before
+    public void setUp() {
+        JfrInjectionMonitor.install();
+    }
+
+    @After
+    public void tearDown() {
+        JfrInjectionMonitor.uninstall();
+    }
+
+    private static Set<String> record(final Runnable work) throws IOException {
+        final File file = File.createTempFile("inject", ".jfr");
+        try {
+            final Recording recording = new Recording();
+            try {
+                recording.enable("com.kk.inject.Resolution").withThreshold(null);
+                recording.enable("com.kk.inject.Construction").withThreshold(null);
+                recording.enable("com.kk.inject.SingletonCreated");
+                recording.enable("com.kk.inject.MetadataScan");
+                recording.start();
+                Assert.assertTrue(JfrInjectionMonitor.isRecording());
+                work.run();
+                recording.stop();
+                Assert.assertFalse(JfrInjectionMonitor.isRecording());
+                recording.dump(file.toPath());
+            } finally {
+                recording.close();
+            }
+            final Set<String> events = new HashSet<>();
+            for (final RecordedEvent event : RecordingFile.readAllEvents(file.toPath())) {
+                final String type = event.getEventType().getName();
+                if (type.startsWith("com.kk.inject.")) {
+                    events.add(type.substring("com.kk.inject.".length()) + " " + getClassName(event));
+                }
+            }
+            return events;
+        } finally {
+            file.delete();
+        }
+    }
+
+    private static String getClassName(final RecordedEvent event) {
+        for (final String field : new String[]{"bindingClass", "constructedClass", "singletonClass", "scannedClass"}) {
+            if (event.hasField(field)) {
+                return event.getClass(field).getName();
+            }
+        }
+        return null;
+    }
+
+    @Test
+    public void events() throws IOException {
+        final Factory factory = Factory.createFactory();
+        factory.whenRequestedInstanceOf(Engine.class).singleton().thenInstantiate(Engine.class);
+        factory.whenRequestedInstanceOf(Car.class).thenInstantiate(Car.class);
+        final Set<String> events = record(new Runnable() {
+            @Override
+            public void run() {
+                factory.get(Car.class);
+            }
+        });
+        Assert.assertTrue(events.toString(), events.contains("Resolution " + Car.class.getName()));
+        Assert.assertTrue(events.toString(), events.contains("Construction " + Car.class.getName()));
+        Assert.assertTrue(events.toString(), events.contains("Construction " + Engine.class.getName()));
+        Assert.assertTrue(events.toString(), events.contains("SingletonCreated " + Engine.class.getName()));
+        Assert.assertTrue(events.toString(), events.contains("MetadataScan " + Car.class.getName()));
+    }
+
+    @Test
+    public void noRecording() {
+        final JfrInjectionMonitor monitor = new JfrInjectionMonitor();
+        // The events are not even started
+        Assert.assertNull(monitor.resolutionStarted(Car.class, null, null));
+        Assert.assertNull(monitor.constructionStarted(Car.class));
+        monitor.resolutionFinished(null, true);
+        monitor.constructionFinished(null);
+    }
+}
@@ -0,0 +1,235 @@
+package com.kk.inject.processor;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Annotation processor: Builds the index of the modules and their provider methods.
+ * <p/>
+ * The index is the {@code META-INF/kkinject/modules} resource. Every line describes one module: The binary name of
+ * the module class followed by the tab separated provider methods, each as {@code name(parameterType,...)} with the
+ * parameter types named as by {@link Class#getName()}. The library reads the index to locate the provider methods
+ * with out scanning all the methods of the module.
+ */
+@SupportedAnnotationTypes("*")
+public class ModuleIndexProcessor extends AbstractProcessor {
+
+    /** The resource name of the index. */
+    public static final String INDEX_RESOURCE = "META-INF/kkinject/modules";
+
+    private static final String MODULE_CLASS_NAME   = "com.kk.inject.Module";
+    private static final String PROVIDES_CLASS_NAME = "com.kk.inject.Provides";
+
+    private final Map<String, List<String>> mModules = new TreeMap<>();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeIndex();
+        } else {
+            for (final Element element : roundEnv.getRootElements()) {
+                collectModules(element);
+            }
+        }
+        // Never claim the annotations, other processors can process them as well
+        return false;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Internals
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Collects the modules declared by the element (including the nested classes).
+     *
+     * @param element
+     *         The element to collect the modules from.
+     */
+    private void collectModules(final Element element) {
+        if (!element.getKind().isClass()) {
+            return;
+        }
+        final TypeElement typeElement = (TypeElement) element;
+        final List<String> providers = new ArrayList<>();
+        for (final Element enclosed : typeElement.getEnclosedElements()) {
+            if (enclosed.getKind() == ElementKind.METHOD && isProvider(enclosed)) {
+                providers.add(describeMethod((ExecutableElement) enclosed));
+            }
+            collectModules(enclosed);
+        }
+        if (!providers.isEmpty() || isModule(typeElement)) {
+            mModules.put(processingEnv.getElementUtils().getBinaryName(typeElement).toString(), providers);
+        }
+    }
+
+    /**
+     * Checks whether the method is annotated as the provider.
+     *
+     * @param method
+     *         The method to check.
+     * @return If provider then {@code true} else {@code false}.
+     */
+    private static boolean isProvider(final Element method) {
+        for (final AnnotationMirror annotation : method.getAnnotationMirrors()) {
+            final TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+            if (annotationType.getQualifiedName().contentEquals(PROVIDES_CLASS_NAME)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the class extends the module.
+     *
+     * @param typeElement
+     *         The class to check.
+     * @return If module then {@code true} else {@code false}.
+     */
+    private static boolean isModule(final TypeElement typeElement) {
+        TypeMirror superclass = typeElement.getSuperclass();
+        while (superclass.getKind() == TypeKind.DECLARED) {
+            final TypeElement superElement = (TypeElement) ((DeclaredType) superclass).asElement();
+            if (superElement.getQualifiedName().contentEquals(MODULE_CLASS_NAME)) {
+                return true;
+            }
+            superclass = superElement.getSuperclass();
+        }
+        return false;
+    }
+
+    /**
+     * Describes the provider method for the index.
+     *
+     * @param method
+     *         The method to describe.
+     * @return The description: {@code name(parameterType,...)}.
+     */
+    private String describeMethod(final ExecutableElement method) {
+        final StringBuilder description = new StringBuilder();
+        description.append(method.getSimpleName()).append('(');
+        boolean first = true;
+        for (final VariableElement parameter : method.getParameters()) {
+            if (!first) {
+                description.append(',');
+            }
+            first = false;
+            description.append(getRuntimeName(processingEnv.getTypeUtils().erasure(parameter.asType())));
+        }
+        return description.append(')').toString();
+    }
+
+    /**
+     * Retrieves the type name as returned by {@link Class#getName()} at runtime.
+     *
+     * @param type
+     *         The erased type.
+     * @return The runtime name.
+     */
+    private String getRuntimeName(final TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return type.getKind().name().toLowerCase(Locale.ROOT);
+        }
+        if (type.getKind() == TypeKind.ARRAY) {
+            return "[" + getDescriptor(((ArrayType) type).getComponentType());
+        }
+        final TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+        return processingEnv.getElementUtils().getBinaryName(element).toString();
+    }
+
+    /**
+     * Retrieves the array component descriptor as used by {@link Class#getName()} for the arrays.
+     *
+     * @param type
+     *         The erased component type.
+     * @return The descriptor.
+     */
+    private String getDescriptor(final TypeMirror type) {
+        switch (type.getKind()) {
+            case BYTE:
+                return "B";
+            case SHORT:
+                return "S";
+            case INT:
+                return "I";
+            case LONG:
+                return "J";
+            case FLOAT:
+                return "F";
+            case DOUBLE:
+                return "D";
+            case BOOLEAN:
+                return "Z";
+            case CHAR:
+                return "C";
+            case ARRAY:
+                return "[" + getDescriptor(((ArrayType) type).getComponentType());
+            default:
+                return "L" + getRuntimeName(type) + ";";
+        }
+    }
+
+    /**
+     * Writes the collected modules to the index.
+     */
+    private void writeIndex() {
+        if (mModules.isEmpty()) {
+            return;
+        }
+        try {
+            final FileObject index = processingEnv.getFiler()
+                                                  .createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_RESOURCE);
+            final Writer writer = new OutputStreamWriter(index.openOutputStream(), "UTF-8");
+            try {
+                for (final Map.Entry<String, List<String>> module : mModules.entrySet()) {
+                    writer.write(module.getKey());
+                    for (final String provider : module.getValue()) {
+                        writer.write('\t');
+                        writer.write(provider);
+                    }
+                    writer.write('\n');
+                }
+            } finally {
+                writer.close();
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write module index: " + e);
+        }
+    }
+}
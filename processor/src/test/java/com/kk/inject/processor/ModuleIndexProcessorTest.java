@@ -0,0 +1,115 @@
+package com.kk.inject.processor;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+/**
+ * Tests the {@link ModuleIndexProcessor} class.
+ */
+public class ModuleIndexProcessorTest {
+
+    private File mDirectory;
+
+    @Before
+    public void createDirectory() throws IOException {
+        mDirectory = Files.createTempDirectory("processor").toFile();
+    }
+
+    @After
+    public void deleteDirectory() throws IOException {
+        delete(mDirectory);
+    }
+
+    private static void delete(final File file) {
+        final File[] children = file.listFiles();
+        if (children != null) {
+            for (final File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    private File writeSource(final String path, final String source) throws IOException {
+        final File file = new File(mDirectory, "src/" + path);
+        file.getParentFile().mkdirs();
+        final Writer writer = Files.newBufferedWriter(file.toPath(), Charset.forName("UTF-8"));
+        try {
+            writer.write(source);
+        } finally {
+            writer.close();
+        }
+        return file;
+    }
+
+    private List<String> compile(final File... sources) throws IOException {
+        final File output = new File(mDirectory, "classes");
+        output.mkdirs();
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null);
+        final List<String> options = new ArrayList<>(Arrays.asList("-d", output.getPath(), "-proc:only"));
+        final JavaCompiler.CompilationTask task = compiler.getTask(null,
+                                                                   fileManager,
+                                                                   null,
+                                                                   options,
+                                                                   null,
+                                                                   fileManager.getJavaFileObjects(sources));
+        task.setProcessors(Arrays.asList(new ModuleIndexProcessor()));
+        Assert.assertTrue(task.call());
+        fileManager.close();
+        final File index = new File(output, ModuleIndexProcessor.INDEX_RESOURCE);
+        if (!index.isFile()) {
+            return null;
+        }
+        return Files.readAllLines(index.toPath(), Charset.forName("UTF-8"));
+    }
+
+    @Test
+    public void index() throws IOException {
+        final File provides = writeSource("com/kk/inject/Provides.java",
+                                          "package com.kk.inject;\n" +
+                                                  "public @interface Provides {}\n");
+        final File module = writeSource("com/kk/inject/Module.java",
+                                        "package com.kk.inject;\n" +
+                                                "public abstract class Module {}\n");
+        final File modules = writeSource("app/AppModules.java",
+                                         "package app;\n" +
+                                                 "import com.kk.inject.Provides;\n" +
+                                                 "public class AppModules {\n" +
+                                                 "    public static class Empty extends com.kk.inject.Module {}\n" +
+                                                 "    public static class Providing {\n" +
+                                                 "        @Provides String name() { return null; }\n" +
+                                                 "        @Provides String greeting(int count,\n" +
+                                                 "                java.util.List<String> names, String[][] table) {\n" +
+                                                 "            return null;\n" +
+                                                 "        }\n" +
+                                                 "        String notProvider() { return null; }\n" +
+                                                 "    }\n" +
+                                                 "}\n");
+        final List<String> index = compile(provides, module, modules);
+        Assert.assertEquals(Arrays.asList("app.AppModules$Empty",
+                                          "app.AppModules$Providing\tname()\t" +
+                                                  "greeting(int,java.util.List,[[Ljava.lang.String;)"), index);
+    }
+
+    @Test
+    public void noModules() throws IOException {
+        final File plain = writeSource("app/Plain.java", "package app;\npublic class Plain {}\n");
+        Assert.assertNull(compile(plain));
+    }
+}